@@ -13,6 +13,7 @@
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.debug.debugmodel.DSPTraceSink;
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
@@ -55,6 +56,8 @@ public class DSPPlugin extends AbstractUIPlugin {
 	// The shared instance
 	private static volatile @Nullable DSPPlugin plugin;
 
+	private @Nullable DSPTraceSink ioTraceSink;
+
 	public DSPPlugin() {
 	}
 
@@ -66,6 +69,13 @@ public void start(BundleContext context) throws Exception {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		synchronized (this) {
+			final var sink = ioTraceSink;
+			if (sink != null) {
+				ioTraceSink = null;
+				sink.close();
+			}
+		}
 		plugin = null;
 		super.stop(context);
 	}
@@ -80,6 +90,21 @@ public static DSPPlugin getDefault() {
 		return plugin;
 	}
 
+	/**
+	 * Returns the sink used for tracing the data exchanged with debug adapters when
+	 * the {@code org.eclipse.lsp4e.debug/trace/io} option is enabled. The sink
+	 * writes to rotating files in the state location of this plug-in. A new sink
+	 * is created if the previous one stopped after failing to write.
+	 */
+	public synchronized DSPTraceSink getIOTraceSink() {
+		DSPTraceSink sink = ioTraceSink;
+		if (sink == null || sink.isClosed()) {
+			sink = DSPTraceSink.toDefaultLocation();
+			ioTraceSink = sink;
+		}
+		return sink;
+	}
+
 	/**
 	 * Utility method to log errors.
 	 *
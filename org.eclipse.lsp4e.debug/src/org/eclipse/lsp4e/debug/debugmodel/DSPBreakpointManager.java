@@ -11,11 +11,15 @@
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
@@ -31,6 +35,7 @@
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.debug.DSPPlugin;
 import org.eclipse.lsp4e.debug.breakpoints.DSPLineBreakpoint;
+import org.eclipse.lsp4j.debug.Breakpoint;
 import org.eclipse.lsp4j.debug.BreakpointEventArguments;
 import org.eclipse.lsp4j.debug.Capabilities;
 import org.eclipse.lsp4j.debug.SetBreakpointsArguments;
@@ -49,9 +54,38 @@
  * <li>Update platform breakpoints based on adapter events and responses
  * <li>Support for line breakpoints not on IResource. For example CDT has
  * additional fields in the marker to specify full path
+ * </ul>
+ * <p>
+ * Breakpoints are synchronized incrementally: changes only mark the affected
+ * sources as dirty, and after a short debounce delay a single
+ * {@code setBreakpoints} request is sent for each source whose breakpoints
+ * differ from what was last sent to the debug adapter. The requests are sent
+ * while holding the lock of this manager, so the requests for a source reach
+ * the adapter in the order their state was recorded in {@code sentBreakpoints}.
  */
 public class DSPBreakpointManager implements IBreakpointManagerListener, IBreakpointListener {
+	/**
+	 * Delay used to coalesce rapid breakpoint changes into one request per source
+	 */
+	private static final long SYNC_DEBOUNCE_MS = 50;
+
+	private final Executor debounceExecutor = CompletableFuture.delayedExecutor(SYNC_DEBOUNCE_MS,
+			TimeUnit.MILLISECONDS);
+
+	/** Guarded by this */
 	private final Map<Source, List<SourceBreakpoint>> targetBreakpoints = new HashMap<>();
+	/** Breakpoints last sent per source, guarded by this */
+	private final Map<Source, List<SourceBreakpoint>> sentBreakpoints = new HashMap<>();
+	/** Arguments of the latest request per source, guarded by this */
+	private final Map<Source, SetBreakpointsArguments> latestRequests = new HashMap<>();
+	/** Breakpoints as verified and possibly moved by the adapter, guarded by this */
+	private final Map<Source, Breakpoint[]> verifiedBreakpoints = new HashMap<>();
+	/** Sources that changed since the last synchronization, guarded by this */
+	private final Set<Source> dirtySources = new LinkedHashSet<>();
+	/** Synchronization scheduled but not yet started, guarded by this */
+	private @Nullable CompletableFuture<@Nullable Void> pendingSync;
+	private volatile boolean isShutdown;
+
 	private final IDebugProtocolServer debugProtocolServer;
 	private final IBreakpointManager platformBreakpointManager;
 	private final @Nullable Capabilities capabilities;
@@ -79,10 +113,41 @@ public DSPBreakpointManager(IBreakpointManager platformBreakpointManager, IDebug
 	 * Called when the debug manager is no longer needed/debug session is shut down.
 	 */
 	public void shutdown() {
+		isShutdown = true;
 		platformBreakpointManager.removeBreakpointListener(this);
 		platformBreakpointManager.removeBreakpointManagerListener(this);
 	}
 
+	/**
+	 * Immediately sends the breakpoints of all sources changed since the last
+	 * synchronization instead of waiting for the debounce delay.
+	 *
+	 * @return the completeable future to signify when the breakpoints are all sent.
+	 */
+	public CompletableFuture<@Nullable Void> synchronizeBreakpoints() {
+		final CompletableFuture<@Nullable Void> pending;
+		synchronized (this) {
+			pending = pendingSync;
+			pendingSync = null;
+		}
+		CompletableFuture<@Nullable Void> result = sendBreakpoints();
+		if (pending != null) {
+			result.whenComplete((r, ex) -> pending.complete(null));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the breakpoints of the given source as last reported by the debug
+	 * adapter in its {@link SetBreakpointsResponse}, i.e. including their verified
+	 * state and the lines they were actually installed at. The platform
+	 * breakpoints are not moved to these lines.
+	 */
+	public synchronized Breakpoint[] getVerifiedBreakpoints(Source source) {
+		Breakpoint[] breakpoints = verifiedBreakpoints.get(source);
+		return breakpoints == null ? new Breakpoint[0] : breakpoints.clone();
+	}
+
 	/**
 	 * Returns whether this target can install the given breakpoint.
 	 *
@@ -104,21 +169,24 @@ public void breakpointManagerEnablementChanged(boolean enabled) {
 
 	private CompletableFuture<@Nullable Void> resendAllTargetBreakpoints(boolean enabled) {
 		IBreakpoint[] breakpoints = platformBreakpointManager.getBreakpoints();
-		for (IBreakpoint breakpoint : breakpoints) {
-			if (supportsBreakpoint(breakpoint)) {
-				try {
-					if (enabled && breakpoint.isEnabled()) {
-						addBreakpointToMap(breakpoint);
-					} else {
+		synchronized (this) {
+			for (IBreakpoint breakpoint : breakpoints) {
+				if (supportsBreakpoint(breakpoint)) {
+					try {
+						if (enabled && breakpoint.isEnabled()) {
+							addBreakpointToMap(breakpoint);
+						} else {
+							deleteBreakpointFromMap(breakpoint);
+						}
+					} catch (CoreException e) {
+						DSPPlugin.logError(e);
 						deleteBreakpointFromMap(breakpoint);
 					}
-				} catch (CoreException e) {
-					DSPPlugin.logError(e);
-					deleteBreakpointFromMap(breakpoint);
 				}
 			}
 		}
-		return sendBreakpoints();
+		// only sources whose breakpoints differ from what was last sent are synchronized
+		return synchronizeBreakpoints();
 	}
 
 	@Override
@@ -126,8 +194,10 @@ public void breakpointAdded(IBreakpoint breakpoint) {
 		if (supportsBreakpoint(breakpoint)) {
 			try {
 				if ((breakpoint.isEnabled() && platformBreakpointManager.isEnabled()) || !breakpoint.isRegistered()) {
-					addBreakpointToMap(breakpoint);
-					sendBreakpoints();
+					synchronized (this) {
+						addBreakpointToMap(breakpoint);
+					}
+					scheduleSync();
 				}
 			} catch (CoreException e) {
 				DSPPlugin.logError(e);
@@ -138,8 +208,10 @@ public void breakpointAdded(IBreakpoint breakpoint) {
 	@Override
 	public void breakpointRemoved(IBreakpoint breakpoint, @Nullable IMarkerDelta delta) {
 		if (supportsBreakpoint(breakpoint)) {
-			deleteBreakpointFromMap(breakpoint);
-			sendBreakpoints();
+			synchronized (this) {
+				deleteBreakpointFromMap(breakpoint);
+			}
+			scheduleSync();
 		}
 	}
 
@@ -206,6 +278,7 @@ private void addBreakpointToMap(IBreakpoint breakpoint) {
 			}
 
 			sourceBreakpoints.add(sourceBreakpoint);
+			dirtySources.add(source);
 		}
 	}
 
@@ -239,6 +312,7 @@ private void deleteBreakpointFromMap(IBreakpoint breakpoint) {
 
 						if (lineMatches && columnMatches) {
 							iterator.remove();
+							dirtySources.add(source);
 						}
 					}
 				}
@@ -246,37 +320,91 @@ private void deleteBreakpointFromMap(IBreakpoint breakpoint) {
 		}
 	}
 
+	/**
+	 * Schedules sending the dirty sources after {@link #SYNC_DEBOUNCE_MS}, unless
+	 * such a synchronization is already pending.
+	 */
+	private synchronized void scheduleSync() {
+		if (pendingSync != null || dirtySources.isEmpty()) {
+			return;
+		}
+		final var sync = new CompletableFuture<@Nullable Void>();
+		pendingSync = sync;
+		CompletableFuture.runAsync(() -> {
+			synchronized (this) {
+				if (pendingSync != sync) {
+					// already flushed by synchronizeBreakpoints()
+					return;
+				}
+				pendingSync = null;
+			}
+			sendBreakpoints().whenComplete((r, ex) -> sync.complete(null));
+		}, debounceExecutor);
+	}
+
 	private CompletableFuture<@Nullable Void> sendBreakpoints() {
-		final var all = new ArrayList<CompletableFuture<Void>>();
-		for (Iterator<Entry<Source, List<SourceBreakpoint>>> iterator = targetBreakpoints.entrySet()
-				.iterator(); iterator.hasNext();) {
-			Entry<Source, List<SourceBreakpoint>> entry = iterator.next();
-
-			Source source = entry.getKey();
-			List<SourceBreakpoint> bps = entry.getValue();
-			int[] lines = bps.stream().mapToInt(SourceBreakpoint::getLine).toArray();
-			SourceBreakpoint[] sourceBps = bps.toArray(SourceBreakpoint[]::new);
-
-			final var arguments = new SetBreakpointsArguments();
-			arguments.setSource(source);
-			arguments.setLines(lines);
-			arguments.setBreakpoints(sourceBps);
-			arguments.setSourceModified(false);
-			CompletableFuture<SetBreakpointsResponse> future = debugProtocolServer.setBreakpoints(arguments);
-			CompletableFuture<@Nullable Void> future2 = future.thenAccept((SetBreakpointsResponse bpResponse) -> {
-				// TODO update platform breakpoint with new info
-			});
-			all.add(future2);
-
-			// Once we told adapter there are no breakpoints for a source file, we can stop
-			// tracking that file
-			if (bps.isEmpty()) {
-				iterator.remove();
+		final var all = new ArrayList<CompletableFuture<@Nullable Void>>();
+		synchronized (this) {
+			if (isShutdown) {
+				dirtySources.clear();
+				return CompletableFuture.completedFuture(null);
 			}
+			for (Source source : dirtySources) {
+				List<SourceBreakpoint> bps = targetBreakpoints.get(source);
+				if (bps == null) {
+					bps = List.of();
+				}
+				List<SourceBreakpoint> sent = sentBreakpoints.get(source);
+				if (sent == null ? bps.isEmpty() : sent.equals(bps)) {
+					// the adapter already knows this state
+					if (bps.isEmpty()) {
+						targetBreakpoints.remove(source);
+					}
+					continue;
+				}
+				int[] lines = bps.stream().mapToInt(SourceBreakpoint::getLine).toArray();
+				SourceBreakpoint[] sourceBps = bps.toArray(SourceBreakpoint[]::new);
+
+				final var arguments = new SetBreakpointsArguments();
+				arguments.setSource(source);
+				arguments.setLines(lines);
+				arguments.setBreakpoints(sourceBps);
+				arguments.setSourceModified(false);
+				latestRequests.put(source, arguments);
+				// sending only enqueues the request, the response is handled once the lock is released
+				all.add(debugProtocolServer.setBreakpoints(arguments)
+						.thenAccept((SetBreakpointsResponse bpResponse) -> cacheResponse(arguments, bpResponse)));
+
+				// Once we told adapter there are no breakpoints for a source file, we can stop
+				// tracking that file
+				if (bps.isEmpty()) {
+					targetBreakpoints.remove(source);
+					sentBreakpoints.remove(source);
+				} else {
+					sentBreakpoints.put(source, new ArrayList<>(bps));
+				}
+			}
+			dirtySources.clear();
 		}
 		return CompletableFuture.allOf(all.toArray(CompletableFuture[]::new));
 	}
 
+	private synchronized void cacheResponse(SetBreakpointsArguments arguments, SetBreakpointsResponse response) {
+		Source source = arguments.getSource();
+		if (latestRequests.get(source) != arguments) {
+			// a newer request for this source was sent meanwhile, its response wins
+			return;
+		}
+		latestRequests.remove(source);
+		SourceBreakpoint[] sent = arguments.getBreakpoints();
+		Breakpoint[] breakpoints = response.getBreakpoints();
+		if (sent == null || sent.length == 0 || breakpoints == null) {
+			verifiedBreakpoints.remove(source);
+		} else {
+			verifiedBreakpoints.put(source, breakpoints);
+		}
+	}
+
 	public void breakpointEvent(BreakpointEventArguments args) {
 		// TODO Implement updates to breakpoints that come from the server (e.g.
 		// breakpoints inserted/modified/removed from the CLI)
@@ -0,0 +1,549 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.debug.debugmodel;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.debug.DSPPlugin;
+
+/**
+ * Asynchronous sink for the raw bytes exchanged with a debug adapter.
+ * <p>
+ * The protocol threads only copy the bytes they have read or written into a
+ * bounded queue, everything else (re-assembling the {@code Content-Length}
+ * framed messages, time stamping, formatting and I/O) happens on a dedicated
+ * background writer thread. If the writer can not keep up, chunks are dropped
+ * and counted rather than slowing down the debug session. After a drop, the
+ * messages of the affected direction are re-synchronized on the next
+ * {@code Content-Length} header.
+ * <p>
+ * Each debug session traces through its own {@link Channel}, so the messages
+ * of concurrent sessions sharing a sink are not mixed up. Bytes traced one at
+ * a time, like the headers read by LSP4J, are collected by the channel and
+ * queued together with the next bytes traced in bulk, or once
+ * {@link #SINGLE_BYTES_BUFFER_SIZE} of them are collected.
+ */
+public final class DSPTraceSink implements Closeable {
+
+	public enum Direction {
+		/** Data received from the debug adapter */
+		IN("<<"), //$NON-NLS-1$
+		/** Data sent to the debug adapter */
+		OUT(">>"); //$NON-NLS-1$
+
+		private final String marker;
+
+		Direction(String marker) {
+			this.marker = marker;
+		}
+	}
+
+	private static final int QUEUE_CAPACITY = 4096;
+	private static final int SINGLE_BYTES_BUFFER_SIZE = 1024;
+	/** how long closing waits for room in the queue when the writer falls behind */
+	private static final long CLOSE_TIMEOUT_SECONDS = 1;
+	private static final long DEFAULT_MAX_FILE_SIZE = 10 * 1024 * 1024;
+	private static final int DEFAULT_MAX_FILES = 5;
+	private static final byte[] HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+	private static final String CONTENT_LENGTH = "content-length:"; //$NON-NLS-1$
+	private static final byte[] CONTENT_LENGTH_HEADER = CONTENT_LENGTH.getBytes(StandardCharsets.US_ASCII);
+
+	/**
+	 * @param afterDrop
+	 *            whether chunks of the channel were dropped right before this one
+	 */
+	private record Chunk(Channel channel, Direction direction, long timestamp, byte[] data, boolean afterDrop) {
+	}
+
+	/** the data of the chunk sent when a channel is closed */
+	private static final byte[] CLOSE_CHANNEL = new byte[0];
+	/** the data of the chunk sent when the sink is closed */
+	private static final byte[] STOP = new byte[0];
+
+	private final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final AtomicLong droppedChunks = new AtomicLong();
+	private final TraceTarget target;
+	private final Thread writer;
+	private volatile boolean closed;
+
+	private DSPTraceSink(TraceTarget target, String name) {
+		this.target = target;
+		writer = new Thread(this::drain, "DAP trace writer - " + name); //$NON-NLS-1$
+		writer.setDaemon(true);
+		writer.setPriority(Thread.MIN_PRIORITY);
+		writer.start();
+	}
+
+	/**
+	 * Creates a sink writing to {@code file}. When the file exceeds
+	 * {@code maxFileSize} bytes it is rolled over to {@code file.1},
+	 * {@code file.2}, ... keeping at most {@code maxFiles} files.
+	 */
+	public static DSPTraceSink toRotatingFile(Path file, long maxFileSize, int maxFiles) {
+		return new DSPTraceSink(new RotatingFileTarget(file, maxFileSize, maxFiles), file.toString());
+	}
+
+	/**
+	 * Creates a sink writing to a rotating file in the state location of the
+	 * plug-in.
+	 */
+	public static DSPTraceSink toDefaultLocation() {
+		Path file = DSPPlugin.getDefault().getStateLocation().append("trace").append("dap-io.log").toPath(); //$NON-NLS-1$ //$NON-NLS-2$
+		return toRotatingFile(file, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_FILES);
+	}
+
+	/**
+	 * Creates a sink writing to the given stream. The stream is not closed when
+	 * the sink is closed.
+	 */
+	public static DSPTraceSink toStream(OutputStream stream) {
+		return new DSPTraceSink(new TraceTarget() {
+			@Override
+			public void write(byte[] bytes) throws IOException {
+				stream.write(bytes);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				stream.flush();
+			}
+
+			@Override
+			public void close() throws IOException {
+				stream.flush();
+			}
+		}, "stream"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Opens a channel for the data exchanged with one debug adapter. Each
+	 * channel re-assembles its own messages, so several debug sessions can share
+	 * the sink.
+	 */
+	public Channel openChannel() {
+		return new Channel();
+	}
+
+	/**
+	 * @return whether the sink was closed, or stopped tracing after failing to
+	 *         write
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * @return number of chunks that could not be traced because the writer thread
+	 *         was falling behind
+	 */
+	public long getDroppedChunks() {
+		return droppedChunks.get();
+	}
+
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			if (!queue.offer(new Chunk(new Channel(), Direction.IN, 0, STOP, false), CLOSE_TIMEOUT_SECONDS,
+					TimeUnit.SECONDS)) {
+				writer.interrupt();
+			}
+			writer.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void drain() {
+		final var channels = new LinkedHashSet<Channel>();
+		try {
+			while (true) {
+				Chunk chunk = queue.take();
+				if (chunk.data() == STOP) {
+					break;
+				}
+				final Channel channel = chunk.channel();
+				if (chunk.data() == CLOSE_CHANNEL) {
+					channel.flushIncomplete();
+					channels.remove(channel);
+				} else {
+					channels.add(channel);
+					channel.assemblers[chunk.direction().ordinal()].append(chunk);
+				}
+				if (queue.isEmpty()) {
+					target.flush();
+				}
+			}
+			for (Channel channel : channels) {
+				channel.flushIncomplete();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			DSPPlugin.logError("Failed to write DAP I/O trace, tracing disabled", e); //$NON-NLS-1$
+			closed = true;
+			queue.clear();
+		} finally {
+			try {
+				target.close();
+			} catch (IOException e) {
+				// ignore inner resource exception
+			}
+		}
+	}
+
+	private void writeRecord(Direction direction, long timestamp, String comment, byte[] data, int off,
+			int len) throws IOException {
+		long dropped = droppedChunks.getAndSet(0);
+		final var sb = new StringBuilder(64);
+		sb.append('[').append(Instant.ofEpochMilli(timestamp)).append("] ").append(direction.marker).append(' ') //$NON-NLS-1$
+				.append(comment);
+		if (dropped > 0) {
+			sb.append(" (").append(dropped).append(" chunks dropped)"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		sb.append(System.lineSeparator());
+		byte[] header = sb.toString().getBytes(StandardCharsets.UTF_8);
+		byte[] lineSeparator = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+		// write each record at once so that file rotation never splits a record
+		final var record = new byte[header.length + len + lineSeparator.length];
+		System.arraycopy(header, 0, record, 0, header.length);
+		System.arraycopy(data, off, record, header.length, len);
+		System.arraycopy(lineSeparator, 0, record, header.length + len, lineSeparator.length);
+		target.write(record);
+	}
+
+	/**
+	 * The data exchanged with one debug adapter, in both directions.
+	 */
+	public final class Channel implements Closeable {
+		private final MessageAssembler[] assemblers = new MessageAssembler[Direction.values().length];
+		/** whether a chunk was dropped since the last one queued, by direction */
+		private final AtomicBoolean[] dropped = new AtomicBoolean[Direction.values().length];
+		/** the bytes traced one at a time and not queued yet, by direction */
+		private final SingleBytes[] singleBytes = new SingleBytes[Direction.values().length];
+		private final AtomicBoolean channelClosed = new AtomicBoolean();
+
+		private Channel() {
+			for (Direction direction : Direction.values()) {
+				assemblers[direction.ordinal()] = new MessageAssembler(direction);
+				dropped[direction.ordinal()] = new AtomicBoolean();
+				singleBytes[direction.ordinal()] = new SingleBytes();
+			}
+		}
+
+		/**
+		 * Records a copy of the given bytes, after the single bytes traced before.
+		 * Never blocks; if the queue is full the chunk is dropped and counted.
+		 */
+		public void trace(Direction direction, byte[] b, int off, int len) {
+			if (len <= 0 || closed || channelClosed.get()) {
+				return;
+			}
+			final SingleBytes pending = singleBytes[direction.ordinal()];
+			synchronized (pending) {
+				if (pending.count == 0) {
+					enqueue(direction, System.currentTimeMillis(), Arrays.copyOfRange(b, off, off + len));
+				} else {
+					final var data = new byte[pending.count + len];
+					System.arraycopy(pending.data, 0, data, 0, pending.count);
+					System.arraycopy(b, off, data, pending.count, len);
+					enqueue(direction, pending.timestamp, data);
+					pending.count = 0;
+				}
+			}
+		}
+
+		/**
+		 * Records the given byte. It is queued with the next bytes traced in
+		 * bulk, or once enough single bytes are collected.
+		 */
+		public void trace(Direction direction, int b) {
+			if (b < 0 || closed || channelClosed.get()) {
+				return;
+			}
+			final SingleBytes pending = singleBytes[direction.ordinal()];
+			synchronized (pending) {
+				if (pending.count == 0) {
+					pending.timestamp = System.currentTimeMillis();
+				}
+				pending.data[pending.count++] = (byte) b;
+				if (pending.count == pending.data.length) {
+					enqueue(direction, pending.timestamp, pending.data.clone());
+					pending.count = 0;
+				}
+			}
+		}
+
+		private void enqueue(Direction direction, long timestamp, byte[] data) {
+			final AtomicBoolean droppedBefore = dropped[direction.ordinal()];
+			if (!queue.offer(new Chunk(this, direction, timestamp, data, droppedBefore.getAndSet(false)))) {
+				droppedBefore.set(true);
+				droppedChunks.incrementAndGet();
+			}
+		}
+
+		/**
+		 * Writes the data of incomplete messages, the channel must not be used
+		 * afterwards. Waits at most {@link #CLOSE_TIMEOUT_SECONDS} for room in
+		 * the queue, the incomplete messages are not written if the writer falls
+		 * that far behind.
+		 */
+		@Override
+		public void close() {
+			if (!closed && channelClosed.compareAndSet(false, true)) {
+				for (Direction direction : Direction.values()) {
+					final SingleBytes pending = singleBytes[direction.ordinal()];
+					synchronized (pending) {
+						if (pending.count > 0) {
+							enqueue(direction, pending.timestamp, Arrays.copyOf(pending.data, pending.count));
+							pending.count = 0;
+						}
+					}
+				}
+				try {
+					queue.offer(new Chunk(this, Direction.IN, System.currentTimeMillis(), CLOSE_CHANNEL, false),
+							CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		private void flushIncomplete() throws IOException {
+			for (MessageAssembler assembler : assemblers) {
+				assembler.flushIncomplete("incomplete"); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/** bytes of one direction traced one at a time, guarded by itself */
+	private static final class SingleBytes {
+		private final byte[] data = new byte[SINGLE_BYTES_BUFFER_SIZE];
+		private int count;
+		private long timestamp;
+	}
+
+	/**
+	 * Re-assembles chunks of one direction into complete DAP messages so each
+	 * message is written as one time stamped record.
+	 */
+	private final class MessageAssembler {
+		private final Direction direction;
+		private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+		private long firstTimestamp;
+		/** size {@link #pending} must reach before the next message is complete, -1 if unknown */
+		private int expectedSize = -1;
+		/** whether data was lost, so the start of the next message must be searched */
+		private boolean resync;
+
+		MessageAssembler(Direction direction) {
+			this.direction = direction;
+		}
+
+		void append(Chunk chunk) throws IOException {
+			if (chunk.afterDrop()) {
+				// the pending message lacks the dropped bytes, its length can not be trusted anymore
+				flushIncomplete("truncated, data dropped"); //$NON-NLS-1$
+				resync = true;
+			}
+			if (pending.size() == 0) {
+				firstTimestamp = chunk.timestamp();
+			}
+			pending.writeBytes(chunk.data());
+			if (pending.size() < expectedSize) {
+				return;
+			}
+			expectedSize = -1;
+			byte[] buf = pending.toByteArray();
+			int start = 0;
+			if (resync) {
+				int headerStart = indexOfIgnoreCase(buf, CONTENT_LENGTH_HEADER, 0);
+				if (headerStart < 0) {
+					// keep the tail, it may be the beginning of a header
+					start = Math.max(0, buf.length - CONTENT_LENGTH_HEADER.length + 1);
+				} else {
+					start = headerStart;
+					resync = false;
+				}
+			}
+			while (!resync) {
+				int headerEnd = indexOf(buf, HEADER_END, start);
+				if (headerEnd < 0) {
+					break;
+				}
+				int bodyStart = headerEnd + HEADER_END.length;
+				int contentLength = parseContentLength(new String(buf, start, headerEnd - start,
+						StandardCharsets.US_ASCII));
+				if (contentLength < 0) {
+					// not a framed message, dump what we have so far
+					writeRecord(direction, firstTimestamp, "unframed", buf, start, //$NON-NLS-1$
+							bodyStart - start);
+					start = bodyStart;
+					continue;
+				}
+				if (buf.length - bodyStart < contentLength) {
+					expectedSize = bodyStart - start + contentLength;
+					break;
+				}
+				int end = bodyStart + contentLength;
+				writeRecord(direction, firstTimestamp, contentLength + " bytes", //$NON-NLS-1$
+						buf, start, end - start);
+				start = end;
+				firstTimestamp = chunk.timestamp();
+			}
+			if (start > 0) {
+				pending.reset();
+				pending.write(buf, start, buf.length - start);
+			}
+		}
+
+		void flushIncomplete(String comment) throws IOException {
+			if (pending.size() > 0) {
+				byte[] buf = pending.toByteArray();
+				writeRecord(direction, firstTimestamp, comment, buf, 0, buf.length);
+				pending.reset();
+			}
+			expectedSize = -1;
+		}
+
+		private static int parseContentLength(String header) {
+			for (String line : header.split("\r\n")) { //$NON-NLS-1$
+				if (line.regionMatches(true, 0, CONTENT_LENGTH, 0, CONTENT_LENGTH.length())) {
+					try {
+						return Integer.parseInt(line.substring(CONTENT_LENGTH.length()).trim());
+					} catch (NumberFormatException e) {
+						return -1;
+					}
+				}
+			}
+			return -1;
+		}
+
+		private static int indexOf(byte[] buf, byte[] pattern, int from) {
+			outer: for (int i = from; i <= buf.length - pattern.length; i++) {
+				for (int j = 0; j < pattern.length; j++) {
+					if (buf[i + j] != pattern[j]) {
+						continue outer;
+					}
+				}
+				return i;
+			}
+			return -1;
+		}
+
+		/** @param pattern lower case ASCII */
+		private static int indexOfIgnoreCase(byte[] buf, byte[] pattern, int from) {
+			outer: for (int i = from; i <= buf.length - pattern.length; i++) {
+				for (int j = 0; j < pattern.length; j++) {
+					if (Character.toLowerCase((char) (buf[i + j] & 0xFF)) != pattern[j]) {
+						continue outer;
+					}
+				}
+				return i;
+			}
+			return -1;
+		}
+	}
+
+	private interface TraceTarget extends Closeable {
+		void write(byte[] bytes) throws IOException;
+
+		void flush() throws IOException;
+	}
+
+	private static final class RotatingFileTarget implements TraceTarget {
+		private final Path file;
+		private final long maxFileSize;
+		private final int maxFiles;
+		private @Nullable OutputStream out;
+		private long written;
+
+		RotatingFileTarget(Path file, long maxFileSize, int maxFiles) {
+			this.file = file;
+			this.maxFileSize = maxFileSize;
+			this.maxFiles = Math.max(1, maxFiles);
+		}
+
+		@Override
+		public void write(byte[] bytes) throws IOException {
+			OutputStream out = this.out;
+			if (out == null || written >= maxFileSize) {
+				out = open(out != null);
+			}
+			out.write(bytes);
+			written += bytes.length;
+		}
+
+		private OutputStream open(boolean rotate) throws IOException {
+			OutputStream current = this.out;
+			if (current != null) {
+				current.close();
+			}
+			Path dir = file.toAbsolutePath().getParent();
+			if (dir != null) {
+				Files.createDirectories(dir);
+			}
+			if (rotate || Files.exists(file)) {
+				for (int i = maxFiles - 1; i > 0; i--) {
+					Path source = i == 1 ? file : sibling(i - 1);
+					if (Files.exists(source)) {
+						Files.move(source, sibling(i), StandardCopyOption.REPLACE_EXISTING);
+					}
+				}
+			}
+			final var newOut = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), 64 * 1024);
+			this.out = newOut;
+			written = 0;
+			return newOut;
+		}
+
+		private Path sibling(int index) {
+			return file.resolveSibling(file.getFileName() + "." + index); //$NON-NLS-1$
+		}
+
+		@Override
+		public void flush() throws IOException {
+			OutputStream out = this.out;
+			if (out != null) {
+				out.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			OutputStream out = this.out;
+			if (out != null) {
+				this.out = null;
+				out.close();
+			}
+		}
+	}
+}
@@ -13,27 +13,64 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.debug.debugmodel.DSPTraceSink.Direction;
+
+/**
+ * Copies everything read from the debug adapter to a {@link DSPTraceSink}. The
+ * sink does the actual I/O on its own thread, so the reader thread is not
+ * slowed down by tracing.
+ */
 public class TraceInputStream extends FilterInputStream {
-	private final OutputStream trace;
+	private final DSPTraceSink.Channel trace;
+	/** the sink created for the trace stream given to the constructor, closed with this stream */
+	private final @Nullable DSPTraceSink ownedSink;
 
-	public TraceInputStream(InputStream in, OutputStream trace) {
+	/**
+	 * @param trace
+	 *            the channel of the debug session, closed by the caller
+	 */
+	public TraceInputStream(InputStream in, DSPTraceSink.Channel trace) {
 		super(in);
 		this.trace = trace;
+		this.ownedSink = null;
+	}
+
+	/**
+	 * Kept for backward compatibility, traces asynchronously to the given stream
+	 * until this stream is closed.
+	 */
+	public TraceInputStream(InputStream in, OutputStream trace) {
+		super(in);
+		final DSPTraceSink sink = DSPTraceSink.toStream(trace);
+		this.trace = sink.openChannel();
+		this.ownedSink = sink;
 	}
 
 	@Override
 	public int read() throws IOException {
 		int b = in.read();
-		trace.write(b);
-		trace.flush();
+		trace.trace(Direction.IN, b);
 		return b;
 	}
 
 	@Override
 	public int read(byte[] b, int off, int len) throws IOException {
 		int n = in.read(b, off, len);
-		trace.write(b, off, n);
-		trace.flush();
+		trace.trace(Direction.IN, b, off, n);
 		return n;
 	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			super.close();
+		} finally {
+			final var ownedSink = this.ownedSink;
+			if (ownedSink != null) {
+				trace.close();
+				ownedSink.close();
+			}
+		}
+	}
 }
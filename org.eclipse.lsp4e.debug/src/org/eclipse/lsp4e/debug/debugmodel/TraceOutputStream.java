@@ -12,26 +12,63 @@
 import java.io.IOException;
 import java.io.OutputStream;
 
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.debug.debugmodel.DSPTraceSink.Direction;
+
+/**
+ * Copies everything written to the debug adapter to a {@link DSPTraceSink}. The
+ * sink does the actual I/O on its own thread, so the writer thread is not
+ * slowed down by tracing.
+ */
 public class TraceOutputStream extends FilterOutputStream {
 
-	private final OutputStream trace;
+	private final DSPTraceSink.Channel trace;
+	/** the sink created for the trace stream given to the constructor, closed with this stream */
+	private final @Nullable DSPTraceSink ownedSink;
 
-	public TraceOutputStream(OutputStream out, OutputStream trace) {
+	/**
+	 * @param trace
+	 *            the channel of the debug session, closed by the caller
+	 */
+	public TraceOutputStream(OutputStream out, DSPTraceSink.Channel trace) {
 		super(out);
 		this.trace = trace;
+		this.ownedSink = null;
+	}
+
+	/**
+	 * Kept for backward compatibility, traces asynchronously to the given stream
+	 * until this stream is closed.
+	 */
+	public TraceOutputStream(OutputStream out, OutputStream trace) {
+		super(out);
+		final DSPTraceSink sink = DSPTraceSink.toStream(trace);
+		this.trace = sink.openChannel();
+		this.ownedSink = sink;
 	}
 
 	@Override
 	public void write(int b) throws IOException {
-		trace.write(b);
-		trace.flush();
 		out.write(b);
+		trace.trace(Direction.OUT, b);
 	}
 
 	@Override
 	public void write(byte[] b, int off, int len) throws IOException {
-		trace.write(b, off, len);
-		trace.flush();
 		out.write(b, off, len);
+		trace.trace(Direction.OUT, b, off, len);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			super.close();
+		} finally {
+			final var ownedSink = this.ownedSink;
+			if (ownedSink != null) {
+				trace.close();
+				ownedSink.close();
+			}
+		}
 	}
-}
\ No newline at end of file
+}
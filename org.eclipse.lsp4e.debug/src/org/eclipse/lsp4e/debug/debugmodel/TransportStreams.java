@@ -15,6 +15,8 @@
 import java.io.OutputStream;
 import java.net.Socket;
 
+import org.eclipse.lsp4e.debug.DSPPlugin;
+
 public abstract class TransportStreams {
 
 	public InputStream in = lateNonNull();
@@ -33,12 +35,25 @@ public void close() {
 		}
 	}
 
+	/**
+	 * Wraps the streams so that all data is traced to the shared I/O trace sink of
+	 * the plug-in, see {@link DSPPlugin#getIOTraceSink()}.
+	 */
 	public TransportStreams withTrace() {
-		return new DefaultTransportStreams(new TraceInputStream(in, System.out),
-				new TraceOutputStream(out, System.out)) {
+		return withTrace(DSPPlugin.getDefault().getIOTraceSink());
+	}
+
+	/**
+	 * Wraps the streams so that all data is traced to a new channel of the given
+	 * sink, closed with the returned streams.
+	 */
+	public TransportStreams withTrace(DSPTraceSink sink) {
+		final DSPTraceSink.Channel channel = sink.openChannel();
+		return new DefaultTransportStreams(new TraceInputStream(in, channel), new TraceOutputStream(out, channel)) {
 			@Override
 			public void close() {
 				TransportStreams.this.close();
+				channel.close();
 			}
 		};
 	}
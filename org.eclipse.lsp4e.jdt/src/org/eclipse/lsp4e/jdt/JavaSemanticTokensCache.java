@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.jdt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.jdt.ui.text.java.ISemanticTokensProvider;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.lsp4e.internal.CancellationUtil;
+import org.eclipse.lsp4e.internal.DocumentUtil;
+
+/**
+ * The last semantic tokens of each document, so the JDT semantic highlighting
+ * reconciler never waits for a language server. The tokens are returned right
+ * away, shifted across the edits made since they were computed, while fresh
+ * tokens are requested in the background for the current version of the
+ * document. Once they arrive, the semantic highlighting of the document is
+ * refreshed, and the reconciler gets them from the cache.
+ */
+final class JavaSemanticTokensCache {
+
+	/** a semantic token, in the document version of its cache entry */
+	record Token(int offset, int length, ISemanticTokensProvider.TokenType type) {
+	}
+
+	/**
+	 * The tokens of one document. It does not reference the document, which
+	 * references it as listener, so that the document can be garbage collected.
+	 */
+	private static final class Entry implements IDocumentListener {
+		private List<Token> tokens = List.of();
+		/** the edits not applied to the tokens yet, as {offset, length, text length} */
+		private final List<int[]> edits = new ArrayList<>();
+		/** the modification stamp of the document the tokens were received for */
+		private long freshStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		/** the modification stamp of the document the last request was sent for */
+		private long requestStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			if (!tokens.isEmpty()) {
+				final String text = event.getText();
+				edits.add(new int[] { event.getOffset(), event.getLength(), text == null ? 0 : text.length() });
+			}
+		}
+
+		/**
+		 * Applies the pending edits to the tokens, dropping the tokens they
+		 * overlap.
+		 */
+		private void shift() {
+			if (edits.isEmpty()) {
+				return;
+			}
+			final var shifted = new ArrayList<Token>(tokens.size());
+			for (final Token token : tokens) {
+				int offset = token.offset();
+				boolean overlapped = false;
+				for (final int[] edit : edits) {
+					if (offset + token.length() <= edit[0]) {
+						continue;
+					}
+					if (offset >= edit[0] + edit[1]) {
+						offset += edit[2] - edit[1];
+					} else {
+						overlapped = true;
+						break;
+					}
+				}
+				if (!overlapped) {
+					shifted.add(offset == token.offset() ? token : new Token(offset, token.length(), token.type()));
+				}
+			}
+			tokens = shifted;
+			edits.clear();
+		}
+	}
+
+	private final Map<IDocument, Entry> entries = new WeakHashMap<>();
+
+	/**
+	 * @param request
+	 *            requests the tokens of the current version of the document
+	 * @param onFreshTokens
+	 *            called with the document once fresh tokens are received, e.g.
+	 *            to refresh its highlighting
+	 * @return the last tokens of the given document, shifted to its current
+	 *         version
+	 */
+	List<Token> getTokens(IDocument document,
+			Function<IDocument, CompletableFuture<Optional<List<Token>>>> request,
+			Consumer<IDocument> onFreshTokens) {
+		final Entry entry;
+		synchronized (entries) {
+			entry = entries.computeIfAbsent(document, d -> {
+				final var newEntry = new Entry();
+				d.addDocumentListener(newEntry);
+				return newEntry;
+			});
+		}
+		synchronized (entry) {
+			entry.shift();
+			final long stamp = DocumentUtil.getDocumentModificationStamp(document);
+			if (stamp != entry.freshStamp && stamp != entry.requestStamp) {
+				entry.requestStamp = stamp;
+				request.apply(document).thenAccept(tokens -> {
+					synchronized (entry) {
+						// tokens computed for a previous version are dropped, the next reconcile requests them again
+						if (stamp != DocumentUtil.getDocumentModificationStamp(document)) {
+							return;
+						}
+						entry.tokens = tokens.orElse(List.of());
+						entry.edits.clear();
+						entry.freshStamp = stamp;
+					}
+					onFreshTokens.accept(document);
+				}).exceptionally(ex -> {
+					if (!CancellationUtil.isRequestCancelledException(ex)) {
+						LanguageServerPlugin.logError("Failed to fetch semantic tokens from Language Servers", ex); //$NON-NLS-1$
+					}
+					return null;
+				});
+			}
+			return entry.tokens;
+		}
+	}
+}
@@ -18,7 +18,7 @@
 import org.eclipse.lsp4e.operations.semanticTokens.AbstractSemanticTokensDataStreamProcessor;
 import org.eclipse.lsp4j.Position;
 
-class JavaSemanticTokensProcessor extends AbstractSemanticTokensDataStreamProcessor<ISemanticTokensProvider.TokenType, ISemanticTokensProvider.SemanticToken> {
+class JavaSemanticTokensProcessor extends AbstractSemanticTokensDataStreamProcessor<ISemanticTokensProvider.TokenType, JavaSemanticTokensCache.Token> {
 	
 	public JavaSemanticTokensProcessor(final Function<String, ISemanticTokensProvider.@Nullable TokenType> tokenTypeMapper,
 			final Function<Position, Integer> offsetMapper) {
@@ -26,10 +26,10 @@ public JavaSemanticTokensProcessor(final Function<String, ISemanticTokensProvide
 	}
 
 	@Override
-	protected ISemanticTokensProvider.@Nullable SemanticToken createTokenData(
+	protected JavaSemanticTokensCache.@Nullable Token createTokenData(
 			ISemanticTokensProvider.@Nullable TokenType tt, int offset, int length, List<String> tokenModifiers) {
 		if (tt != null) {
-			return new ISemanticTokensProvider.SemanticToken(offset, length, tt);
+			return new JavaSemanticTokensCache.Token(offset, length, tt);
 		}
 		return null;
 	}
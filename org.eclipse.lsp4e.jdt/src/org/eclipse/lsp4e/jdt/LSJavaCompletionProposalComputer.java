@@ -11,6 +11,7 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.jdt;
 
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -22,12 +23,31 @@
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.contentassist.IContextInformation;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.operations.completion.LSCompletionProposal;
 import org.eclipse.lsp4e.operations.completion.LSContentAssistProcessor;
+import org.eclipse.lsp4e.operations.completion.PendingCompletion;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.events.DisposeListener;
 
+/**
+ * Contributes the completion proposals of the language servers to the Java
+ * editor content assist. The language servers are requested asynchronously: a
+ * request is started as soon as a completion trigger character of the language
+ * servers is typed, and content assist only waits {@link #TIMEOUT_LENGTH} for
+ * it. A request not answered by then is not canceled, its proposals are kept
+ * for the next computation while the user goes on typing the same word, e.g.
+ * when the Java proposals are filtered again, see {@link PendingCompletion}.
+ * <p>
+ * The viewer and document are referenced weakly, and the document is no
+ * longer listened to once the viewer is disposed or shows another document.
+ */
 @SuppressWarnings({ "restriction" })
 public class LSJavaCompletionProposalComputer implements IJavaCompletionProposalComputer {
 
@@ -36,9 +56,49 @@ public class LSJavaCompletionProposalComputer implements IJavaCompletionProposal
 
 	private final LSContentAssistProcessor lsContentAssistProcessor = new LSContentAssistProcessor(false);
 	private @Nullable String javaCompletionSpecificErrorMessage;
+	/** the last request, started on a trigger character in the UI thread or by a computation */
+	private volatile @Nullable PendingCompletion pendingCompletion;
+	/** the viewer whose document is listened to, to start requests on trigger characters */
+	private volatile WeakReference<@Nullable ITextViewer> listenedViewer = new WeakReference<>(null);
+	private volatile WeakReference<@Nullable IDocument> listenedDocument = new WeakReference<>(null);
+	private final DisposeListener viewerDisposeListener = event -> {
+		final ITextViewer viewer = listenedViewer.get();
+		// the viewer may already have let go of its widget
+		final StyledText widget = viewer == null ? null : viewer.getTextWidget();
+		if (widget == null || widget == event.widget) {
+			stopListening();
+		}
+	};
+
+	private final IDocumentListener triggerCharacterListener = new IDocumentListener() {
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			final ITextViewer viewer = listenedViewer.get();
+			if (viewer == null || viewer.getDocument() != event.getDocument()) {
+				// the viewer was closed or shows another document
+				event.getDocument().removeDocumentListener(this);
+				stopListening();
+				return;
+			}
+			final PendingCompletion pending = pendingCompletion;
+			if (pending != null && pending.isFor(event.getDocument()) && !pending.update(event)) {
+				pendingCompletion = null;
+			}
+			final String text = event.getText();
+			if (event.getLength() == 0 && text != null && text.length() == 1 && isTriggerCharacter(text.charAt(0))) {
+				// JDT content assist is auto-activated after a delay, so the servers get a head start
+				request(viewer, event.getDocument(), event.getOffset() + 1);
+			}
+		}
+	};
 
 	@Override
 	public void sessionStarted() {
+		javaCompletionSpecificErrorMessage = null;
 	}
 
 	@Override
@@ -47,14 +107,34 @@ public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocat
 		final var viewer = context.getViewer();
 		if(viewer == null)
 			return List.of();
-		CompletableFuture<ICompletionProposal[]> future = CompletableFuture.supplyAsync(() ->
-			lsContentAssistProcessor.computeCompletionProposals(viewer, context.getInvocationOffset()));
+		final IDocument document = viewer.getDocument();
+		if (document == null)
+			return List.of();
+		listenTo(viewer, document);
+
+		final int offset = context.getInvocationOffset();
+		PendingCompletion pending = pendingCompletion;
+		if (pending == null || !pending.appliesTo(document, offset)) {
+			pending = request(viewer, document, offset);
+		}
 
 		try {
-			return List.of(asJavaProposals(future, context));
-		} catch (ExecutionException | TimeoutException e) {
+			final long deadline = System.nanoTime() + TIMEOUT_UNIT.toNanos(TIMEOUT_LENGTH);
+			LSCompletionProposal[] proposals = pending.getProposals(document, offset, TIMEOUT_LENGTH, TIMEOUT_UNIT);
+			if (proposals == null) {
+				// the list was incomplete, the language servers have to be asked again for the word typed since
+				pending = request(viewer, document, offset);
+				proposals = pending.getProposals(document, offset, Math.max(0, deadline - System.nanoTime()),
+						TimeUnit.NANOSECONDS);
+			}
+			return List.of(asJavaProposals(proposals == null ? new LSCompletionProposal[0] : proposals));
+		} catch (TimeoutException e) {
+			// the request goes on, and its proposals are used when computed again at the same or a following offset
+			return List.of();
+		} catch (ExecutionException e) {
 			LanguageServerPlugin.logError(e);
 			javaCompletionSpecificErrorMessage = createErrorMessage(e);
+			pendingCompletion = null;
 			return List.of();
 		} catch (InterruptedException e) {
 			LanguageServerPlugin.logError(e);
@@ -64,6 +144,58 @@ public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocat
 		}
 	}
 
+	private PendingCompletion request(ITextViewer viewer, IDocument document, int offset) {
+		final var pending = new PendingCompletion(document, offset,
+				CompletableFuture.supplyAsync(() -> lsContentAssistProcessor.computeCompletionProposals(viewer, offset)));
+		pendingCompletion = pending;
+		return pending;
+	}
+
+	private boolean isTriggerCharacter(char c) {
+		final char[] triggers = lsContentAssistProcessor.getCompletionProposalAutoActivationCharacters();
+		if (triggers != null) {
+			for (final char trigger : triggers) {
+				if (trigger == c) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private synchronized void listenTo(ITextViewer viewer, IDocument document) {
+		if (listenedViewer.get() == viewer && listenedDocument.get() == document) {
+			return;
+		}
+		stopListening();
+		listenedViewer = new WeakReference<>(viewer);
+		listenedDocument = new WeakReference<>(document);
+		document.addDocumentListener(triggerCharacterListener);
+		final StyledText widget = viewer.getTextWidget();
+		if (widget != null) {
+			widget.getDisplay().asyncExec(() -> {
+				if (widget.isDisposed()) {
+					if (listenedViewer.get() == viewer) {
+						stopListening();
+					}
+				} else {
+					widget.removeDisposeListener(viewerDisposeListener);
+					widget.addDisposeListener(viewerDisposeListener);
+				}
+			});
+		}
+	}
+
+	private synchronized void stopListening() {
+		final IDocument document = listenedDocument.get();
+		if (document != null) {
+			document.removeDocumentListener(triggerCharacterListener);
+		}
+		listenedViewer = new WeakReference<>(null);
+		listenedDocument = new WeakReference<>(null);
+		pendingCompletion = null;
+	}
+
 	private String createErrorMessage(Exception ex) {
 		return Messages.javaSpecificCompletionError + " : " + (ex.getMessage() != null ? ex.getMessage() : ex.toString()); //$NON-NLS-1$
 	}
@@ -77,12 +209,8 @@ private String createErrorMessage(Exception ex) {
 	 * This method wraps around the LSCompletionProposal with a IJavaCompletionProposal, and it sets the relevance
 	 * number that JDT uses to sort proposals in a desired order.
 	 */
-	private ICompletionProposal[] asJavaProposals(CompletableFuture<ICompletionProposal[]> future, ContentAssistInvocationContext context)
-			throws InterruptedException, ExecutionException, TimeoutException {
-		ICompletionProposal[] originalProposals = future.get(TIMEOUT_LENGTH, TIMEOUT_UNIT);
-
-		return Arrays.stream(originalProposals).filter(LSCompletionProposal.class::isInstance).map(LSCompletionProposal.class::cast).map(LSJavaProposal::new).toArray(LSJavaProposal[]::new);
-		
+	private ICompletionProposal[] asJavaProposals(LSCompletionProposal[] proposals) {
+		return Arrays.stream(proposals).map(LSJavaProposal::new).toArray(LSJavaProposal[]::new);
 	}
 
 	@Override
@@ -102,6 +230,7 @@ public List<IContextInformation> computeContextInformation(ContentAssistInvocati
 
 	@Override
 	public void sessionEnded() {
+		// a pending request is kept, the next session may start further in the same word
 	}
 
 }
@@ -14,9 +14,8 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.core.resources.IResource;
 import org.eclipse.jdt.annotation.Nullable;
@@ -27,16 +26,17 @@
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
-import org.eclipse.lsp4e.internal.CancellationUtil;
 import org.eclipse.lsp4e.jdt.preferences.PreferenceConstants;
 import org.eclipse.lsp4e.operations.semanticTokens.SemanticHighlightReconcilerStrategy;
 import org.eclipse.lsp4e.operations.semanticTokens.SemanticTokensClient;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensLegend;
+import org.eclipse.ui.PlatformUI;
 
 public class LSJavaSemanticTokensProvider implements ISemanticTokensProvider {
 	
-	private static final int TIMEOUT_SEMANTIC_TOKENS = 300;
+	/** the last tokens of the documents, so highlighting never waits for the language servers */
+	private static final JavaSemanticTokensCache CACHE = new JavaSemanticTokensCache();
 	
 	@SuppressWarnings("null")
 	@Override
@@ -63,23 +63,23 @@ public Collection<ISemanticTokensProvider.SemanticToken> computeSemanticTokens(C
 			return Collections.emptyList();
 		}
 		
-		try {
-			return SemanticTokensClient.DEFAULT.requestFullSemanticTokens(theDocument, (legend, semanticTokens) -> convertTokens(legend, theDocument, semanticTokens))
-				.thenApply(o -> o.orElse(Collections.emptyList())).get(TIMEOUT_SEMANTIC_TOKENS, TimeUnit.MILLISECONDS);
-		} catch (TimeoutException e) {
-			LanguageServerPlugin.logWarning("Timed out after waiting for %dms for semantic tokens from Language Servers".formatted(TIMEOUT_SEMANTIC_TOKENS), e);
-		} catch (InterruptedException e) {
-			LanguageServerPlugin.logError(e);
-			Thread.currentThread().interrupt();
-		} catch (ExecutionException e) {
-			if (!CancellationUtil.isRequestCancelledException(e)) { // do not report error if the server has cancelled the request
-				LanguageServerPlugin.logError("Failed to fetch semantic tokens for '%s' from Language Servers".formatted(resource.getLocation()), e);
-			}
-		}		
-		return Collections.emptyList();
+		return CACHE.getTokens(theDocument, this::requestTokens, LSJavaSemanticTokensProvider::refreshSemanticHighlighting)
+				.stream().map(token -> new ISemanticTokensProvider.SemanticToken(token.offset(), token.length(), token.type()))
+				.toList();
+	}
+
+	private CompletableFuture<Optional<List<JavaSemanticTokensCache.Token>>> requestTokens(IDocument theDocument) {
+		return SemanticTokensClient.DEFAULT.requestFullSemanticTokens(theDocument,
+				(legend, semanticTokens) -> convertTokens(legend, theDocument, semanticTokens));
+	}
+
+	@SuppressWarnings("restriction")
+	private static void refreshSemanticHighlighting(IDocument document) {
+		PlatformUI.getWorkbench().getDisplay().asyncExec(() -> LanguageServerJdtPlugin
+				.refreshSemanticHighlighting(editor -> LSPEclipseUtils.getDocument(editor) == document));
 	}
 	
-	private List<ISemanticTokensProvider.SemanticToken> convertTokens(@Nullable SemanticTokensLegend legend, IDocument theDocument, @Nullable SemanticTokens semanticTokens) {
+	private List<JavaSemanticTokensCache.Token> convertTokens(@Nullable SemanticTokensLegend legend, IDocument theDocument, @Nullable SemanticTokens semanticTokens) {
 		if (semanticTokens == null) {
 			return Collections.emptyList();
 		}
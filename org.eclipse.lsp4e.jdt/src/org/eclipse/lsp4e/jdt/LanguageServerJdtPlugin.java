@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.jdt;
 
+import java.util.function.Predicate;
+
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jface.util.IPropertyChangeListener;
@@ -29,24 +31,32 @@ public class LanguageServerJdtPlugin extends AbstractUIPlugin {
 	
 	private final IPropertyChangeListener prefsLisetner = new IPropertyChangeListener() {
 		
-		@SuppressWarnings("restriction")
 		@Override
 		public void propertyChange(PropertyChangeEvent event) {
 			if (PreferenceConstants.PREF_SEMANTIC_TOKENS_SWITCH.equals(event.getProperty())) {
-				for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
-					for (IWorkbenchPage page : window.getPages()) {
-						for (IEditorReference editorRef : page.getEditorReferences()) {
-							IEditorPart editor = editorRef.getEditor(false);
-							if (editor instanceof JavaEditor je) {
-								je.refreshSemanticHighlighting();
-							}
-						}
-					}
-				}
+				refreshSemanticHighlighting(editor -> true);
 			}
 		}
 	};
 	
+	/**
+	 * Refreshes the semantic highlighting of the open Java editors matching the
+	 * given filter. Must be called from the UI thread.
+	 */
+	@SuppressWarnings("restriction")
+	static void refreshSemanticHighlighting(Predicate<JavaEditor> filter) {
+		for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+			for (IWorkbenchPage page : window.getPages()) {
+				for (IEditorReference editorRef : page.getEditorReferences()) {
+					IEditorPart editor = editorRef.getEditor(false);
+					if (editor instanceof JavaEditor je && filter.test(je)) {
+						je.refreshSemanticHighlighting();
+					}
+				}
+			}
+		}
+	}
+
 	public static final @Nullable LanguageServerJdtPlugin getDefault() {
 		return plugin;
 	}
@@ -15,6 +15,7 @@
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.matchesPattern;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Collection;
@@ -26,6 +27,8 @@
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServiceAccessor;
 import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
@@ -69,6 +72,87 @@ public void testConnect() throws Exception {
 		TestUtils.closeEditor(editor2, false);
 	}
 
+	@Test
+	public void testTelemetry() throws Exception {
+		IFile testFile = TestUtils.createFile(project, "shouldUseExtension.lsptWithMultiRoot", "content");
+		IEditorPart editor = TestUtils.openEditor(testFile);
+
+		LanguageServerWrapper wrapper = LanguageServiceAccessor.getLSWrappers(testFile, request -> true).iterator().next();
+		waitForAndAssertCondition(2_000, wrapper::isActive);
+		waitForAndAssertCondition(2_000, () -> wrapper.getTelemetry().getMethodStatistics("textDocument/didOpen") != null);
+
+		final var initialize = wrapper.getTelemetry().getMethodStatistics("initialize");
+		assertNotNull(initialize);
+		assertEquals(1, initialize.getCount());
+		assertEquals(0, initialize.getInFlight());
+		assertTrue(initialize.getSentBytes() > 0);
+		assertTrue(initialize.getReceivedBytes() > 0);
+
+		TestUtils.closeEditor(editor, false);
+	}
+
+	@Test
+	public void testRestartReopensVisibleEditorsFirst() throws Exception {
+		IFile hiddenFile = TestUtils.createUniqueTestFile(project, "lsptWithMultiRoot", "hidden");
+		IFile visibleFile = TestUtils.createUniqueTestFile(project, "lsptWithMultiRoot", "visible");
+		IEditorPart hiddenEditor = TestUtils.openEditor(hiddenFile);
+		IEditorPart visibleEditor = TestUtils.openEditor(visibleFile);
+
+		LanguageServerWrapper wrapper = LanguageServiceAccessor.getLSWrappers(visibleFile, request -> true).iterator().next();
+		waitForAndAssertCondition(2_000, () -> wrapper.isConnectedTo(hiddenFile.getLocationURI())
+				&& wrapper.isConnectedTo(visibleFile.getLocationURI()));
+		waitForAndAssertCondition(2_000, () -> didOpenCount(wrapper) == 2);
+
+		wrapper.restart();
+		waitForAndAssertCondition(5_000, () -> didOpenCount(wrapper) == 3);
+		// the document of the editor behind the active one is reopened on first use only
+		assertTrue(wrapper.isConnectedTo(hiddenFile.getLocationURI()));
+		Thread.sleep(500);
+		assertEquals(3, didOpenCount(wrapper));
+
+		wrapper.connectDocument(LSPEclipseUtils.getDocument(hiddenFile));
+		waitForAndAssertCondition(2_000, () -> didOpenCount(wrapper) == 4);
+
+		TestUtils.closeEditor(visibleEditor, false);
+		TestUtils.closeEditor(hiddenEditor, false);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedDocumentsAreClosed() throws Exception {
+		final var store = LanguageServerPlugin.getDefault().getPreferenceStore();
+		store.setValue(LanguageServerWrapper.OPEN_DOCUMENTS_LIMIT_KEY, 1);
+		try {
+			IFile hiddenFile = TestUtils.createUniqueTestFile(project, "lsptWithMultiRoot", "hidden");
+			IFile visibleFile = TestUtils.createUniqueTestFile(project, "lsptWithMultiRoot", "visible");
+			IEditorPart hiddenEditor = TestUtils.openEditor(hiddenFile);
+			IEditorPart visibleEditor = TestUtils.openEditor(visibleFile);
+
+			LanguageServerWrapper wrapper = LanguageServiceAccessor.getLSWrappers(visibleFile, request -> true).iterator().next();
+			waitForAndAssertCondition(2_000, () -> didOpenCount(wrapper) == 2);
+			// the document of the editor behind the active one is closed, but reopened on next use
+			waitForAndAssertCondition(2_000, () -> didCloseCount(wrapper) == 1);
+			assertTrue(wrapper.isConnectedTo(hiddenFile.getLocationURI()));
+
+			wrapper.connectDocument(LSPEclipseUtils.getDocument(hiddenFile));
+			waitForAndAssertCondition(2_000, () -> didOpenCount(wrapper) == 3);
+
+			TestUtils.closeEditor(visibleEditor, false);
+			TestUtils.closeEditor(hiddenEditor, false);
+		} finally {
+			store.setToDefault(LanguageServerWrapper.OPEN_DOCUMENTS_LIMIT_KEY);
+		}
+	}
+
+	private static long didOpenCount(LanguageServerWrapper wrapper) {
+		final var didOpen = wrapper.getTelemetry().getMethodStatistics("textDocument/didOpen");
+		return didOpen == null ? 0 : didOpen.getCount();
+	}
+
+	private static long didCloseCount(LanguageServerWrapper wrapper) {
+		final var didClose = wrapper.getTelemetry().getMethodStatistics("textDocument/didClose");
+		return didClose == null ? 0 : didClose.getCount();
+	}
+
 	/**
 	 * Check if {@code isActive()} is correctly synchronized with  {@code stop()}
 	 * @see <a href="https://github.com/eclipse-lsp4e/lsp4e/pull/688">GitHub Pull Request #688</a>
@@ -28,6 +28,7 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.Vector;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ForkJoinPool;
@@ -820,4 +821,46 @@ public void testCancellable() throws Exception {
 		DisplayHelper.sleep(viewer.getTextWidget().getDisplay(), 100);
 		assertTrue(DisplayHelper.waitForCondition(display, 3000, () -> !MockConnectionProvider.cancellations.isEmpty()));
 	}
+
+	@Test
+	public void testSupersessionCancelsRequestsForOlderDocumentVersion() throws Exception {
+		IFile testFile = TestUtils.createUniqueTestFile(project, "Here is some content");
+		ITextViewer viewer = TestUtils.openTextViewer(testFile);
+		Display display = viewer.getTextWidget().getDisplay();
+		final IDocument document = viewer.getDocument();
+		MockLanguageServer.INSTANCE.setTimeToProceedQueries(3000);
+		MockConnectionProvider.cancellations.clear();
+
+		CompletableFuture<?> staleRequest = LanguageServers.forDocument(document)
+				.withSupersession("textDocument/references")
+				.collectAll(ls -> ls.getTextDocumentService().references(new ReferenceParams()));
+		DisplayHelper.sleep(display, 500);
+		assertTrue(MockConnectionProvider.cancellations.isEmpty());
+
+		document.replace(0, 0, "Now ");
+		CompletableFuture<?> request = LanguageServers.forDocument(document)
+				.withSupersession("textDocument/references")
+				.collectAll(ls -> ls.getTextDocumentService().references(new ReferenceParams()));
+
+		assertTrue(DisplayHelper.waitForCondition(display, 3000, () -> !MockConnectionProvider.cancellations.isEmpty()));
+		final var ex = assertThrows(CompletionException.class, staleRequest::join);
+		assertTrue(ex.getCause() instanceof CancellationException);
+		request.join();
+	}
+
+	@Test
+	public void testSupersessionDropsResponsesForOlderDocumentVersion() throws Exception {
+		IFile testFile = TestUtils.createUniqueTestFile(project, "Here is some content");
+		ITextViewer viewer = TestUtils.openTextViewer(testFile);
+		final IDocument document = viewer.getDocument();
+		MockLanguageServer.INSTANCE.setTimeToProceedQueries(1000);
+
+		CompletableFuture<?> staleRequest = LanguageServers.forDocument(document)
+				.withSupersession("textDocument/references")
+				.collectAll(ls -> ls.getTextDocumentService().references(new ReferenceParams()));
+		document.replace(0, 0, "Now ");
+
+		final var ex = assertThrows(CompletionException.class, staleRequest::join);
+		assertTrue(ex.getCause() instanceof CancellationException);
+	}
 }
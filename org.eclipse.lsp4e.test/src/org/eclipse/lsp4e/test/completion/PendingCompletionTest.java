@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.completion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.lsp4e.operations.completion.LSCompletionProposal;
+import org.eclipse.lsp4e.operations.completion.PendingCompletion;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4e.tests.mock.MockLanguageServer;
+import org.eclipse.lsp4j.CompletionItemKind;
+import org.eclipse.lsp4j.CompletionList;
+import org.junit.jupiter.api.Test;
+
+public class PendingCompletionTest extends AbstractCompletionTest {
+
+	private PendingCompletion requestAtStart(ITextViewer viewer, boolean incomplete) {
+		MockLanguageServer.INSTANCE.setCompletionList(new CompletionList(incomplete,
+				List.of(createCompletionItemWithoutTextEdit("FirstClass", CompletionItemKind.Class),
+						createCompletionItemWithoutTextEdit("FooClass", CompletionItemKind.Class))));
+		return new PendingCompletion(viewer.getDocument(), 0,
+				CompletableFuture.completedFuture(contentAssistProcessor.computeCompletionProposals(viewer, 0)));
+	}
+
+	private static boolean type(IDocument document, PendingCompletion pending, int offset, String text)
+			throws Exception {
+		final var event = new DocumentEvent(document, offset, 0, text);
+		document.replace(offset, 0, text);
+		return pending.update(event);
+	}
+
+	@Test
+	public void testProposalsAreFilteredWhileTypingTheSameWord() throws Exception {
+		ITextViewer viewer = TestUtils.openTextViewer(TestUtils.createUniqueTestFile(project, ""));
+		IDocument document = viewer.getDocument();
+		PendingCompletion pending = requestAtStart(viewer, false);
+		assertEquals(2, pending.getProposals(document, 0, 1, TimeUnit.SECONDS).length);
+
+		assertTrue(type(document, pending, 0, "Fi"));
+
+		assertTrue(pending.appliesTo(document, 2));
+		LSCompletionProposal[] proposals = pending.getProposals(document, 2, 1, TimeUnit.SECONDS);
+		assertEquals(1, proposals.length);
+		assertEquals("FirstClass", proposals[0].getItem().getLabel());
+		// another document or an offset before the request
+		assertFalse(pending.appliesTo(new Document(document.get()), 2));
+		assertFalse(pending.appliesTo(document, 3));
+	}
+
+	@Test
+	public void testProposalsDoNotApplyAfterAnotherWord() throws Exception {
+		ITextViewer viewer = TestUtils.openTextViewer(TestUtils.createUniqueTestFile(project, ""));
+		IDocument document = viewer.getDocument();
+		PendingCompletion pending = requestAtStart(viewer, false);
+
+		assertTrue(type(document, pending, 0, "Fi"));
+		assertFalse(type(document, pending, 2, " "));
+	}
+
+	@Test
+	public void testIncompleteProposalsOnlyApplyAtTheirOffset() throws Exception {
+		ITextViewer viewer = TestUtils.openTextViewer(TestUtils.createUniqueTestFile(project, ""));
+		IDocument document = viewer.getDocument();
+		PendingCompletion pending = requestAtStart(viewer, true);
+		assertTrue(pending.appliesTo(document, 0));
+		assertEquals(2, pending.getProposals(document, 0, 1, TimeUnit.SECONDS).length);
+
+		assertTrue(type(document, pending, 0, "Fi"));
+
+		// the language servers have to be asked again
+		assertFalse(pending.appliesTo(document, 2));
+		assertNull(pending.getProposals(document, 2, 1, TimeUnit.SECONDS));
+	}
+}
@@ -134,6 +134,7 @@ void changing_breakpoint_condition_replaces_existing_entry() throws Exception {
 			server.calls.clear();
 			bp.setCondition("x > 1");
 			manager.breakpointChanged(bp, null);
+			manager.synchronizeBreakpoints().join();
 
 			SetBreakpointsArguments matching = null;
 			synchronized (server.calls) {
@@ -160,4 +161,46 @@ void changing_breakpoint_condition_replaces_existing_entry() throws Exception {
 			manager.shutdown();
 		}
 	}
+
+	@Test
+	void only_changed_sources_are_resent_once() throws Exception {
+		IFile file1 = TestUtils.createUniqueTestFile(project, "txt", "first line\nsecond line\n");
+		IFile file2 = TestUtils.createUniqueTestFile(project, "txt", "first line\nsecond line\n");
+
+		var bp1 = new DSPLineBreakpoint(file1, 1);
+		var bp2 = new DSPLineBreakpoint(file2, 1);
+		created.add(bp1);
+		created.add(bp2);
+		DebugPlugin.getDefault().getBreakpointManager().addBreakpoints(new IBreakpoint[] { bp1, bp2 });
+
+		var server = new CapturingServer();
+		var manager = new DSPBreakpointManager(DebugPlugin.getDefault().getBreakpointManager(), server, null);
+
+		try {
+			manager.initialize().join();
+			assertEquals(2, server.calls.size(), "Expected one setBreakpoints() call per source");
+
+			// several rapid changes of the same source
+			server.calls.clear();
+			bp1.setCondition("a");
+			manager.breakpointChanged(bp1, null);
+			bp1.setCondition("b");
+			manager.breakpointChanged(bp1, null);
+			manager.synchronizeBreakpoints().join();
+
+			synchronized (server.calls) {
+				assertEquals(1, server.calls.size(), "Expected changes to be coalesced into one request");
+				SetBreakpointsArguments args = server.calls.get(0);
+				assertEquals(file1.getLocation().toOSString(), args.getSource().getPath());
+				assertEquals("b", args.getBreakpoints()[0].getCondition());
+			}
+
+			// re-enabling the breakpoint manager leaves nothing to resend
+			server.calls.clear();
+			manager.breakpointManagerEnablementChanged(true);
+			assertTrue(server.calls.isEmpty(), "Unchanged sources must not be resent");
+		} finally {
+			manager.shutdown();
+		}
+	}
 }
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.debug.debugmodel;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.lsp4e.debug.debugmodel.DSPTraceSink;
+import org.eclipse.lsp4e.debug.debugmodel.TraceInputStream;
+import org.eclipse.lsp4e.debug.debugmodel.TraceOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DSPTraceSinkTest {
+
+	private static String message(String json) {
+		return "Content-Length: " + json.getBytes(UTF_8).length + "\r\n\r\n" + json;
+	}
+
+	@Test
+	public void testMessagesAreFramedAndPassedThrough() throws IOException {
+		final var traced = new ByteArrayOutputStream();
+		final var sent = new ByteArrayOutputStream();
+		String request = message("{\"seq\":1,\"type\":\"request\",\"command\":\"threads\"}");
+		String response = message("{\"seq\":2,\"type\":\"response\",\"command\":\"threads\"}");
+
+		try (var sink = DSPTraceSink.toStream(traced); var channel = sink.openChannel()) {
+			try (var out = new TraceOutputStream(sent, channel)) {
+				byte[] bytes = request.getBytes(UTF_8);
+				// split the message over several writes
+				out.write(bytes, 0, 10);
+				out.write(bytes, 10, bytes.length - 10);
+			}
+			try (var in = new TraceInputStream(new ByteArrayInputStream(response.getBytes(UTF_8)), channel)) {
+				assertEquals(response, new String(in.readAllBytes(), UTF_8));
+			}
+		}
+
+		assertEquals(request, sent.toString(UTF_8));
+		String trace = traced.toString(UTF_8);
+		assertTrue(trace.contains(">> " + "{\"seq\":1,\"type\":\"request\",\"command\":\"threads\"}".length() + " bytes"),
+				trace);
+		assertTrue(trace.contains(request), trace);
+		assertTrue(trace.contains("<< "), trace);
+		assertTrue(trace.contains(response), trace);
+	}
+
+	@Test
+	public void testConcurrentSessionsAreFramedSeparately() throws IOException {
+		final var traced = new ByteArrayOutputStream();
+		String first = message("{\"seq\":1,\"type\":\"event\",\"event\":\"first\"}");
+		String second = message("{\"seq\":1,\"type\":\"event\",\"event\":\"second\"}");
+
+		try (var sink = DSPTraceSink.toStream(traced)) {
+			final var channel1 = sink.openChannel();
+			final var channel2 = sink.openChannel();
+			byte[] bytes1 = first.getBytes(UTF_8);
+			byte[] bytes2 = second.getBytes(UTF_8);
+			// interleave the chunks of both sessions
+			channel1.trace(DSPTraceSink.Direction.IN, bytes1, 0, 10);
+			channel2.trace(DSPTraceSink.Direction.IN, bytes2, 0, 10);
+			channel1.trace(DSPTraceSink.Direction.IN, bytes1, 10, bytes1.length - 10);
+			channel2.trace(DSPTraceSink.Direction.IN, bytes2, 10, bytes2.length - 10);
+		}
+
+		String trace = traced.toString(UTF_8);
+		assertTrue(trace.contains(first), trace);
+		assertTrue(trace.contains(second), trace);
+		assertFalse(trace.contains("incomplete"), trace);
+	}
+
+	@Test
+	public void testRotatingFile(@TempDir Path dir) throws IOException {
+		Path file = dir.resolve("trace.log");
+		String msg = message("{\"seq\":1,\"type\":\"event\",\"event\":\"output\"}");
+		try (var sink = DSPTraceSink.toRotatingFile(file, 100, 3)) {
+			final var channel = sink.openChannel();
+			for (int i = 0; i < 10; i++) {
+				byte[] bytes = msg.getBytes(UTF_8);
+				channel.trace(DSPTraceSink.Direction.IN, bytes, 0, bytes.length);
+			}
+		}
+		assertTrue(Files.exists(file));
+		assertTrue(Files.exists(dir.resolve("trace.log.1")));
+		assertTrue(Files.exists(dir.resolve("trace.log.2")));
+		assertFalse(Files.exists(dir.resolve("trace.log.3")));
+	}
+}
@@ -31,12 +31,16 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
 
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -45,6 +49,7 @@
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.lsp4e.LSPEclipseUtils;
@@ -65,6 +70,7 @@
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.WorkspaceFolder;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.ui.IEditorPart;
@@ -130,6 +136,27 @@ public void testWorkspaceEditMultipleChanges() throws Exception {
 				editor.getDocumentProvider().getDocument(editor.getEditorInput()).get());
 	}
 
+	@Test
+	public void testWorkspaceEditOnClosedFilesCanBeUndone() throws Exception {
+		IFile f1 = TestUtils.createFile(project, "closed1", "Here\r\nHere2");
+		IFile f2 = TestUtils.createFile(project, "closed2", "Here");
+		final var workspaceEdit = new WorkspaceEdit(Map.of( //
+				LSPEclipseUtils.toUri(f1).toString(), List.of( //
+						new TextEdit(new Range(new Position(1, 0), new Position(1, 4)), "There"),
+						new TextEdit(new Range(new Position(0, 0), new Position(0, 0)), "a\n")),
+				LSPEclipseUtils.toUri(f2).toString(), List.of( //
+						new TextEdit(new Range(new Position(0, 4), new Position(0, 4)), "!"))));
+		LSPEclipseUtils.applyWorkspaceEdit(workspaceEdit);
+		assertEquals("a\r\nHere\r\nThere2", readContent(f1));
+		assertEquals("Here!", readContent(f2));
+		// no buffer was created for the closed files
+		assertNull(FileBuffers.getTextFileBufferManager().getTextFileBuffer(f1.getFullPath(), LocationKind.IFILE));
+
+		RefactoringCore.getUndoManager().performUndo(null, new NullProgressMonitor());
+		assertEquals("Here\r\nHere2", readContent(f1));
+		assertEquals("Here", readContent(f2));
+	}
+
 	@Test
 	public void testWorkspaceEdit_CreateAndPopulateFile() throws Exception {
 		IFile file = project.getFile("test-file.test");
@@ -280,6 +307,25 @@ public void testTextEditInsertSameOffset() throws Exception {
 		assertEquals(" throws Exception", document.get());
 	}
 
+	@Test
+	public void testManyTextEdits() throws Exception {
+		final var original = new StringBuilder();
+		final var expected = new StringBuilder();
+		final var edits = new ArrayList<TextEdit>();
+		for (int line = 0; line < 1000; line++) {
+			original.append("a  b\r\n");
+			expected.append("a b;\r\n\r\n");
+			edits.add(new TextEdit(new Range(new Position(line, 1), new Position(line, 3)), " "));
+			edits.add(new TextEdit(new Range(new Position(line, 4), new Position(line, 4)), ";\n"));
+		}
+		// unchanged
+		edits.add(new TextEdit(new Range(new Position(0, 0), new Position(0, 1)), "a"));
+		Collections.reverse(edits);
+		final var document = new Document(original.toString());
+		LSPEclipseUtils.applyEdits(document, edits);
+		assertEquals(expected.toString(), document.get());
+	}
+
 	@Test
 	public void testTextEditSplittedLineEndings() throws Exception {
 		IFile file = TestUtils.createUniqueTestFile(project, "line1\r\nline2\r\nline3\r\n");
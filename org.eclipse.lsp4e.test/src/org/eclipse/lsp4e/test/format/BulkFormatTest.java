@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.lsp4e.operations.format.LSPBulkFormatter;
+import org.eclipse.lsp4e.operations.format.LSPBulkFormatter.FileResult;
+import org.eclipse.lsp4e.operations.format.LSPFormatFilesHandler;
+import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
+import org.eclipse.lsp4e.test.utils.TestUtils;
+import org.eclipse.lsp4e.tests.mock.MockLanguageServer;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.junit.jupiter.api.Test;
+
+public class BulkFormatTest extends AbstractTestWithProject {
+
+	@Test
+	public void testFormatManyFiles() throws Exception {
+		MockLanguageServer.INSTANCE.setFormattingTextEdits(
+				List.of(new TextEdit(new Range(new Position(0, 0), new Position(0, 0)), "// "))); //$NON-NLS-1$
+
+		final var files = new ArrayList<IFile>();
+		for (int i = 0; i < 50; i++) {
+			files.add(TestUtils.createUniqueTestFile(project, "line" + i + "\n")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		files.add(TestUtils.createUniqueTestFileOfUnknownType(project, "unknown\n")); //$NON-NLS-1$
+
+		// the edits are applied in the UI thread, so format from another one
+		final var formatter = new LSPBulkFormatter(new LSPFormatFilesHandler());
+		final CompletableFuture<List<FileResult>> future = CompletableFuture
+				.supplyAsync(() -> formatter.format(files, new NullProgressMonitor()));
+		TestUtils.waitForAndAssertCondition(10_000, () -> future.isDone());
+
+		final List<FileResult> results = future.get();
+		// no language server for the last file
+		assertEquals(50, results.size());
+		for (final FileResult result : results) {
+			assertNull(result.error());
+		}
+		for (int i = 0; i < 50; i++) {
+			assertEquals("// line" + i + "\n", read(files.get(i))); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		assertEquals("unknown\n", read(files.get(50))); //$NON-NLS-1$
+	}
+
+	private static String read(IFile file) throws Exception {
+		try (InputStream in = file.getContents(true)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -101,6 +101,33 @@ public void testHoverInfo() throws Exception {
 		assertTrue(html.contains("HoverContent"));
 	}
 
+	@Test
+	public void testHoverCachedForRange() throws Exception {
+		MockLanguageServer.INSTANCE.setHover(new Hover(List.of(Either.forLeft("HoverContent")),
+				new Range(new Position(0, 0), new Position(0, 10))));
+
+		IFile file = TestUtils.createUniqueTestFile(project, "HoverRange Other Text");
+		ITextViewer viewer = TestUtils.openTextViewer(file);
+		assertTrue(hover.getHoverInfoFuture(viewer, new Region(0, 10)).get(2, TimeUnit.SECONDS)
+				.contains("HoverContent"));
+
+		MockLanguageServer.INSTANCE.setHover(new Hover(List.of(Either.forLeft("OtherContent")),
+				new Range(new Position(0, 0), new Position(0, 10))));
+
+		// another offset within the range of the first hover is answered from the cache
+		String html = new LSPTextHover().getHoverInfoFuture(viewer, new Region(7, 0)).get(2, TimeUnit.SECONDS);
+		assertTrue(html.contains("HoverContent"));
+
+		// the end of the range is excluded
+		html = new LSPTextHover().getHoverInfoFuture(viewer, new Region(10, 0)).get(2, TimeUnit.SECONDS);
+		assertTrue(html.contains("OtherContent"));
+
+		// until the document changes
+		viewer.getDocument().replace(0, 0, " ");
+		html = new LSPTextHover().getHoverInfoFuture(viewer, new Region(7, 0)).get(2, TimeUnit.SECONDS);
+		assertTrue(html.contains("OtherContent"));
+	}
+
 	@Test
 	public void testHoverInfoEmptyContentList() throws CoreException {
 		final var hoverResponse = new Hover(Collections.emptyList(),
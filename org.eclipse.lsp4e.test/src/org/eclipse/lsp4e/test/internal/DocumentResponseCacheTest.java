@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.lsp4e.internal.DocumentResponseCache;
+import org.junit.jupiter.api.Test;
+
+public class DocumentResponseCacheTest {
+
+	private static final URI URI_A = URI.create("file:///a.txt");
+	private static final URI URI_B = URI.create("file:///b.txt");
+
+	private final DocumentResponseCache cache = new DocumentResponseCache();
+	private final AtomicInteger sent = new AtomicInteger();
+	private CompletableFuture<String> lastRequest = new CompletableFuture<>();
+
+	private CompletableFuture<String> get(URI uri, long version, Object params) {
+		return cache.get("textDocument/documentSymbol", uri, version, params, () -> {
+			sent.incrementAndGet();
+			return lastRequest = new CompletableFuture<>();
+		});
+	}
+
+	@Test
+	public void testIdenticalRequestsAreShared() {
+		final CompletableFuture<String> first = get(URI_A, 1, List.of("params"));
+		final CompletableFuture<String> second = get(URI_A, 1, List.of("params"));
+		lastRequest.complete("symbols");
+
+		assertEquals(1, sent.get());
+		assertEquals("symbols", first.join());
+		assertEquals("symbols", second.join());
+		assertEquals("symbols", get(URI_A, 1, List.of("params")).join());
+		assertEquals(1, sent.get());
+	}
+
+	@Test
+	public void testDifferentRequestsAreNotShared() {
+		get(URI_A, 1, "params");
+		get(URI_A, 2, "params");
+		get(URI_A, 2, "other params");
+		get(URI_B, 2, "params");
+
+		assertEquals(4, sent.get());
+	}
+
+	@Test
+	public void testInvalidate() {
+		get(URI_A, 1, "params");
+		lastRequest.complete("symbols");
+		get(URI_B, 1, "params");
+		cache.invalidate(URI_A);
+		get(URI_A, 1, "params");
+		get(URI_B, 1, "params");
+
+		assertEquals(3, sent.get());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedResponsesAreDropped() {
+		get(URI_A, 1, "first");
+		lastRequest.complete("symbols");
+		get(URI_B, 1, "other document");
+		for (int i = 1; i < DocumentResponseCache.MAX_RESPONSES_PER_DOCUMENT; i++) {
+			get(URI_A, 1, "position " + i);
+		}
+		// still kept, and now the most recently used
+		assertEquals("symbols", get(URI_A, 1, "first").join());
+		get(URI_A, 1, "position " + DocumentResponseCache.MAX_RESPONSES_PER_DOCUMENT);
+		assertEquals(DocumentResponseCache.MAX_RESPONSES_PER_DOCUMENT + 2, sent.get());
+
+		get(URI_A, 1, "first");
+		get(URI_B, 1, "other document");
+		assertEquals(DocumentResponseCache.MAX_RESPONSES_PER_DOCUMENT + 2, sent.get());
+
+		get(URI_A, 1, "position 1");
+		assertEquals(DocumentResponseCache.MAX_RESPONSES_PER_DOCUMENT + 3, sent.get());
+	}
+
+	@Test
+	public void testFailedRequestsAreNotKept() {
+		final CompletableFuture<String> first = get(URI_A, 1, "params");
+		lastRequest.completeExceptionally(new IllegalStateException());
+		assertTrue(first.isCompletedExceptionally());
+
+		get(URI_A, 1, "params");
+		assertEquals(2, sent.get());
+	}
+
+	@Test
+	public void testRequestIsCancelledWhenAllCallersCancelled() {
+		final CompletableFuture<String> first = get(URI_A, 1, "params");
+		final CompletableFuture<String> second = get(URI_A, 1, "params");
+		final CompletableFuture<String> request = lastRequest;
+
+		first.cancel(true);
+		assertFalse(request.isCancelled());
+		assertFalse(second.isDone());
+
+		second.cancel(true);
+		assertTrue(request.isCancelled());
+
+		get(URI_A, 1, "params");
+		assertEquals(2, sent.get());
+	}
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.eclipse.lsp4e.internal.FlightRecorderEvents;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderEventsTest {
+
+	private static List<RecordedEvent> record(Runnable emitter, String... enabledEvents) throws Exception {
+		final Path file = Files.createTempFile("lsp4e", ".jfr");
+		try (var recording = new Recording()) {
+			for (String event : enabledEvents) {
+				recording.enable(event);
+			}
+			recording.start();
+			emitter.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().startsWith("org.eclipse.lsp4e.")).toList();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testEventsAreEmittedWhenEnabled() throws Exception {
+		final var notification = new NotificationMessage();
+		notification.setMethod("textDocument/didSave");
+
+		final List<RecordedEvent> events = record(() -> {
+			final long start = System.nanoTime();
+			FlightRecorderEvents.message("server", notification.getMethod(), notification, true, 42, start);
+			FlightRecorderEvents.request("server", "textDocument/hover", true, "success", 5_000_000);
+		}, "org.eclipse.lsp4e.Message", "org.eclipse.lsp4e.Request");
+
+		assertEquals(2, events.size());
+		final RecordedEvent message = events.stream()
+				.filter(event -> event.getEventType().getName().equals("org.eclipse.lsp4e.Message")).findFirst()
+				.orElseThrow();
+		assertEquals("textDocument/didSave", message.getString("method"));
+		assertEquals("notification", message.getString("kind"));
+		assertTrue(message.getBoolean("sent"));
+		assertEquals(42, message.getLong("size"));
+		final RecordedEvent request = events.stream()
+				.filter(event -> event.getEventType().getName().equals("org.eclipse.lsp4e.Request")).findFirst()
+				.orElseThrow();
+		assertEquals("textDocument/hover", request.getString("method"));
+		assertEquals("success", request.getString("outcome"));
+		assertEquals(Duration.ofMillis(5), request.getDuration("elapsed"));
+	}
+
+	@Test
+	public void testEventsAreDisabledByDefault() throws Exception {
+		final List<RecordedEvent> events = record(() -> FlightRecorderEvents.request("server", "textDocument/hover",
+				true, "success", 5_000_000));
+
+		assertTrue(events.isEmpty());
+	}
+
+	@Test
+	public void testEnablementIsReported() throws Exception {
+		assertFalse(FlightRecorderEvents.isDiagnosticsToMarkersEnabled());
+
+		final var enabled = new boolean[2];
+		record(() -> {
+			enabled[0] = FlightRecorderEvents.isDiagnosticsToMarkersEnabled();
+			enabled[1] = FlightRecorderEvents.isSemanticTokensReconcileEnabled();
+		}, "org.eclipse.lsp4e.DiagnosticsToMarkers");
+
+		assertTrue(enabled[0]);
+		assertFalse(enabled[1]);
+	}
+}
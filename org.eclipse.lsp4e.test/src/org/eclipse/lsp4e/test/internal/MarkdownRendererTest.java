@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4e.internal.MarkdownRenderer;
+import org.junit.jupiter.api.Test;
+
+public class MarkdownRendererTest {
+
+	@Test
+	public void rendered_html_is_cached() {
+		final String markdown = "# Title " + System.nanoTime() + "\n\nSome *text*"; //$NON-NLS-1$ //$NON-NLS-2$
+		final String html = MarkdownRenderer.render(markdown);
+
+		assertTrue(html.contains("<h1>Title")); //$NON-NLS-1$
+		assertTrue(html.contains("<em>text</em>")); //$NON-NLS-1$
+		assertSame(html, MarkdownRenderer.render(new String(markdown)));
+	}
+
+	@Test
+	public void short_text_is_rendered_right_away() {
+		final CompletableFuture<String> future = MarkdownRenderer.renderAsync("`code`"); //$NON-NLS-1$
+
+		assertTrue(future.isDone());
+		assertEquals("<p><code>code</code></p>\n", future.join()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void long_text_is_rendered_in_background() throws Exception {
+		final String markdown = "# Title\n\n" + "Some *text* ".repeat(10_000); //$NON-NLS-1$ //$NON-NLS-2$
+
+		final String html = MarkdownRenderer.renderAsync(markdown).get(10, TimeUnit.SECONDS);
+
+		assertEquals(MarkdownRenderer.render(markdown), html);
+		// once rendered, it is answered from the cache
+		assertTrue(MarkdownRenderer.renderAsync(markdown).isDone());
+	}
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4e.internal.MessageFramingOutputStream;
+import org.junit.jupiter.api.Test;
+
+public class MessageFramingOutputStreamTest {
+
+	/** records each write call to the underlying stream */
+	private static final class RecordingOutputStream extends ByteArrayOutputStream {
+		final List<String> writes = new ArrayList<>();
+		byte[] lastWrittenArray = new byte[0];
+		int flushes;
+
+		@Override
+		public synchronized void write(int b) {
+			writes.add(String.valueOf((char) b));
+			super.write(b);
+		}
+
+		@Override
+		public synchronized void write(byte[] b, int off, int len) {
+			writes.add(new String(b, off, len, UTF_8));
+			lastWrittenArray = b;
+			super.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			flushes++;
+		}
+	}
+
+	private static String header(String content) {
+		return "Content-Length: " + content.getBytes(UTF_8).length + "\r\n\r\n";
+	}
+
+	@Test
+	public void testHeaderAndContentAreFlushedOnce() throws IOException {
+		final var target = new RecordingOutputStream();
+		final var out = new MessageFramingOutputStream(target);
+		String content = "{\"jsonrpc\":\"2.0\",\"method\":\"initialized\",\"params\":{}}";
+
+		// this is how LSP4J's StreamMessageConsumer writes a message
+		out.write(header(content).getBytes(UTF_8));
+		assertEquals(0, target.flushes);
+		out.write(content.getBytes(UTF_8));
+		out.flush();
+
+		assertEquals(List.of(header(content), content), target.writes);
+		assertEquals(1, target.flushes);
+
+		MessageFramingOutputStream.Statistics stats = out.getStatistics();
+		assertEquals(1, stats.messages());
+		assertEquals((header(content) + content).getBytes(UTF_8).length, stats.bytes());
+	}
+
+	@Test
+	public void testFlushInTheMiddleOfAMessageIsDeferred() throws IOException {
+		final var target = new RecordingOutputStream();
+		final var out = new MessageFramingOutputStream(target);
+		String content = "{\"jsonrpc\":\"2.0\",\"method\":\"exit\"}";
+		String message = header(content) + content;
+
+		out.write(message.substring(0, message.length() - 5).getBytes(UTF_8));
+		out.flush();
+		assertEquals(0, target.flushes);
+		out.write(message.substring(message.length() - 5).getBytes(UTF_8));
+		assertEquals(message, target.toString(UTF_8));
+		assertEquals(1, target.flushes);
+	}
+
+	@Test
+	public void testContentIsNotCopied() throws IOException {
+		final var target = new RecordingOutputStream();
+		final var out = new MessageFramingOutputStream(target);
+		String content = "{\"text\":\"" + "x".repeat(1024 * 1024) + "\"}";
+		byte[] contentBytes = content.getBytes(UTF_8);
+
+		out.write(header(content).getBytes(UTF_8));
+		out.write(contentBytes);
+		out.flush();
+
+		assertSame(contentBytes, target.lastWrittenArray);
+		assertEquals(header(content) + content, target.toString(UTF_8));
+		assertEquals(1, target.flushes);
+		assertEquals(contentBytes.length, out.getStatistics().maxMessageBytes() - header(content).length());
+	}
+
+	@Test
+	public void testSeveralMessagesInOneWrite() throws IOException {
+		final var target = new RecordingOutputStream();
+		final var out = new MessageFramingOutputStream(target);
+		String content1 = "{\"id\":1}";
+		String content2 = "{\"id\":\"äöü\"}";
+		String message1 = header(content1) + content1;
+		String message2 = header(content2) + content2;
+
+		out.write((message1 + message2).getBytes(UTF_8));
+		assertEquals(List.of(message1, message2), target.writes);
+		assertEquals(2, out.getStatistics().messages());
+	}
+
+	@Test
+	public void testUnframedDataIsWrittenOnFlush() throws IOException {
+		final var target = new RecordingOutputStream();
+		final var out = new MessageFramingOutputStream(target);
+
+		out.write("not a LSP message".getBytes(UTF_8));
+		assertEquals(0, target.writes.size());
+		out.flush();
+		assertEquals(List.of("not a LSP message"), target.writes);
+	}
+}
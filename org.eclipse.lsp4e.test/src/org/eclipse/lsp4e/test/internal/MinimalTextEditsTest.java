@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.Position;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.internal.MinimalTextEdits;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+import org.junit.jupiter.api.Test;
+
+public class MinimalTextEditsTest {
+
+	private static final String ORIGINAL = """
+			class A {
+			void a() {
+			  return;
+			}
+
+			void b() {
+			  return;
+			}
+			}
+			"""; //$NON-NLS-1$
+
+	private static final String FORMATTED = """
+			class A {
+				void a() {
+				  return;
+				}
+
+				void b() {
+				  return;
+				}
+			}
+			"""; //$NON-NLS-1$
+
+	private static TextEdit replaceAll(String text, String newText) {
+		return new TextEdit(new Range(new org.eclipse.lsp4j.Position(0, 0),
+				new org.eclipse.lsp4j.Position(text.split("\n", -1).length - 1, 0)), newText); //$NON-NLS-1$
+	}
+
+	@Test
+	public void small_edits_are_kept() {
+		final var document = new Document(ORIGINAL);
+		final List<TextEdit> edits = List.of(new TextEdit(
+				new Range(new org.eclipse.lsp4j.Position(1, 0), new org.eclipse.lsp4j.Position(1, 0)), "\t")); //$NON-NLS-1$
+		assertSame(edits, MinimalTextEdits.minimize(document, edits));
+	}
+
+	@Test
+	public void whole_document_replacement_is_split() throws Exception {
+		final var document = new Document(ORIGINAL);
+		final List<? extends TextEdit> edits = MinimalTextEdits.minimize(document,
+				List.of(replaceAll(ORIGINAL, FORMATTED)));
+
+		// only the indentation of the 6 changed lines is inserted
+		assertEquals(6, edits.size());
+		for (final TextEdit edit : edits) {
+			assertEquals(edit.getRange().getStart(), edit.getRange().getEnd());
+			assertEquals("\t", edit.getNewText()); //$NON-NLS-1$
+		}
+		LSPEclipseUtils.applyEdits(document, edits);
+		assertEquals(FORMATTED, document.get());
+	}
+
+	@Test
+	public void positions_in_unchanged_lines_are_kept() throws Exception {
+		final var document = new Document(ORIGINAL);
+		final int offset = ORIGINAL.indexOf("return"); //$NON-NLS-1$
+		final var position = new Position(offset, "return".length()); //$NON-NLS-1$
+		document.addPosition(position);
+
+		LSPEclipseUtils.applyEdits(document,
+				MinimalTextEdits.minimize(document, List.of(replaceAll(ORIGINAL, FORMATTED))));
+
+		assertEquals(FORMATTED, document.get());
+		assertEquals(FORMATTED.indexOf("return"), position.getOffset()); //$NON-NLS-1$
+		assertEquals("return".length(), position.getLength()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void inserted_and_deleted_lines() throws Exception {
+		final String newText = ORIGINAL.replace("void a() {\n  return;\n}\n\n", "") //$NON-NLS-1$ //$NON-NLS-2$
+				+ "// end\n"; //$NON-NLS-1$
+		final var document = new Document(ORIGINAL);
+		final List<? extends TextEdit> edits = MinimalTextEdits.minimize(document,
+				List.of(replaceAll(ORIGINAL, newText)));
+
+		assertEquals(2, edits.size());
+		LSPEclipseUtils.applyEdits(document, edits);
+		assertEquals(newText, document.get());
+	}
+
+	@Test
+	public void line_feeds_are_matched_with_crlf_delimiters() throws Exception {
+		final String original = ORIGINAL.replace("\n", "\r\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		final var document = new Document(original);
+		final List<? extends TextEdit> edits = MinimalTextEdits.minimize(document,
+				List.of(replaceAll(original, FORMATTED)));
+
+		assertEquals(6, edits.size());
+		LSPEclipseUtils.applyEdits(document, edits);
+		assertEquals(FORMATTED.replace("\n", "\r\n"), document.get()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
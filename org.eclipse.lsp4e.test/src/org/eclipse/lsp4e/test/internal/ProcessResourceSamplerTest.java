@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.eclipse.lsp4e.internal.ProcessResourceSampler;
+import org.eclipse.lsp4e.telemetry.ProcessResourceUsage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ProcessResourceSamplerTest {
+
+	@TempDir
+	Path procDirectory;
+
+	@Test
+	public void rss_is_parsed_from_status() {
+		assertEquals(2048 * 1024, ProcessResourceSampler.parseRssBytes("Name:\tjava\nVmPeak:\t 9999 kB\nVmRSS:\t    2048 kB\nThreads:\t12\n")); //$NON-NLS-1$
+		assertEquals(-1, ProcessResourceSampler.parseRssBytes("Name:\tkthreadd\nThreads:\t1\n")); //$NON-NLS-1$
+		assertEquals(-1, ProcessResourceSampler.parseRssBytes("VmRSS:\tmany kB\n")); //$NON-NLS-1$
+		assertEquals(-1, ProcessResourceSampler.parseRssBytes(null));
+	}
+
+	@Test
+	public void process_tree_is_sampled() throws Exception {
+		final ProcessHandle process = ProcessHandle.current();
+		for (final ProcessHandle handle : (Iterable<ProcessHandle>) Stream.concat(Stream.of(process),
+				process.descendants())::iterator) {
+			final Path status = procDirectory.resolve(Long.toString(handle.pid())).resolve("status"); //$NON-NLS-1$
+			Files.createDirectories(status.getParent());
+			Files.writeString(status, "VmRSS:\t1024 kB\n"); //$NON-NLS-1$
+		}
+		final var sampler = new ProcessResourceSampler(procDirectory);
+
+		final ProcessResourceUsage first = sampler.sample(process);
+		assertTrue(first.processCount() >= 1);
+		assertEquals(1024 * 1024 * first.processCount(), first.rssBytes());
+		// no previous sample to compare the CPU time with
+		assertEquals(-1, first.cpuPercent());
+
+		Thread.sleep(10);
+		assertTrue(sampler.sample(process).cpuPercent() >= 0);
+	}
+
+	@Test
+	public void rss_is_unknown_without_proc() {
+		final ProcessResourceUsage usage = new ProcessResourceSampler(procDirectory.resolve("missing")) //$NON-NLS-1$
+				.sample(ProcessHandle.current());
+		assertEquals(-1, usage.rssBytes());
+		assertEquals(-1, usage.rssMegaBytes());
+	}
+}
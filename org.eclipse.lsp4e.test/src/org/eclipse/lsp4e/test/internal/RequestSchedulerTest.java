@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.lsp4e.RequestPriority;
+import org.eclipse.lsp4e.internal.RequestScheduler;
+import org.junit.jupiter.api.Test;
+
+public class RequestSchedulerTest {
+
+	private final Queue<Runnable> workerQueue = new ArrayDeque<>();
+	private final RequestScheduler scheduler = new RequestScheduler(workerQueue::add);
+	private final List<String> executed = new ArrayList<>();
+
+	private void submit(String name, RequestPriority priority) {
+		scheduler.withPriority(priority).execute(() -> executed.add(name));
+	}
+
+	private void notify(String name) {
+		scheduler.execute(() -> executed.add(name));
+	}
+
+	private void runWorker() {
+		Runnable task;
+		while ((task = workerQueue.poll()) != null) {
+			task.run();
+		}
+	}
+
+	@Test
+	public void testInteractiveRequestOvertakesBackgroundRequests() {
+		submit("codeLens", RequestPriority.BACKGROUND);
+		submit("inlayHint", RequestPriority.BACKGROUND);
+		submit("documentHighlight", RequestPriority.NORMAL);
+		submit("completion", RequestPriority.INTERACTIVE);
+		runWorker();
+
+		assertEquals(List.of("completion", "documentHighlight", "codeLens", "inlayHint"), executed);
+	}
+
+	@Test
+	public void testNotificationsAreBarriers() {
+		submit("codeLens", RequestPriority.BACKGROUND);
+		notify("didChange");
+		submit("semanticTokens", RequestPriority.BACKGROUND);
+		submit("hover", RequestPriority.INTERACTIVE);
+		notify("didSave");
+		notify("didClose");
+		submit("completion", RequestPriority.INTERACTIVE);
+		runWorker();
+
+		assertEquals(List.of("codeLens", "didChange", "hover", "semanticTokens", "didSave", "didClose", "completion"),
+				executed);
+	}
+
+	@Test
+	public void testTasksSubmittedWhileRunning() {
+		submit("codeLens", RequestPriority.BACKGROUND);
+		scheduler.withPriority(RequestPriority.BACKGROUND).execute(() -> {
+			executed.add("foldingRange");
+			submit("hover", RequestPriority.INTERACTIVE);
+		});
+		submit("inlayHint", RequestPriority.BACKGROUND);
+		runWorker();
+
+		assertEquals(List.of("codeLens", "foldingRange", "hover", "inlayHint"), executed);
+	}
+
+	@Test
+	public void testRejectedTaskIsNotRun() {
+		final var rejectingScheduler = new RequestScheduler(task -> {
+			throw new RejectedExecutionException();
+		});
+		assertThrows(RejectedExecutionException.class,
+				() -> rejectingScheduler.withPriority(RequestPriority.NORMAL).execute(() -> executed.add("hover")));
+		assertThrows(RejectedExecutionException.class, () -> rejectingScheduler.execute(() -> executed.add("didOpen")));
+
+		assertEquals(List.of(), executed);
+	}
+}
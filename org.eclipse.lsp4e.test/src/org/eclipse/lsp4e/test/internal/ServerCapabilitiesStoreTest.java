@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4e.internal.ServerCapabilitiesStore;
+import org.eclipse.lsp4j.CompletionOptions;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ServerCapabilitiesStoreTest {
+
+	@TempDir
+	Path directory;
+
+	private static ServerCapabilities capabilities(String... triggerCharacters) {
+		final var capabilities = new ServerCapabilities();
+		capabilities.setCompletionProvider(new CompletionOptions(false, List.of(triggerCharacters)));
+		capabilities.setHoverProvider(true);
+		return capabilities;
+	}
+
+	@Test
+	public void capabilities_are_persisted_across_sessions() throws Exception {
+		final var store = new ServerCapabilitiesStore(directory);
+		assertNull(store.load("org.example/server 1"));
+		store.save("org.example/server 1", capabilities(".")).get(5, TimeUnit.SECONDS);
+
+		final ServerCapabilities loaded = new ServerCapabilitiesStore(directory).load("org.example/server 1");
+		assertNotNull(loaded);
+		assertEquals(List.of("."), loaded.getCompletionProvider().getTriggerCharacters());
+		assertTrue(loaded.getHoverProvider().getLeft());
+		assertNull(new ServerCapabilitiesStore(directory).load("org.example/server 2"));
+	}
+
+	@Test
+	public void saved_capabilities_are_a_snapshot() {
+		final var store = new ServerCapabilitiesStore(null);
+		final ServerCapabilities capabilities = capabilities(".");
+		store.save("server", capabilities);
+		// e.g. a dynamic registration
+		capabilities.setCompletionProvider(null);
+		final ServerCapabilities loaded = store.load("server");
+		assertNotNull(loaded);
+		assertNotNull(loaded.getCompletionProvider());
+	}
+
+	@Test
+	public void latest_capabilities_win() throws Exception {
+		final var store = new ServerCapabilitiesStore(directory);
+		store.save("server", capabilities(".")).get(5, TimeUnit.SECONDS);
+		store.save("server", capabilities(":")).get(5, TimeUnit.SECONDS);
+		final ServerCapabilities loaded = new ServerCapabilitiesStore(directory).load("server");
+		assertNotNull(loaded);
+		assertEquals(List.of(":"), loaded.getCompletionProvider().getTriggerCharacters());
+	}
+
+	@Test
+	public void corrupt_file_is_ignored() throws Exception {
+		Files.writeString(directory.resolve("server.json"), "{ not json");
+		assertNull(new ServerCapabilitiesStore(directory).load("server"));
+	}
+}
@@ -124,4 +124,29 @@ void computesNewUriFromDestinationPath() throws Exception {
 		assertEquals(oldUri.toString(), ws.getLastWillRename().getFiles().get(0).getOldUri());
 		assertEquals(expectedNewUri.toString(), ws.getLastWillRename().getFiles().get(0).getNewUri());
 	}
+
+	@Test
+	void sendsOneRequestForAllMovedFiles() throws Exception {
+		IFile file1 = TestUtils.createUniqueTestFile(project, "content1");
+		IFile file2 = TestUtils.createUniqueTestFile(project, "content2");
+		TestUtils.openTextViewer(file1); // start LS
+		assertTrue(LanguageServers.forProject(project).anyMatching());
+
+		IFolder dest = project.getFolder("destMany");
+		if (!dest.exists()) {
+			dest.create(true, true, null);
+		}
+
+		var participant = new TestableMoveParticipant();
+		participant.setArgs(new MoveArguments(dest, false));
+		assertTrue(participant.initialize(file1));
+		participant.addElement(file2, new MoveArguments(dest, false));
+		participant.createPreChange(new NullProgressMonitor());
+
+		MockWorkspaceService ws = MockLanguageServer.INSTANCE.getWorkspaceService();
+		assertNotNull(ws.getLastWillRename());
+		assertEquals(2, ws.getLastWillRename().getFiles().size());
+		assertEquals(LSPEclipseUtils.toUri(file1).toString(), ws.getLastWillRename().getFiles().get(0).getOldUri());
+		assertEquals(LSPEclipseUtils.toUri(file2).toString(), ws.getLastWillRename().getFiles().get(1).getOldUri());
+	}
 }
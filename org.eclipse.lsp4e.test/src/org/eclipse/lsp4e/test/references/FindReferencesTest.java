@@ -16,6 +16,7 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -26,8 +27,12 @@
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.internal.Pair;
 import org.eclipse.lsp4e.operations.references.LSFindReferences;
+import org.eclipse.lsp4e.operations.references.LSSearchQuery;
 import org.eclipse.lsp4e.operations.references.LSSearchResult;
 import org.eclipse.lsp4e.test.utils.AbstractTestWithProject;
 import org.eclipse.lsp4e.test.utils.TestUtils;
@@ -40,6 +45,7 @@
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.search.ui.text.Match;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.monitoring.EventLoopMonitorThread;
 import org.eclipse.ui.monitoring.IUiFreezeEventLogger;
@@ -70,11 +76,13 @@ public void log(UiFreezeEvent event) {
 		}
 	}
 
+	private IFile testFile;
+
 	@BeforeEach
 	public void setUp() throws Exception {
 		ensureSearchResultViewIsClosed();
 
-		final var testFile = TestUtils.createUniqueTestFile(project, "word1 word2\nword3 word2");
+		testFile = TestUtils.createUniqueTestFile(project, "word1 word2\nword3 word2");
 		var textViewer = TestUtils.openTextViewer(testFile);
 		DisplayHelper.sleep(textViewer.getTextWidget().getDisplay(), 2_000); // Give some time to the editor to update
 		MockLanguageServer.INSTANCE.getTextDocumentService().setMockReferences(
@@ -97,6 +105,34 @@ public void testFindReferences() throws Exception {
 		waitForAndAssertSearchResult(searchResultListener, 0, 2_000);
 	}
 
+	@Test
+	public void testFindReferencesInClosedFile() throws Exception {
+		final IFile otherFile = TestUtils.createUniqueTestFile(project, "a b\r\nb a b\nb");
+		final String uri = otherFile.getLocationURI().toString();
+		MockLanguageServer.INSTANCE.getTextDocumentService().setMockReferences(
+				new Location(uri, new Range(new Position(0, 2), new Position(0, 3))),
+				new Location(uri, new Range(new Position(1, 0), new Position(1, 1))),
+				new Location(uri, new Range(new Position(1, 4), new Position(1, 5))),
+				new Location(uri, new Range(new Position(2, 0), new Position(2, 1))));
+
+		final var query = new LSSearchQuery(0, LSPEclipseUtils.getDocument(testFile));
+		assertTrue(query.run(new NullProgressMonitor()).isOK());
+
+		final Match[] matches = query.getSearchResult().getMatches(otherFile);
+		assertEquals(4, matches.length);
+		final int[] offsets = { 2, 5, 9, 11 };
+		final int[] lines = { 1, 2, 2, 3 };
+		for (int i = 0; i < matches.length; i++) {
+			final var match = (FileMatch) matches[i];
+			assertEquals(offsets[i], match.getOffset());
+			assertEquals(1, match.getLength());
+			assertEquals(lines[i], match.getLineElement().getLine());
+		}
+		assertEquals("b a b", ((FileMatch) matches[1]).getLineElement().getContents());
+		// matches on the same line share their line element
+		assertSame(((FileMatch) matches[1]).getLineElement(), ((FileMatch) matches[2]).getLineElement());
+	}
+
 	@Test
 	public void testFindReferencesIsNonBlocking() throws Exception {
 		final int uiFreezeThreshold = 300;
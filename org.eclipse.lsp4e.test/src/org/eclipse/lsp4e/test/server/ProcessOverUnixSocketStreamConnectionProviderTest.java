@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.lsp4e.server.ProcessOverUnixSocketStreamConnectionProvider;
+import org.eclipse.lsp4e.server.ProcessOverUnixSocketStreamConnectionProvider.Mode;
+import org.junit.jupiter.api.Test;
+
+public class ProcessOverUnixSocketStreamConnectionProviderTest {
+
+	@Test
+	public void testListenModeExchangesData() throws Exception {
+		Path socketPath = ProcessOverUnixSocketStreamConnectionProvider.getDefaultSocketPath("test-listen");
+		Files.deleteIfExists(socketPath);
+
+		// any command, the test connects to the socket in place of the server
+		String java = ProcessHandle.current().info().command().orElse("java");
+		final var provider = new ProcessOverUnixSocketStreamConnectionProvider(List.of(java, "-version"), socketPath,
+				Mode.LISTEN) {
+		};
+		final CompletableFuture<SocketChannel> serverSide = CompletableFuture.supplyAsync(() -> {
+			try {
+				while (!Files.exists(socketPath)) {
+					Thread.sleep(10);
+				}
+				return SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+			} catch (IOException | InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		provider.start();
+		try (var server = serverSide.get(10, TimeUnit.SECONDS)) {
+			provider.getOutputStream().write("ping".getBytes(UTF_8));
+			provider.getOutputStream().flush();
+			final var buffer = ByteBuffer.allocate(4);
+			while (buffer.hasRemaining()) {
+				server.read(buffer);
+			}
+			assertEquals("ping", new String(buffer.array(), UTF_8));
+
+			server.write(ByteBuffer.wrap("pong".getBytes(UTF_8)));
+			assertEquals("pong", new String(provider.getInputStream().readNBytes(4), UTF_8));
+		} finally {
+			provider.stop();
+		}
+		// the socket file is only needed until the server connected
+		assertFalse(Files.exists(socketPath));
+	}
+
+	@Test
+	public void testDefaultSocketDirectoryIsPrivate() throws Exception {
+		Path socketPath = ProcessOverUnixSocketStreamConnectionProvider.getDefaultSocketPath("test-private");
+		Path directory = socketPath.getParent();
+		assertTrue(Files.isDirectory(directory));
+		assertNotEquals(directory, ProcessOverUnixSocketStreamConnectionProvider.getDefaultSocketPath("test-private").getParent());
+		if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+			assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(directory));
+		}
+	}
+
+	@Test
+	public void testFailsWithoutRunningServerOrCommand() throws Exception {
+		Path socketPath = ProcessOverUnixSocketStreamConnectionProvider.getDefaultSocketPath("test-no-server");
+		Files.deleteIfExists(socketPath);
+
+		final var provider = new ProcessOverUnixSocketStreamConnectionProvider(List.of("does-not-exist"), socketPath,
+				Mode.CONNECT) {
+		};
+		assertThrows(IOException.class, provider::start);
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.telemetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.lsp4e.telemetry.CircuitBreaker;
+import org.eclipse.lsp4e.telemetry.CircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+
+	@Test
+	public void opens_after_consecutive_timeouts() {
+		final var breaker = new CircuitBreaker(3, 60_000);
+		breaker.recordTimeout();
+		breaker.recordTimeout();
+		breaker.recordResponse();
+		breaker.recordTimeout();
+		breaker.recordTimeout();
+		assertEquals(State.CLOSED, breaker.getState());
+		assertTrue(breaker.allowRequest());
+		breaker.recordTimeout();
+		assertEquals(State.OPEN, breaker.getState());
+		assertFalse(breaker.allowRequest());
+		assertEquals(5, breaker.getTimeoutCount());
+	}
+
+	@Test
+	public void probe_closes_or_reopens() throws InterruptedException {
+		final var breaker = new CircuitBreaker(1, 10);
+		breaker.recordTimeout();
+		assertFalse(breaker.allowRequest());
+		Thread.sleep(20);
+		assertTrue(breaker.allowRequest());
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		// only one probe at a time
+		assertFalse(breaker.allowRequest());
+		breaker.recordTimeout();
+		assertEquals(State.OPEN, breaker.getState());
+		Thread.sleep(20);
+		assertTrue(breaker.allowRequest());
+		breaker.recordResponse();
+		assertEquals(State.CLOSED, breaker.getState());
+		assertTrue(breaker.allowRequest());
+	}
+
+	@Test
+	public void lost_probe_is_retried() throws InterruptedException {
+		final var breaker = new CircuitBreaker(1, 10);
+		breaker.recordTimeout();
+		Thread.sleep(20);
+		assertTrue(breaker.allowRequest());
+		// the probe is cancelled without outcome
+		Thread.sleep(20);
+		assertTrue(breaker.allowRequest());
+		assertEquals(State.HALF_OPEN, breaker.getState());
+	}
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.test.telemetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.lsp4e.telemetry.LanguageServerTelemetry;
+import org.eclipse.lsp4e.telemetry.LatencyHistogram;
+import org.eclipse.lsp4j.jsonrpc.messages.CancelParams;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.junit.jupiter.api.Test;
+
+public class LanguageServerTelemetryTest {
+
+	private static RequestMessage request(String id, String method) {
+		final var request = new RequestMessage();
+		request.setId(id);
+		request.setMethod(method);
+		return request;
+	}
+
+	private static ResponseMessage response(String id) {
+		final var response = new ResponseMessage();
+		response.setId(id);
+		return response;
+	}
+
+	private static NotificationMessage notification(String method, Object params) {
+		final var notification = new NotificationMessage();
+		notification.setMethod(method);
+		notification.setParams(params);
+		return notification;
+	}
+
+	@Test
+	public void histogram_percentiles_are_accurate_to_bucket_precision() {
+		final var histogram = new LatencyHistogram();
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1_000_000, histogram.getMaxMicros());
+		assertEquals(500_500, histogram.getMeanMicros(), 0.1);
+		assertWithin(500_000, histogram.getValueAtPercentile(50), 0.125);
+		assertWithin(990_000, histogram.getValueAtPercentile(99), 0.125);
+		assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+
+	private static void assertWithin(long expected, long actual, double relativeError) {
+		assertTrue(Math.abs(actual - expected) <= expected * relativeError, actual + " is not close to " + expected);
+	}
+
+	@Test
+	public void requests_are_tracked_until_response() {
+		final var telemetry = new LanguageServerTelemetry("test");
+		assertEquals("textDocument/hover", telemetry.recordSending(request("1", "textDocument/hover")));
+		telemetry.recordSentBytes("textDocument/hover", 100);
+		telemetry.recordSending(request("2", "textDocument/hover"));
+		assertEquals(2, telemetry.getInFlightCount());
+
+		telemetry.recordReceived(response("1"), 300);
+		final var error = response("2");
+		error.setError(new ResponseError(ResponseErrorCode.InternalError, "failed", null));
+		telemetry.recordReceived(error, 50);
+
+		final var stats = telemetry.getMethodStatistics("textDocument/hover");
+		assertNotNull(stats);
+		assertEquals(2, stats.getCount());
+		assertEquals(0, stats.getInFlight());
+		assertEquals(1, stats.getErrors());
+		assertEquals(100, stats.getSentBytes());
+		assertEquals(350, stats.getReceivedBytes());
+		assertEquals(2, telemetry.getRequestCount());
+	}
+
+	@Test
+	public void cancelled_requests_are_not_errors() {
+		final var telemetry = new LanguageServerTelemetry("test");
+		telemetry.recordSending(request("1", "textDocument/completion"));
+		telemetry.recordSending(notification("$/cancelRequest", new CancelParams("1")));
+		final var cancelledResponse = response("1");
+		cancelledResponse.setError(new ResponseError(ResponseErrorCode.RequestCancelled, "cancelled", null));
+		telemetry.recordReceived(cancelledResponse, 0);
+
+		final var stats = telemetry.getMethodStatistics("textDocument/completion");
+		assertNotNull(stats);
+		assertEquals(1, stats.getCancelled());
+		assertEquals(0, stats.getErrors());
+		assertEquals(0, stats.getInFlight());
+		assertEquals(0, stats.getP99Millis());
+	}
+
+	@Test
+	public void server_requests_measure_client_latency() {
+		final var telemetry = new LanguageServerTelemetry("test");
+		telemetry.recordReceived(request("1", "workspace/applyEdit"), 10);
+		assertEquals(1, telemetry.getInFlightCount());
+		// the ids of server requests are independent of the ids of client requests
+		assertNull(telemetry.recordSending(response("2")));
+		assertEquals("workspace/applyEdit", telemetry.recordSending(response("1")));
+		assertEquals(0, telemetry.getInFlightCount());
+	}
+
+	@Test
+	public void pending_requests_are_cleared() {
+		final var telemetry = new LanguageServerTelemetry("test");
+		telemetry.recordSending(request("1", "textDocument/hover"));
+		telemetry.clearPendingRequests();
+		assertEquals(0, telemetry.getInFlightCount());
+		telemetry.reset();
+		assertEquals(0, telemetry.getRequestCount());
+		assertTrue(telemetry.getMethodStatistics().isEmpty());
+	}
+
+	@Test
+	public void adaptive_timeout_needs_enough_samples() {
+		final var telemetry = new LanguageServerTelemetry("test");
+		assertEquals(5000, telemetry.getAdaptiveTimeoutMillis("textDocument/hover", 5000));
+		for (int i = 0; i < 19; i++) {
+			telemetry.recordSending(request(Integer.toString(i), "textDocument/hover"));
+			telemetry.recordReceived(response(Integer.toString(i)), 0);
+		}
+		assertEquals(5000, telemetry.getAdaptiveTimeoutMillis("textDocument/hover", 5000));
+		telemetry.recordSending(request("19", "textDocument/hover"));
+		telemetry.recordReceived(response("19"), 0);
+		// fast responses: the lower bound applies
+		assertEquals(200, telemetry.getAdaptiveTimeoutMillis("textDocument/hover", 5000));
+		assertEquals(100, telemetry.getAdaptiveTimeoutMillis("textDocument/hover", 100));
+		assertEquals(5000, telemetry.getAdaptiveTimeoutMillis("textDocument/completion", 5000));
+	}
+
+	@Test
+	public void adaptive_timeout_grows_after_timeouts() {
+		final var telemetry = new LanguageServerTelemetry("test");
+		for (int i = 0; i < 20; i++) {
+			telemetry.recordSending(request(Integer.toString(i), "textDocument/hover"));
+			telemetry.recordReceived(response(Integer.toString(i)), 0);
+		}
+		assertEquals(200, telemetry.getAdaptiveTimeoutMillis("textDocument/hover", 5000));
+
+		// the server slowed down, its responses do not arrive in time anymore
+		telemetry.recordTimeout("textDocument/hover", 200);
+		assertTrue(telemetry.getAdaptiveTimeoutMillis("textDocument/hover", 5000) > 200);
+		assertEquals(1000, telemetry.getAdaptiveTimeoutMillis("textDocument/hover", 1000));
+	}
+}
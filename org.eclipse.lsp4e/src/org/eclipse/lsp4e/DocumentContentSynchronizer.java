@@ -45,6 +45,7 @@
 import org.eclipse.jface.text.MultiTextSelection;
 import org.eclipse.lsp4e.format.IFormatRegionsProvider;
 import org.eclipse.lsp4e.internal.DocumentUtil;
+import org.eclipse.lsp4e.internal.FlightRecorderEvents;
 import org.eclipse.lsp4e.internal.FormatRegionsProviderUtil;
 import org.eclipse.lsp4e.operations.format.LSPFormatter;
 import org.eclipse.lsp4e.ui.Messages;
@@ -79,12 +80,15 @@ final class DocumentContentSynchronizer implements IDocumentListener {
 
 	private int version = 0;
 	private @Nullable DidChangeTextDocumentParams changeParams;
+	/** {@link System#nanoTime()} when {@link #changeParams} was created */
+	private long changeStartNanos;
 	private long openSaveStamp;
 	private IPreferenceStore store;
 	private @Nullable IFormatRegionsProvider formatRegionsProvider;
 
 	public DocumentContentSynchronizer(LanguageServerWrapper languageServerWrapper, LanguageServer languageServer,
 			IDocument document, @Nullable TextDocumentSyncKind syncKind) {
+		final long start = System.nanoTime();
 		this.languageServerWrapper = languageServerWrapper;
 		URI uri = LSPEclipseUtils.toUri(document);
 		if (uri == null) {
@@ -136,12 +140,15 @@ public DocumentContentSynchronizer(LanguageServerWrapper languageServerWrapper,
 		textDocument.setLanguageId(languageId);
 		textDocument.setVersion(++version);
 		languageServer.getTextDocumentService().didOpen(new DidOpenTextDocumentParams(textDocument));
+		FlightRecorderEvents.documentSync(languageServerWrapper.serverDefinition.id, textDocument.getUri(), "open", //$NON-NLS-1$
+				version, 1, start);
 	}
 
 
 	@Override
 	public void documentChanged(DocumentEvent event) {
 		checkEvent(event);
+		languageServerWrapper.invalidateSharedResponses(fileUri);
 		if (syncKind == TextDocumentSyncKind.Full) {
 			createChangeEvent(event);
 		}
@@ -152,6 +159,9 @@ public void documentChanged(DocumentEvent event) {
 
 			changeParamsToSend.getTextDocument().setVersion(++version);
 			languageServerWrapper.sendNotification(ls -> ls.getTextDocumentService().didChange(changeParamsToSend));
+			FlightRecorderEvents.documentSync(languageServerWrapper.serverDefinition.id,
+					changeParamsToSend.getTextDocument().getUri(), syncKind.name(), version,
+					changeParamsToSend.getContentChanges().size(), changeStartNanos);
 		}
 	}
 
@@ -175,6 +185,7 @@ public void documentAboutToBeChanged(DocumentEvent event) {
 	 */
 	private boolean createChangeEvent(DocumentEvent event) {
 		Assert.isTrue(changeParams == null);
+		changeStartNanos = System.nanoTime();
 		final var changeParams = this.changeParams = new DidChangeTextDocumentParams(new VersionedTextDocumentIdentifier(),
 				List.of(new TextDocumentContentChangeEvent()));
 		changeParams.getTextDocument().setUri(fileUri.toASCIIString());
@@ -50,9 +50,6 @@
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.commonmark.node.Node;
-import org.commonmark.parser.Parser;
-import org.commonmark.renderer.html.HtmlRenderer;
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.IFileBuffer;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
@@ -94,10 +91,13 @@
 import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.lsp4e.internal.ArrayUtil;
 import org.eclipse.lsp4e.internal.DocumentInputStream;
+import org.eclipse.lsp4e.internal.LineIndex;
+import org.eclipse.lsp4e.internal.MarkdownRenderer;
 import org.eclipse.lsp4e.internal.ResourceForUriCache;
 import org.eclipse.lsp4e.refactoring.CreateFileChange;
 import org.eclipse.lsp4e.refactoring.DeleteExternalFile;
 import org.eclipse.lsp4e.refactoring.LSPTextChange;
+import org.eclipse.lsp4e.refactoring.LSPTextFileEditsChange;
 import org.eclipse.lsp4e.ui.Messages;
 import org.eclipse.lsp4e.ui.UI;
 import org.eclipse.lsp4j.CallHierarchyPrepareParams;
@@ -186,6 +186,10 @@ public final class LSPEclipseUtils {
 	private static final String MARKDOWN = "markdown"; //$NON-NLS-1$
 	private static final String MD = "md"; //$NON-NLS-1$
 	private static final int MAX_BROWSER_NAME_LENGTH = 30;
+	private static final Pattern LONE_LINE_FEED = Pattern.compile("(?<!\r)\n"); //$NON-NLS-1$
+	private static final Pattern LINE_FEED_AND_SPACES = Pattern.compile("^[\\r]?\\n[\\s]+"); //$NON-NLS-1$
+	/** the number of edits from which {@link #applyEdits(IDocument, List, int)} converts positions on a snapshot */
+	private static final int LINE_INDEX_EDITS_THRESHOLD = 32;
 	private static Set<IPath> connectedFiles = new HashSet<IPath>();
 
 	private LSPEclipseUtils() {
@@ -529,36 +533,43 @@ public static int applyEdits(@Nullable IDocument document, @Nullable List<? exte
 		}
 
 		int newCaretOffset = caretOffset;
+		// for many edits, e.g. of a formatter, positions are converted on a snapshot rather than through the line tracker
+		final String text = edits.size() >= LINE_INDEX_EDITS_THRESHOLD ? document.get() : null;
+		final LineIndex lines = text == null ? null : new LineIndex(text);
+		final int documentLength = text == null ? document.getLength() : text.length();
 		final var edit = new MultiTextEdit();
 		var iterator = edits.iterator();
 		while (iterator.hasNext()) {
 			TextEdit textEdit = iterator.next();
-			int offset = toOffset(textEdit.getRange().getStart(), document);
-			int length = toOffset(textEdit.getRange().getEnd(), document) - offset;
+			int offset = lines == null ? toOffset(textEdit.getRange().getStart(), document) : lines.toOffset(textEdit.getRange().getStart());
+			int length = (lines == null ? toOffset(textEdit.getRange().getEnd(), document) : lines.toOffset(textEdit.getRange().getEnd())) - offset;
 			if (length < 0) {
 				// Must be a bad location: we bail out to avoid corrupting the document.
 				throw new BadLocationException("Invalid location information found applying edits"); //$NON-NLS-1$
 			}
 			// check if that edit would actually change the document
 			var newText = textEdit.getNewText();
-			var oldText = document.get(offset, length);
+			var oldText = text == null ? document.get(offset, length) : text.substring(offset, offset + length);
 			if (!oldText.equals(newText)) {
-				var zeroBasedDocumentLines = Math.max(0, document.getNumberOfLines() - 1);
+				var zeroBasedDocumentLines = Math.max(0, (lines == null ? document.getNumberOfLines() : lines.getNumberOfLines()) - 1);
 				var endLine = textEdit.getRange().getEnd().getLine();
 				endLine = endLine > zeroBasedDocumentLines ? zeroBasedDocumentLines : endLine;
+				final boolean crlf = "\r\n".equals(lines == null ? document.getLineDelimiter(endLine) : lines.getLineDelimiter(endLine)); //$NON-NLS-1$
 				if (newText.length() > 0) {
 					// Do not split "\r\n" line ending:
-					if ("\r\n".equals(document.getLineDelimiter(endLine))) { //$NON-NLS-1$;
+					if (crlf) {
 						// if last char in the newText is a carriage return:
-						if ('\r' == newText.charAt(newText.length()-1) && offset + length < document.getLength()) {
+						if ('\r' == newText.charAt(newText.length()-1) && offset + length < documentLength) {
 							// replace the whole line:
 							newText = newText + '\n';
 							length++;
 						}
 						// if newText contains only \n, prepend each \n with a \r:
-						newText = newText.replaceAll("(?<!\r)\n", "\r\n"); //$NON-NLS-1$ //$NON-NLS-2$
+						if (newText.indexOf('\n') >= 0) {
+							newText = LONE_LINE_FEED.matcher(newText).replaceAll("\r\n"); //$NON-NLS-1$
+						}
 					}
-				} else if ("\r\n".equals(document.getLineDelimiter(endLine))) { //$NON-NLS-1$
+				} else if (crlf) {
 					if (oldText.equals("\r")) { //$NON-NLS-1$
 						continue; // do not remove \r if followed by \n
 					} else if (oldText.endsWith("\r")) { //$NON-NLS-1$
@@ -566,7 +577,7 @@ public static int applyEdits(@Nullable IDocument document, @Nullable List<? exte
 					}
 				}
 				edit.addChild(new ReplaceEdit(offset, length, newText));
-				if (!iterator.hasNext() && !newText.matches("^[\\r]?\\n[\\s]+")) { //$NON-NLS-1$
+				if (!iterator.hasNext() && !LINE_FEED_AND_SPACES.matcher(newText).matches()) {
 					continue; // do not move caret if last edit inserts only a new line which is NOT followed by spaces like in "\n}"
 				}
 				newCaretOffset += newText.length() - length;
@@ -985,7 +996,8 @@ public static void applyWorkspaceEdit(@Nullable WorkspaceEdit wsEdit, @Nullable
 
 			// multiple documents or some ResourceChanges => create a refactoring
 			final var changedURIs = new HashMap<URI, Range>();
-			CompositeChange change = toCompositeChange(wsEdit, name, changedURIs);
+			CompositeChange change = toCompositeChange(wsEdit, name, changedURIs, true);
+			LSPTextFileEditsChange.prepareAll(change);
 
 			final var changeOperation = new PerformChangeOperation(change);
 			changeOperation.setUndoManager(RefactoringCore.getUndoManager(), name);
@@ -1111,13 +1123,18 @@ private static boolean applyWorkspaceEditIfSingleOpenFile(WorkspaceEdit wsEdit)
 
 	/**
 	 * Returns a ltk {@link CompositeChange} from a lsp {@link WorkspaceEdit}.
+	 * <p>
+	 * The change may be previewed, so every file gets a text change backed by a
+	 * file buffer. Unlike {@link #applyWorkspaceEdit(WorkspaceEdit, String)}, it
+	 * does not rewrite the files which are not open directly, so it is slower and
+	 * needs more memory for edits touching thousands of files, e.g. renames.
 	 *
 	 * @param wsEdit
 	 * @param name
 	 * @return a ltk {@link CompositeChange} from a lsp {@link WorkspaceEdit}.
 	 */
 	public static CompositeChange toCompositeChange(WorkspaceEdit wsEdit, String name) {
-		return toCompositeChange(wsEdit, name, null);
+		return toCompositeChange(wsEdit, name, null, false);
 	}
 
 	/**
@@ -1126,11 +1143,15 @@ public static CompositeChange toCompositeChange(WorkspaceEdit wsEdit, String nam
 	 * @param wsEdit
 	 * @param name
 	 * @param collector A map of URI to Range entries collected from WorkspaceEdit
+	 * @param bulk whether to rewrite the files which are not open directly, see {@link LSPTextFileEditsChange},
+	 *            when the change is not previewed and there are no resource operations
 	 * @return a ltk {@link CompositeChange} from a lsp {@link WorkspaceEdit}.
 	 */
-	private static CompositeChange toCompositeChange(WorkspaceEdit wsEdit, String name, @Nullable Map<URI, Range> collector) {
+	private static CompositeChange toCompositeChange(WorkspaceEdit wsEdit, String name, @Nullable Map<URI, Range> collector,
+			boolean bulk) {
 		final var change = new CompositeChange(name);
 		List<Either<TextDocumentEdit, ResourceOperation>> documentChanges = wsEdit.getDocumentChanges();
+		final boolean bulkTextEdits = bulk && (documentChanges == null || documentChanges.stream().allMatch(Either::isLeft));
 		if (documentChanges != null) {
 			// documentChanges are present, the latter are preferred over changes
 			// see specification at
@@ -1141,7 +1162,7 @@ private static CompositeChange toCompositeChange(WorkspaceEdit wsEdit, String na
 					VersionedTextDocumentIdentifier id = edit.getTextDocument();
 					URI uri = URI.create(id.getUri());
 					List<TextEdit> textEdits = edit.getEdits();
-					change.add(toChanges(uri, textEdits));
+					change.add(toChanges(uri, textEdits, bulkTextEdits));
 					collectChangedURI(uri, textEdits, collector);
 				} else if (action.isRight()) {
 					ResourceOperation resourceOperation = action.getRight();
@@ -1230,7 +1251,7 @@ private static CompositeChange toCompositeChange(WorkspaceEdit wsEdit, String na
 				for (java.util.Map.Entry<String, List<TextEdit>> edit : changes.entrySet()) {
 					URI uri = URI.create(edit.getKey());
 					List<TextEdit> textEdits = edit.getValue();
-					change.add(toChanges(uri, textEdits));
+					change.add(toChanges(uri, textEdits, bulkTextEdits));
 					collectChangedURI(uri, textEdits, collector);
 				}
 			}
@@ -1288,8 +1309,17 @@ private static boolean rangeStartIsLessThan(@Nullable Range range, @Nullable Ran
 	 *            document URI to update
 	 * @param textEdits
 	 *            CompositeChange with LSP text edits
+	 * @param bulk
+	 *            whether to rewrite the file directly if it is not open
 	 */
-	private static Change toChanges(URI uri, List<TextEdit> textEdits) {
+	private static Change toChanges(URI uri, List<TextEdit> textEdits, boolean bulk) {
+		if (bulk) {
+			IFile file = getFileHandle(uri);
+			if (file != null && file.exists() && FileBuffers.getTextFileBufferManager()
+					.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE) == null) {
+				return new LSPTextFileEditsChange(file, textEdits);
+			}
+		}
 		LSPTextChange[] changes = textEdits.stream()
 				.sorted(Comparator.comparing((TextEdit edit) -> edit.getRange().getStart(),
 						Comparator.comparingInt(Position::getLine).thenComparingInt(Position::getCharacter).reversed()))
@@ -1483,10 +1513,7 @@ public static List<IContentType> getDocumentContentTypes(IDocument document) {
 				String kind = markupContent.getKind();
 				if (MARKDOWN.equalsIgnoreCase(kind) || MD.equalsIgnoreCase(kind)) {
 					try {
-						Parser parser = Parser.builder().build();
-						Node document = parser.parse(text);
-						HtmlRenderer renderer = HtmlRenderer.builder().build();
-						return renderer.render(document);
+						return MarkdownRenderer.render(text);
 					} catch (Exception e) {
 						LanguageServerPlugin.logError(e);
 						return htmlParagraph(text);
@@ -52,6 +52,8 @@ public class LanguageServerPlugin extends AbstractUIPlugin {
 	// The shared instance
 	private static volatile @Nullable LanguageServerPlugin plugin;
 
+	private final LanguageServerResourceGovernor resourceGovernor = new LanguageServerResourceGovernor();
+
 	public LanguageServerPlugin() {
 	}
 
@@ -59,10 +61,12 @@ public LanguageServerPlugin() {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		plugin = this;
+		resourceGovernor.start();
 	}
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
+		resourceGovernor.stop();
 		plugin = null;
 		LanguageServiceAccessor.shutdownAllDispatchers();
 		super.stop(context);
@@ -78,6 +82,14 @@ public static LanguageServerPlugin getDefault() {
 		return plugin;
 	}
 
+	/**
+	 * @return the governor sampling the resource usage of the language servers
+	 * @since 0.19.5
+	 */
+	public LanguageServerResourceGovernor getResourceGovernor() {
+		return resourceGovernor;
+	}
+
 	@Override
 	protected void initializeImageRegistry(ImageRegistry registry) {
 		LSPImages.initalize(registry);
@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e;
+
+import static org.eclipse.lsp4e.LanguageServerWrapper.getIntPreference;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.lsp4e.internal.ProcessResourceSampler;
+import org.eclipse.lsp4e.telemetry.ProcessResourceUsage;
+import org.eclipse.lsp4e.ui.Messages;
+import org.eclipse.lsp4j.MessageParams;
+import org.eclipse.lsp4j.MessageType;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Periodically samples the memory and CPU usage of the process trees of the
+ * started language servers, see {@link LanguageServerWrapper#getResourceUsage()},
+ * and enforces the limits set in the preferences:
+ * <ul>
+ * <li>beyond the soft memory limit, a warning is logged, and optionally the
+ * documents which are neither dirty nor visible are closed in the language
+ * server,</li>
+ * <li>beyond the hard memory limit, the language server is restarted, reopening
+ * its documents. Further restarts wait increasingly longer, and after
+ * {@value #MAX_RESTARTS} restarts the user is notified and the language server
+ * is left running,</li>
+ * <li>a language server which was not used for a while and has no document in
+ * a visible editor is stopped, and started again on next use.</li>
+ * </ul>
+ * All limits are disabled by default. Sampling only happens while a limit is set
+ * or the resource usage is shown, see {@link #startShowingResourceUsage()}. The
+ * memory is only known on Linux.
+ *
+ * @since 0.19.5
+ */
+public final class LanguageServerResourceGovernor extends Job {
+
+	/** Preference: the seconds between two samples, 0 to stop sampling */
+	public static final String SAMPLE_INTERVAL_KEY = "resources.sampleInterval"; //$NON-NLS-1$
+	/** Preference: the memory in MB beyond which a warning is logged, 0 for no limit */
+	public static final String SOFT_MEMORY_LIMIT_KEY = "resources.softLimitMB"; //$NON-NLS-1$
+	/** Preference: whether to close the documents not visible once the soft memory limit is exceeded */
+	public static final String SHED_DOCUMENTS_KEY = "resources.shedDocumentsOnSoftLimit"; //$NON-NLS-1$
+	/** Preference: the memory in MB beyond which a language server is restarted, 0 for no limit */
+	public static final String HARD_MEMORY_LIMIT_KEY = "resources.hardLimitMB"; //$NON-NLS-1$
+	/** Preference: the idle minutes after which a language server without visible document is stopped, 0 to never stop it */
+	public static final String HIBERNATE_AFTER_KEY = "resources.hibernateAfterMinutes"; //$NON-NLS-1$
+
+	private static final int DEFAULT_SAMPLE_INTERVAL = 5;
+	/** the restarts beyond the hard memory limit after which a language server is left running */
+	static final int MAX_RESTARTS = 3;
+	/** the time to wait before the second restart, doubled for each further restart */
+	private static final long RESTART_BACKOFF_NANOS = TimeUnit.MINUTES.toNanos(1);
+	/** the time below the hard memory limit after which the restarts of a language server are forgotten */
+	private static final long RESTART_RESET_NANOS = TimeUnit.HOURS.toNanos(1);
+
+	/** the restarts of a language server beyond the hard memory limit */
+	private record Restarts(int count, long lastRestartNanos) {
+		boolean isBackingOff(long now) {
+			return now - lastRestartNanos < RESTART_BACKOFF_NANOS << (count - 1);
+		}
+	}
+
+	private final ProcessResourceSampler sampler = new ProcessResourceSampler();
+	/** the language servers which exceeded the soft limit when last sampled, so the warning is logged once */
+	private final Set<LanguageServerWrapper> softLimitExceeded = ConcurrentHashMap.newKeySet();
+	private final Map<LanguageServerWrapper, Restarts> restarts = new ConcurrentHashMap<>();
+	/** the documents of the visible editors, fetched at most once per run */
+	private @Nullable CompletableFuture<List<URI>> visibleDocuments;
+	/** the number of views showing the resource usage, which is sampled for them even without limit */
+	private final AtomicInteger resourceUsageViewers = new AtomicInteger();
+	private final IPropertyChangeListener preferenceListener = this::preferenceChanged;
+	private volatile boolean stopped;
+
+	LanguageServerResourceGovernor() {
+		super("Language server resource governor"); //$NON-NLS-1$
+		setSystem(true);
+		setPriority(DECORATE);
+	}
+
+	void start() {
+		stopped = false;
+		LanguageServerPlugin.getDefault().getPreferenceStore().addPropertyChangeListener(preferenceListener);
+		if (isSamplingNeeded()) {
+			schedule(TimeUnit.SECONDS.toMillis(DEFAULT_SAMPLE_INTERVAL));
+		}
+	}
+
+	void stop() {
+		stopped = true;
+		LanguageServerPlugin.getDefault().getPreferenceStore().removePropertyChangeListener(preferenceListener);
+		cancel();
+	}
+
+	/**
+	 * Samples the resource usage of the language servers, even if no limit is
+	 * set, until {@link #stopShowingResourceUsage()} is called.
+	 */
+	public void startShowingResourceUsage() {
+		if (resourceUsageViewers.getAndIncrement() == 0) {
+			schedule();
+		}
+	}
+
+	/**
+	 * Stops the sampling started by {@link #startShowingResourceUsage()}, unless
+	 * a limit is set.
+	 */
+	public void stopShowingResourceUsage() {
+		resourceUsageViewers.decrementAndGet();
+	}
+
+	private void preferenceChanged(PropertyChangeEvent event) {
+		switch (event.getProperty()) {
+		case SAMPLE_INTERVAL_KEY, SOFT_MEMORY_LIMIT_KEY, HARD_MEMORY_LIMIT_KEY, HIBERNATE_AFTER_KEY:
+			if (isSamplingNeeded()) {
+				// a sleeping run is brought forward, a running one is repeated
+				schedule();
+			}
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * @return whether sampling is enabled, and a limit is set or the resource
+	 *         usage is shown
+	 */
+	private boolean isSamplingNeeded() {
+		return getIntPreference(SAMPLE_INTERVAL_KEY, DEFAULT_SAMPLE_INTERVAL) > 0 //
+				&& (resourceUsageViewers.get() > 0 //
+						|| getIntPreference(SOFT_MEMORY_LIMIT_KEY, 0) > 0
+						|| getIntPreference(HARD_MEMORY_LIMIT_KEY, 0) > 0
+						|| getIntPreference(HIBERNATE_AFTER_KEY, 0) > 0);
+	}
+
+	@Override
+	public boolean shouldSchedule() {
+		return !stopped;
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		if (!isSamplingNeeded()) {
+			// scheduled again once a limit is set or the resource usage is shown
+			return Status.OK_STATUS;
+		}
+		try {
+			govern(monitor);
+		} finally {
+			visibleDocuments = null;
+		}
+		if (monitor.isCanceled()) {
+			return Status.CANCEL_STATUS;
+		}
+		schedule(TimeUnit.SECONDS.toMillis(getIntPreference(SAMPLE_INTERVAL_KEY, DEFAULT_SAMPLE_INTERVAL)));
+		return Status.OK_STATUS;
+	}
+
+	private void govern(IProgressMonitor monitor) {
+		final List<LanguageServerWrapper> wrappers = LanguageServiceAccessor.getStartedWrappers(null, true);
+		final var pids = new ArrayList<Long>(wrappers.size());
+		for (final LanguageServerWrapper wrapper : wrappers) {
+			if (monitor.isCanceled()) {
+				return;
+			}
+			final ProcessHandle process = wrapper.getProcessHandle();
+			if (process != null && process.isAlive()) {
+				pids.add(process.pid());
+				final ProcessResourceUsage usage = sampler.sample(process);
+				wrapper.setResourceUsage(usage);
+				if (enforceMemoryLimits(wrapper, usage)) {
+					continue;
+				}
+			}
+			hibernateIfIdle(wrapper);
+		}
+		sampler.retain(pids);
+		softLimitExceeded.retainAll(wrappers);
+		restarts.keySet().retainAll(wrappers);
+	}
+
+	/**
+	 * @return whether the language server was restarted
+	 */
+	private boolean enforceMemoryLimits(LanguageServerWrapper wrapper, ProcessResourceUsage usage) {
+		final long rssMegaBytes = usage.rssMegaBytes();
+		if (rssMegaBytes < 0) {
+			return false;
+		}
+		final int hardLimit = getIntPreference(HARD_MEMORY_LIMIT_KEY, 0);
+		final long now = System.nanoTime();
+		final @Nullable Restarts previousRestarts = restarts.get(wrapper);
+		if (hardLimit > 0 && rssMegaBytes > hardLimit) {
+			if (previousRestarts == null || previousRestarts.count < MAX_RESTARTS && !previousRestarts.isBackingOff(now)) {
+				LanguageServerPlugin.logWarning("Language server " + wrapper.serverDefinition.id + " uses " + rssMegaBytes //$NON-NLS-1$ //$NON-NLS-2$
+						+ " MB, more than the limit of " + hardLimit + " MB, restarting it"); //$NON-NLS-1$ //$NON-NLS-2$
+				restarts.put(wrapper, new Restarts(previousRestarts == null ? 1 : previousRestarts.count + 1, now));
+				softLimitExceeded.remove(wrapper);
+				wrapper.restart();
+				return true;
+			}
+			if (previousRestarts.count == MAX_RESTARTS) {
+				// give up, once
+				restarts.put(wrapper, new Restarts(MAX_RESTARTS + 1, previousRestarts.lastRestartNanos));
+				LanguageServerPlugin.logWarning("Language server " + wrapper.serverDefinition.id + " uses " + rssMegaBytes //$NON-NLS-1$ //$NON-NLS-2$
+						+ " MB, more than the limit of " + hardLimit + " MB, but was already restarted " + MAX_RESTARTS //$NON-NLS-1$ //$NON-NLS-2$
+						+ " times, leaving it running"); //$NON-NLS-1$
+				ServerMessageHandler.showMessage(wrapper.serverDefinition.label, new MessageParams(MessageType.Warning,
+						NLS.bind(Messages.resourceGovernor_restartsExhausted,
+								new Object[] { rssMegaBytes, hardLimit, MAX_RESTARTS })));
+			}
+		} else if (previousRestarts != null && previousRestarts.count <= MAX_RESTARTS
+				&& now - previousRestarts.lastRestartNanos > RESTART_RESET_NANOS) {
+			// the language server behaved for a while
+			restarts.remove(wrapper);
+		}
+		final int softLimit = getIntPreference(SOFT_MEMORY_LIMIT_KEY, 0);
+		if (softLimit <= 0 || rssMegaBytes <= softLimit) {
+			softLimitExceeded.remove(wrapper);
+		} else if (softLimitExceeded.add(wrapper)) {
+			final boolean shedDocuments = getBooleanPreference(SHED_DOCUMENTS_KEY);
+			LanguageServerPlugin.logWarning("Language server " + wrapper.serverDefinition.id + " uses " + rssMegaBytes //$NON-NLS-1$ //$NON-NLS-2$
+					+ " MB, more than the limit of " + softLimit + " MB" //$NON-NLS-1$ //$NON-NLS-2$
+					+ (shedDocuments ? ", closing the documents not visible" : "")); //$NON-NLS-1$ //$NON-NLS-2$
+			final @Nullable List<URI> visible = shedDocuments ? getVisibleDocuments() : null;
+			if (visible != null) {
+				wrapper.closeInvisibleDocuments(visible);
+			}
+		}
+		return false;
+	}
+
+	private void hibernateIfIdle(LanguageServerWrapper wrapper) {
+		final int idleMinutes = getIntPreference(HIBERNATE_AFTER_KEY, 0);
+		if (idleMinutes > 0 && wrapper.getIdleNanos() > TimeUnit.MINUTES.toNanos(idleMinutes)
+				&& wrapper.getTelemetry().getInFlightCount() == 0) {
+			final @Nullable List<URI> visible = getVisibleDocuments();
+			if (visible != null && visible.stream().noneMatch(wrapper::isConnectedTo)) {
+				softLimitExceeded.remove(wrapper);
+				wrapper.hibernate();
+			}
+		}
+	}
+
+	/**
+	 * @return the documents of the visible editors, or <code>null</code> if the UI
+	 *         thread was too busy to tell them, so no document is taken for
+	 *         invisible
+	 */
+	private @Nullable List<URI> getVisibleDocuments() {
+		CompletableFuture<List<URI>> visible = visibleDocuments;
+		if (visible == null) {
+			visible = LanguageServerWrapper.getVisibleDocumentsAsync();
+			visibleDocuments = visible;
+		}
+		try {
+			return visible.join();
+		} catch (CompletionException e) {
+			return null;
+		}
+	}
+
+	private static boolean getBooleanPreference(String key) {
+		return LanguageServerPlugin.getDefault().getPreferenceStore().getBoolean(key);
+	}
+}
@@ -27,7 +27,10 @@
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,6 +39,7 @@
 import java.util.TimerTask;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -51,6 +55,7 @@
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.IFileBuffer;
 import org.eclipse.core.filebuffers.IFileBufferListener;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filesystem.URIUtil;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -74,17 +79,29 @@
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.lsp4e.LanguageServersRegistry.LanguageServerDefinition;
 import org.eclipse.lsp4e.client.DefaultLanguageClient;
 import org.eclipse.lsp4e.internal.ArrayUtil;
 import org.eclipse.lsp4e.internal.CancellationUtil;
+import org.eclipse.lsp4e.internal.DocumentResponseCache;
+import org.eclipse.lsp4e.internal.DocumentUtil;
 import org.eclipse.lsp4e.internal.FileBufferListenerAdapter;
+import org.eclipse.lsp4e.internal.FlightRecorderEvents;
 import org.eclipse.lsp4e.internal.JsonUtil;
+import org.eclipse.lsp4e.internal.MessageFramingOutputStream;
+import org.eclipse.lsp4e.internal.RequestScheduler;
+import org.eclipse.lsp4e.internal.ServerCapabilitiesStore;
 import org.eclipse.lsp4e.internal.SupportedFeatures;
 import org.eclipse.lsp4e.internal.files.FileSystemWatcherManager;
 import org.eclipse.lsp4e.server.StreamConnectionProvider;
+import org.eclipse.lsp4e.telemetry.CircuitBreaker;
+import org.eclipse.lsp4e.telemetry.LanguageServerTelemetry;
+import org.eclipse.lsp4e.telemetry.ProcessResourceUsage;
 import org.eclipse.lsp4e.ui.Messages;
+import org.eclipse.lsp4e.ui.UI;
 import org.eclipse.lsp4j.ClientCapabilities;
 import org.eclipse.lsp4j.ClientInfo;
 import org.eclipse.lsp4j.CodeActionOptions;
@@ -119,7 +136,9 @@
 import org.eclipse.lsp4j.WorkspaceSymbolOptions;
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
 import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.json.StreamMessageConsumer;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.jsonrpc.messages.Message;
 import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
@@ -127,8 +146,15 @@
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.texteditor.ITextEditor;
 
 import com.google.common.base.Functions;
+import com.google.common.io.CountingInputStream;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonObject;
 
@@ -219,7 +245,10 @@ private static class LanguageServerContext {
 
 		@Nullable Future<?> launcherFuture;
 		@Nullable StreamConnectionProvider lspStreamProvider;
+		@Nullable MessageFramingOutputStream outputStream;
 		@Nullable LanguageServer languageServer;
+		int initializationStage;
+		long initializationStageStart;
 
 		synchronized void close() {
 			if (languageServer != null) {
@@ -251,9 +280,34 @@ synchronized void close() {
 		}
 	}
 
+	/**
+	 * Preference: the maximum number of documents reopened right away after a
+	 * restart of a language server, the documents of visible editors first. The
+	 * other documents are reopened when used next.
+	 *
+	 * @since 0.19.5
+	 */
+	public static final String RECONNECT_EAGER_LIMIT_KEY = "reconnect.eagerLimit"; //$NON-NLS-1$
+	private static final int DEFAULT_RECONNECT_EAGER_LIMIT = 10;
+
+	/**
+	 * Preference: the maximum number of documents open in a language server, 0
+	 * for no limit, the default. The least recently used documents which are
+	 * neither dirty nor visible are closed beyond, and reopened when used next.
+	 *
+	 * @since 0.19.5
+	 */
+	public static final String OPEN_DOCUMENTS_LIMIT_KEY = "documents.openLimit"; //$NON-NLS-1$
+	private static final int DEFAULT_OPEN_DOCUMENTS_LIMIT = 0;
+
 	public final LanguageServerDefinition serverDefinition;
 	public final @Nullable IProject initialProject;
 	protected Map<URI, DocumentContentSynchronizer> connectedDocuments;
+	/** documents to reconnect on first use, after a restart or once closed as least recently used */
+	private final Map<URI, IDocument> deferredDocuments = new ConcurrentHashMap<>();
+	/** {@link System#nanoTime()} of the last use of each document */
+	private final Map<URI, Long> documentsLastUse = new ConcurrentHashMap<>();
+	private final AtomicBoolean documentsClosingScheduled = new AtomicBoolean();
 	protected final @Nullable IPath initialPath;
 	protected final InitializeParams initParams = new InitializeParams();
 
@@ -265,11 +319,16 @@ synchronized void close() {
 
 	private final AtomicReference<@Nullable IProgressMonitor> initializeFutureMonitorRef = new AtomicReference<>();
 	private final int initializeFutureNumberOfStages = 7;
+	/** the stages completed by the calls of {@link #markInitializationProgress(LanguageServerContext)} */
+	private static final String[] INITIALIZATION_STAGES = { "schedule", "startConnection", "createLauncher", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"initialize", "processInitializeResult", "initialized" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	private @Nullable DefaultLanguageClient languageClient;
 	private final Timer timer = new Timer("Stop Language Server Task Processor"); //$NON-NLS-1$
 	private @Nullable TimerTask stopTimerTask;
 
 	private final ExecutorService dispatcher;
+	/** schedules the work of {@link #dispatcher} */
+	private final RequestScheduler scheduler;
 	private final ExecutorService listener;
 	private final ExecutorService cleaner;
 	private final ExecutorService errorProcessor;
@@ -286,6 +345,13 @@ synchronized void close() {
 	private final FileSystemWatcherManager fileSystemWatcherManager;
 	private final WatchedFilesListener watchedFilesListener = new WatchedFilesListener();
 
+	private final DocumentResponseCache responseCache = new DocumentResponseCache();
+	private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+	private final LanguageServerTelemetry telemetry;
+	private volatile ProcessResourceUsage resourceUsage = ProcessResourceUsage.UNKNOWN;
+	/** {@link System#nanoTime()} of the last request or connected document */
+	private volatile long lastUseNanos = System.nanoTime();
+
 	/* Backwards compatible constructor */
 	public LanguageServerWrapper(IProject project, LanguageServerDefinition serverDefinition) {
 		this(project, serverDefinition, null);
@@ -307,6 +373,7 @@ private LanguageServerWrapper(@Nullable IProject project, LanguageServerDefiniti
 		final var dispatcherThreadNameFormat = formatPrefix + "#dispatcher"; //$NON-NLS-1$
 		this.dispatcher = Executors
 				.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(dispatcherThreadNameFormat).build());
+		this.scheduler = new RequestScheduler(dispatcher);
 
 		// Executor service passed through to the LSP4j layer when we attempt to start the LS. It will be used
 		// to create a listener that sits on the input stream and processes inbound messages (responses, or server-initiated
@@ -326,6 +393,7 @@ private LanguageServerWrapper(@Nullable IProject project, LanguageServerDefiniti
 				.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat(errorsThreadNameFormat).build());
 
 		this.fileSystemWatcherManager = new FileSystemWatcherManager(initialProject);
+		this.telemetry = new LanguageServerTelemetry(serverDefinition.id);
 	}
 
 	void stopDispatcher() {
@@ -397,21 +465,20 @@ public synchronized void restart() {
 	 *            whether to restart the language server, even it is not inactive.
 	 */
 	private synchronized void start(boolean forceRestart) {
-		final var filesToReconnect = new HashMap<URI, IDocument>();
 		if (this.context.languageServer != null) {
 			if (isActive() && !forceRestart) {
 				return;
 			} else {
-				for (Entry<URI, DocumentContentSynchronizer> entry : this.connectedDocuments.entrySet()) {
-					filesToReconnect.put(entry.getKey(), entry.getValue().getDocument());
-				}
-				stop();
+				// reconnected once the server is initialized, or on first use
+				stopKeepingDocuments();
 			}
 		}
 		if (this.initializeFuture == null || forceRestart) {
 			final URI rootURI = getRootURI();
 			final Job job = createInitializeLanguageServerJob();
 			final LanguageServerContext workingContext = context;
+			workingContext.initializationStage = 0;
+			workingContext.initializationStageStart = System.nanoTime();
 
 			this.initializeFuture = CompletableFuture.supplyAsync(() -> {
 				synchronized (workingContext) {
@@ -455,13 +522,22 @@ private synchronized void start(boolean forceRestart) {
 					};
 					initParams.setWorkspaceFolders(getRelevantWorkspaceFolders());
 					final var lspStreamProvider = castNonNull(workingContext.lspStreamProvider);
+					// write each message with a single call to the underlying stream
+					final var outputStream = lspStreamProvider.getOutputStream();
+					final var framedOutputStream = workingContext.outputStream = outputStream == null ? null
+							: new MessageFramingOutputStream(outputStream);
+					// count the bytes read to attribute the size of received messages
+					final var inputStream = lspStreamProvider.getInputStream();
+					final var countingInputStream = inputStream == null ? null : new CountingInputStream(inputStream);
+					telemetry.registerMBean();
 					Launcher<LanguageServer> launcher = serverDefinition.createLauncherBuilder() //
 							.setLocalService(languageClient)//
 							.setRemoteInterface(serverDefinition.getServerInterface())//
-							.setInput(lspStreamProvider.getInputStream())//
-							.setOutput(lspStreamProvider.getOutputStream())//
+							.setInput(countingInputStream)//
+							.setOutput(framedOutputStream)//
 							.setExecutorService(listener)//
-							.wrapMessages(wrapper)//
+							.wrapMessages(consumer -> wrapper
+									.apply(recordTelemetry(consumer, countingInputStream, framedOutputStream)))//
 							.create();
 					final var languageServer = workingContext.languageServer = launcher.getRemoteProxy();
 					languageClient.connect(languageServer, this);
@@ -496,6 +572,9 @@ private synchronized void start(boolean forceRestart) {
 					initializeResult = res;
 					serverCapabilities = res.getCapabilities();
 					serverInfo = res.getServerInfo();
+					if (serverCapabilities != null) {
+						ServerCapabilitiesStore.getInstance().save(serverDefinition.id, serverCapabilities);
+					}
 					this.initiallySupportsWorkspaceFolders = supportsWorkspaceFolders(serverCapabilities);
 				}
 			}).thenRun(() -> {
@@ -506,12 +585,9 @@ private synchronized void start(boolean forceRestart) {
 			}).thenRun(() -> {
 				synchronized (workingContext) {
 					markInitializationProgress(workingContext);
-					final Map<URI, IDocument> toReconnect = filesToReconnect;
 					castNonNull(initializeFuture).thenRunAsync(() -> {
 						watchProjects();
-						for (Entry<URI, IDocument> fileToReconnect : toReconnect.entrySet()) {
-							connect(fileToReconnect.getKey(), fileToReconnect.getValue());
-						}
+						reconnectVisibleDocuments();
 					});
 					FileBuffers.getTextFileBufferManager().addFileBufferListener(fileBufferListener);
 					castNonNull(initializeFuture).thenRunAsync(() -> {
@@ -540,6 +616,13 @@ private void markInitializationProgress(LanguageServerContext context) {
 		if (context.cancelled.get()) {
 			throw new CancellationException();
 		}
+		final long now = System.nanoTime();
+		final int stage = context.initializationStage++;
+		if (stage < INITIALIZATION_STAGES.length) {
+			FlightRecorderEvents.initializationStage(serverDefinition.id, INITIALIZATION_STAGES[stage],
+					now - context.initializationStageStart);
+		}
+		context.initializationStageStart = now;
 		advanceInitializeFutureMonitor();
 	}
 
@@ -627,6 +710,93 @@ private void processErrorStream(StreamConnectionProvider streamProvider, Consume
 		}
 	}
 
+	/**
+	 * @return the number of messages and bytes sent to the language server and the
+	 *         time spent writing them, or <code>null</code> if the server is not
+	 *         started
+	 */
+	public MessageFramingOutputStream.@Nullable Statistics getOutputStatistics() {
+		final var outputStream = context.outputStream;
+		return outputStream == null ? null : outputStream.getStatistics();
+	}
+
+	/**
+	 * @return the statistics of the requests and notifications exchanged with the
+	 *         language server since this wrapper was created
+	 * @since 0.19.5
+	 */
+	public LanguageServerTelemetry getTelemetry() {
+		return telemetry;
+	}
+
+	/**
+	 * @return the circuit breaker deciding whether optional requests are sent to this server
+	 * @since 0.19.5
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	/**
+	 * @return the resources used by the language server process and its
+	 *         descendants when last sampled, see
+	 *         {@link LanguageServerResourceGovernor}
+	 * @since 0.19.5
+	 */
+	public ProcessResourceUsage getResourceUsage() {
+		return resourceUsage;
+	}
+
+	void setResourceUsage(ProcessResourceUsage resourceUsage) {
+		this.resourceUsage = resourceUsage;
+	}
+
+	/**
+	 * @return for how long no request was sent and no document was connected
+	 */
+	long getIdleNanos() {
+		return System.nanoTime() - lastUseNanos;
+	}
+
+	/**
+	 * Records the messages passing the given consumer in the telemetry. Received
+	 * messages are recorded before they are handled, sent messages before they are
+	 * written.
+	 */
+	private MessageConsumer recordTelemetry(MessageConsumer consumer, @Nullable CountingInputStream input,
+			@Nullable MessageFramingOutputStream output) {
+		if (consumer instanceof RemoteEndpoint) {
+			// messages are read and consumed one after the other on the same thread
+			final var bytesRead = new long[1];
+			return message -> {
+				final long start = System.nanoTime();
+				long bytes = 0;
+				if (input != null) {
+					final long count = input.getCount();
+					bytes = count - bytesRead[0];
+					bytesRead[0] = count;
+				}
+				final String method = telemetry.recordReceived(message, bytes);
+				consumer.consume(message);
+				FlightRecorderEvents.message(serverDefinition.id, method, message, false, bytes, start);
+			};
+		}
+		if (consumer instanceof StreamMessageConsumer) {
+			return message -> {
+				final long start = System.nanoTime();
+				final String method = telemetry.recordSending(message);
+				consumer.consume(message);
+				final int bytes = output == null ? 0 : output.takeLastMessageSize();
+				if (method != null) {
+					telemetry.recordSentBytes(method, bytes);
+				}
+				FlightRecorderEvents.message(serverDefinition.id, method, message, true, bytes, start);
+			};
+		}
+		// the launcher builder wrapped the streams differently
+		return consumer;
+	}
+
 	@Nullable
 	public ProcessHandle getProcessHandle() {
 		return Adapters.adapt(context.lspStreamProvider, ProcessHandle.class);
@@ -732,6 +902,42 @@ public synchronized void stop() {
 		contextToStop.cancelled.set(true);
 
 		shutdown(contextToStop);
+		telemetry.clearPendingRequests();
+		telemetry.unregisterMBean();
+		responseCache.clear();
+		circuitBreaker.reset();
+		resourceUsage = ProcessResourceUsage.UNKNOWN;
+	}
+
+	/**
+	 * Stops the language server, keeping its documents to reconnect them once it
+	 * is started again.
+	 */
+	private synchronized void stopKeepingDocuments() {
+		final var filesToReconnect = new HashMap<URI, IDocument>(deferredDocuments);
+		synchronized (connectedDocuments) {
+			for (Entry<URI, DocumentContentSynchronizer> entry : this.connectedDocuments.entrySet()) {
+				filesToReconnect.put(entry.getKey(), entry.getValue().getDocument());
+			}
+		}
+		stop();
+		deferredDocuments.putAll(filesToReconnect);
+	}
+
+	/**
+	 * Stops an idle language server to free its resources. Its documents are
+	 * kept, and it is started again when one of them is used next. The buffers of
+	 * the documents are still tracked, so the documents closed meanwhile are
+	 * forgotten.
+	 */
+	synchronized void hibernate() {
+		if (this.context.languageServer == null) {
+			return;
+		}
+		stopKeepingDocuments();
+		if (!deferredDocuments.isEmpty()) {
+			FileBuffers.getTextFileBufferManager().addFileBufferListener(fileBufferListener);
+		}
 	}
 
 	private void shutdown(LanguageServerContext workingContext) {
@@ -750,8 +956,16 @@ private void shutdown(LanguageServerContext workingContext) {
 
 		CompletableFuture.runAsync(workingContext::close);
 
-		while (!this.connectedDocuments.isEmpty()) {
-			disconnect(this.connectedDocuments.keySet().iterator().next());
+		deferredDocuments.clear();
+		while (true) {
+			final URI uri;
+			synchronized (connectedDocuments) {
+				if (this.connectedDocuments.isEmpty()) {
+					break;
+				}
+				uri = this.connectedDocuments.keySet().iterator().next();
+			}
+			disconnect(uri);
 		}
 
 		FileBuffers.getTextFileBufferManager().removeFileBufferListener(fileBufferListener);
@@ -855,6 +1069,12 @@ private boolean supportsWorkspaceFolderCapability() {
 	 */
 	private @Nullable CompletableFuture<LanguageServerWrapper> connect(URI uri, @Nullable IDocument document) {
 		removeStopTimerTask();
+		lastUseNanos = System.nanoTime();
+		documentsLastUse.put(uri, lastUseNanos);
+		final IDocument deferredDocument = deferredDocuments.remove(uri);
+		if (document == null) {
+			document = deferredDocument;
+		}
 		if (this.connectedDocuments.containsKey(uri)) {
 			return CompletableFuture.completedFuture(this);
 		}
@@ -880,6 +1100,10 @@ private boolean supportsWorkspaceFolderCapability() {
 				final var listener = new DocumentContentSynchronizer(this, castNonNull(context.languageServer), theDocument, syncKind);
 				theDocument.addPrenotifiedDocumentListener(listener);
 				LanguageServerWrapper.this.connectedDocuments.put(uri, listener);
+				final int limit = getIntPreference(OPEN_DOCUMENTS_LIMIT_KEY, DEFAULT_OPEN_DOCUMENTS_LIMIT);
+				if (limit > 0 && connectedDocuments.size() > limit) {
+					closeLeastRecentlyUsedDocuments();
+				}
 			}
 		}).thenApply(theVoid -> this);
 	}
@@ -889,13 +1113,20 @@ private boolean supportsWorkspaceFolderCapability() {
 	 * @return null if not disconnection has happened, a future tracking the disconnection state otherwise
 	 */
 	public @Nullable CompletableFuture<@Nullable Void> disconnect(URI uri) {
-		DocumentContentSynchronizer documentListener = this.connectedDocuments.remove(uri);
+		final DocumentContentSynchronizer documentListener;
+		// documents are also closed from other threads, see closeDocument
+		synchronized (connectedDocuments) {
+			documentListener = this.connectedDocuments.remove(uri);
+		}
 		if (documentListener != null) {
 			documentListener.getDocument().removePrenotifiedDocumentListener(documentListener);
 			documentListener.documentClosed();
 			disconnectTextFileBuffer(uri);
 		}
-		if (this.connectedDocuments.isEmpty()) {
+		deferredDocuments.remove(uri);
+		documentsLastUse.remove(uri);
+		responseCache.invalidate(uri);
+		if (this.connectedDocuments.isEmpty() && deferredDocuments.isEmpty()) {
 			if (this.serverDefinition.lastDocumentDisconnectedTimeout != 0) {
 				startStopTimerTask();
 			} else {
@@ -918,7 +1149,11 @@ private static void disconnectTextFileBuffer(URI uri) {
 
 	public void disconnectContentType(IContentType contentType) {
 		final var urisToDisconnect = new ArrayList<URI>();
-		for (URI uri : connectedDocuments.keySet()) {
+		final List<URI> connected;
+		synchronized (connectedDocuments) {
+			connected = List.copyOf(connectedDocuments.keySet());
+		}
+		for (URI uri : connected) {
 			final var file = ArrayUtil.findFirst(ResourcesPlugin.getWorkspace().getRoot().findFilesForLocationURI(uri));
 			if (file != null && LSPEclipseUtils.getFileContentTypes(file).stream().anyMatch(contentType::equals)) {
 				urisToDisconnect.add(uri);
@@ -930,12 +1165,171 @@ public void disconnectContentType(IContentType contentType) {
 	}
 
 	/**
-	 * checks if the wrapper is already connected to the document at the given uri
+	 * checks if the wrapper is already connected to the document at the given uri,
+	 * or will reconnect it on first use after a restart
 	 *
 	 * @noreference test only
 	 */
 	public boolean isConnectedTo(URI uri) {
-		return connectedDocuments.containsKey(uri);
+		return connectedDocuments.containsKey(uri) || deferredDocuments.containsKey(uri);
+	}
+
+	/**
+	 * Reconnects the documents which were connected before a restart and are
+	 * shown in visible editors, the active one first, up to the limit set by the
+	 * {@link #RECONNECT_EAGER_LIMIT_KEY} preference. The other documents are only
+	 * reopened when they are used next, so a restart does not send the full text
+	 * of every open editor to the language server before the active editor works
+	 * again.
+	 */
+	private void reconnectVisibleDocuments() {
+		if (deferredDocuments.isEmpty()) {
+			return;
+		}
+		getVisibleDocumentsAsync().thenAccept(visible -> {
+			int remaining = getIntPreference(RECONNECT_EAGER_LIMIT_KEY, DEFAULT_RECONNECT_EAGER_LIMIT);
+			for (final URI uri : visible) {
+				if (remaining <= 0) {
+					break;
+				}
+				final IDocument document = deferredDocuments.get(uri);
+				if (document != null) {
+					connect(uri, document);
+					remaining--;
+				}
+			}
+		});
+	}
+
+	/**
+	 * Closes the least recently used documents which are neither dirty nor shown
+	 * in a visible editor, so no more documents than set by the
+	 * {@link #OPEN_DOCUMENTS_LIMIT_KEY} preference stay open in the language
+	 * server. The closed documents are reopened when they are used next.
+	 */
+	private void closeLeastRecentlyUsedDocuments() {
+		if (!documentsClosingScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		getVisibleDocumentsAsync().whenComplete((visible, error) -> {
+			documentsClosingScheduled.set(false);
+			if (visible == null) {
+				// the visible editors are unknown, the next document connected tries again
+				return;
+			}
+			final int limit = getIntPreference(OPEN_DOCUMENTS_LIMIT_KEY, DEFAULT_OPEN_DOCUMENTS_LIMIT);
+			final List<URI> toClose;
+			synchronized (connectedDocuments) {
+				final int excess = connectedDocuments.size() - limit;
+				if (limit <= 0 || excess <= 0) {
+					return;
+				}
+				toClose = connectedDocuments.entrySet().stream() //
+						.filter(entry -> !visible.contains(entry.getKey()) && !isDirty(entry.getValue().getDocument())) //
+						.map(Entry::getKey) //
+						.sorted(Comparator.comparingLong(uri -> documentsLastUse.getOrDefault(uri, 0L))) //
+						.limit(excess) //
+						.toList();
+			}
+			toClose.forEach(this::closeDocument);
+		});
+	}
+
+	/**
+	 * Closes all documents which are neither dirty nor shown in a visible editor,
+	 * e.g. to reduce the memory used by the language server. The closed documents
+	 * are reopened when they are used next.
+	 */
+	void closeInvisibleDocuments(Collection<URI> visible) {
+		final List<URI> toClose;
+		synchronized (connectedDocuments) {
+			toClose = connectedDocuments.entrySet().stream() //
+					.filter(entry -> !visible.contains(entry.getKey()) && !isDirty(entry.getValue().getDocument())) //
+					.map(Entry::getKey) //
+					.toList();
+		}
+		toClose.forEach(this::closeDocument);
+	}
+
+	private static boolean isDirty(IDocument document) {
+		final ITextFileBuffer buffer = LSPEclipseUtils.toBuffer(document);
+		return buffer != null && buffer.isDirty();
+	}
+
+	/**
+	 * Sends <code>didClose</code> for the given document, keeping it to reopen it
+	 * on next use.
+	 */
+	private void closeDocument(URI uri) {
+		final DocumentContentSynchronizer documentListener;
+		synchronized (connectedDocuments) {
+			documentListener = connectedDocuments.remove(uri);
+		}
+		if (documentListener == null) {
+			return;
+		}
+		final IDocument document = documentListener.getDocument();
+		document.removePrenotifiedDocumentListener(documentListener);
+		documentListener.documentClosed();
+		responseCache.invalidate(uri);
+		deferredDocuments.put(uri, document);
+		// if LSP4E loaded the document, it is disposed and forgotten, see fileBufferListener
+		disconnectTextFileBuffer(uri);
+	}
+
+	/**
+	 * @return the value of the given preference of this plug-in, or the given
+	 *         default if it is not set
+	 */
+	static int getIntPreference(String key, int defaultValue) {
+		final IPreferenceStore store = LanguageServerPlugin.getDefault().getPreferenceStore();
+		return store.contains(key) ? store.getInt(key) : defaultValue;
+	}
+
+	/**
+	 * @return a future with the URIs of the documents of the visible editors, the
+	 *         active one first. It fails with a {@link TimeoutException} if the UI
+	 *         thread is too busy to tell them within a second, so callers can tell
+	 *         that from no visible editor.
+	 */
+	static CompletableFuture<List<URI>> getVisibleDocumentsAsync() {
+		final var visibleDocuments = new CompletableFuture<List<URI>>();
+		if (PlatformUI.isWorkbenchRunning()) {
+			UI.getDisplay().asyncExec(() -> visibleDocuments.complete(getVisibleDocuments()));
+		} else {
+			visibleDocuments.complete(List.of());
+		}
+		return visibleDocuments.orTimeout(1, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * @return the URIs of the documents of the visible editors, the active one
+	 *         first
+	 */
+	private static List<URI> getVisibleDocuments() {
+		final var res = new LinkedHashSet<URI>();
+		final ITextEditor activeEditor = UI.getActiveTextEditor();
+		if (activeEditor != null) {
+			final URI uri = LSPEclipseUtils.toUri(LSPEclipseUtils.getDocument(activeEditor));
+			if (uri != null) {
+				res.add(uri);
+			}
+		}
+		for (final IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+			for (final IWorkbenchPage page : window.getPages()) {
+				for (final IEditorReference reference : page.getEditorReferences()) {
+					final IEditorPart editor = reference.getEditor(false);
+					final ITextEditor textEditor = editor == null ? null : UI.asTextEditor(editor);
+					if (textEditor != null && page.isPartVisible(editor)) {
+						final URI uri = LSPEclipseUtils.toUri(LSPEclipseUtils.getDocument(textEditor));
+						if (uri != null) {
+							res.add(uri);
+						}
+					}
+				}
+			}
+		}
+		return new ArrayList<>(res);
 	}
 
 	/**
@@ -979,8 +1373,8 @@ protected CompletableFuture<LanguageServer> getInitializedServer() {
 	public void sendNotification(Consumer<LanguageServer> fn) {
 		// Enqueues a notification on the dispatch thread associated with the wrapped language server. This
 		// ensures the interleaving of document updates and other requests in the UI is mirrored in the
-		// order in which they get dispatched to the server
-		getInitializedServer().thenAcceptAsync(fn, this.dispatcher);
+		// order in which they get dispatched to the server. Notifications are never overtaken by requests
+		getInitializedServer().thenAcceptAsync(fn, this.scheduler);
 	}
 
 	/**
@@ -1038,20 +1432,32 @@ public void sendNotification(Consumer<LanguageServer> fn) {
 	 * @return Async result
 	 */
 	<@Nullable T> CompletableFuture<T> executeImpl(Function<LanguageServer, ? extends CompletableFuture<T>> fn) {
+		return executeImpl(RequestPriority.NORMAL, fn);
+	}
+
+	/**
+	 * Runs a request on the language server with the given priority, see
+	 * {@link #executeImpl(Function)}
+	 */
+	<@Nullable T> CompletableFuture<T> executeImpl(RequestPriority priority,
+			Function<LanguageServer, ? extends CompletableFuture<T>> fn) {
 		// Run the supplied function, ensuring that it is enqueued on the dispatch thread associated with the
 		// wrapped language server, and is thus guaranteed to be seen in the correct order with respect
-		// to e.g. previous document changes
+		// to e.g. previous document changes. Requests of higher priority may overtake requests queued
+		// since the last notification
 		//
 		// Note this doesn't get the .thenApplyAsync(Function.identity()) chained on additionally, unlike
 		// the public-facing version of this method, because we trust the LSPExecutor implementations to
 		// make sure the server response thread doesn't get blocked by any further work
+		lastUseNanos = System.nanoTime();
 		final var request = new AtomicReference<@Nullable CompletableFuture<T>>();
 		Function<LanguageServer, CompletableFuture<T>> cancelWrapper = ls -> {
 			CompletableFuture<T> res = fn.apply(ls);
 			request.set(res);
 			return res;
 		};
-		CompletableFuture<T> res = getInitializedServer().thenComposeAsync(cancelWrapper, this.dispatcher);
+		CompletableFuture<T> res = getInitializedServer().thenComposeAsync(cancelWrapper,
+				this.scheduler.withPriority(priority));
 		res.exceptionally(e -> {
 			if (e instanceof CancellationException) {
 				CompletableFuture<T> stage = request.get();
@@ -1064,6 +1470,54 @@ public void sendNotification(Consumer<LanguageServer> fn) {
 		return res;
 	}
 
+	/**
+	 * Runs an idempotent document request on the language server, sharing the response with identical requests
+	 * for the same document version. Requests in flight are shared and completed responses are kept until the
+	 * document changes.
+	 *
+	 * @param <T> LS response type
+	 * @param method the LSP method of the request
+	 * @param document the document the request is about
+	 * @param params the parameters of the request, identical requests have equal parameters
+	 * @param fn sends the request with the given method and parameters and returns the response unchanged;
+	 * as for {@link #execute(Function)}, this should simply invoke a method of LSP4J
+	 * @return Async result
+	 * @since 0.19.5
+	 */
+	public <@Nullable T> CompletableFuture<T> executeShared(String method, IDocument document, Object params,
+			Function<LanguageServer, ? extends CompletableFuture<T>> fn) {
+		CompletableFuture<T> lsRequest = executeSharedImpl(RequestPriority.NORMAL, method, document, params, fn);
+		// as in execute(), deliver the response on the default ForkJoinPool and forward cancellation
+		CompletableFuture<T> future = lsRequest.thenApplyAsync(Function.identity());
+		future.exceptionally(t -> {
+			if (t instanceof CancellationException) {
+				lsRequest.cancel(true);
+			}
+			return null;
+		});
+		return future;
+	}
+
+	/**
+	 * Internal hook for the LSPexecutor implementations, see {@link #executeShared(String, IDocument, Object, Function)}
+	 */
+	<@Nullable T> CompletableFuture<T> executeSharedImpl(RequestPriority priority, String method, IDocument document,
+			Object params, Function<LanguageServer, ? extends CompletableFuture<T>> fn) {
+		final URI uri = LSPEclipseUtils.toUri(document);
+		final long version = DocumentUtil.getDocumentModificationStamp(document);
+		if (uri == null || version == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP) {
+			return executeImpl(priority, fn);
+		}
+		return responseCache.get(method, uri, version, params, () -> executeImpl(priority, fn));
+	}
+
+	/**
+	 * Forgets the shared responses for the given document, called when it changes.
+	 */
+	void invalidateSharedResponses(URI uri) {
+		responseCache.invalidate(uri);
+	}
+
 	public CompletableFuture<InitializeResult> getInitializeResultAsync() {
 		return getInitializedServer().thenCompose(ls -> {
 			final var initializeResult = this.initializeResult;
@@ -1101,6 +1555,24 @@ public CompletableFuture<InitializeResult> getInitializeResultAsync() {
 		return this.serverCapabilities;
 	}
 
+	/**
+	 * Returns the capabilities of the server without waiting for its
+	 * initialization: the actual capabilities if the server is initialized,
+	 * otherwise the capabilities it reported last time it was initialized, which
+	 * are persisted across sessions. The latter must only be used to enable
+	 * features early, requests are to be filtered on the actual capabilities
+	 * once known, see {@link #getServerCapabilitiesAsync()}.
+	 *
+	 * @return the known server capabilities, or null if the server was never
+	 *         initialized
+	 * @since 0.19.5
+	 */
+	public @Nullable ServerCapabilities getKnownServerCapabilities() {
+		final var serverCapabilities = this.serverCapabilities;
+		return serverCapabilities != null ? serverCapabilities
+				: ServerCapabilitiesStore.getInstance().load(serverDefinition.id);
+	}
+
 	public CompletableFuture<ServerCapabilities> getServerCapabilitiesAsync() {
 		return getInitializedServer().thenCompose(ls -> {
 			final var serverCapabilities = this.serverCapabilities;
@@ -1531,7 +2003,7 @@ public void resourceChanged(final IResourceChangeEvent event) {
 			// Offload potentially expensive glob matching and notification dispatching
 			// to the language-server dispatcher thread to avoid blocking the workspace
 			// resource change thread.
-			dispatcher.execute(() -> {
+			scheduler.execute(() -> {
 				final LanguageServer serverInContext = context.languageServer;
 				if (serverInContext == null || serverInContext != currentServer)
 					return;
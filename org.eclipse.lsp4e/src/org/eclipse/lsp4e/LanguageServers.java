@@ -15,10 +15,12 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.WeakHashMap;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +36,9 @@
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4e.LanguageServersRegistry.LanguageServerDefinition;
 import org.eclipse.lsp4e.internal.ArrayUtil;
+import org.eclipse.lsp4e.internal.CancellationUtil;
+import org.eclipse.lsp4e.internal.DocumentUtil;
+import org.eclipse.lsp4e.telemetry.CircuitBreaker;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
 import org.eclipse.lsp4j.services.LanguageServer;
@@ -121,12 +126,13 @@ public <T> CompletableFuture<List<T>> collectAll(BiFunction<? super LanguageServ
 	 * @return A list of pending results (note that these may be null or empty)
 	 */
 	public <T> List<CompletableFuture<@Nullable T>> computeAll(BiFunction<? super LanguageServerWrapper, LanguageServer, ? extends CompletableFuture<T>> fn) {
+		computeVersion();
 		return getServers().stream().map(serverFuture -> {
 					CompletableFuture<CompletableFuture<T>> requestFuture = serverFuture
-						.thenApply(w -> w == null ? CompletableFuture.completedFuture(null) : w.executeImpl(ls -> fn.apply(w, ls)));
+						.thenApply(w -> w == null ? CompletableFuture.completedFuture(null) : executeOn(w, ls -> fn.apply(w, ls)));
 					CompletableFuture<T> res = requestFuture.thenCompose(Function.identity());
 					requestFuture.thenAccept(request -> forwardCancellation(res, request));
-					return res;
+					return track(res);
 				}).toList();
 	}
 
@@ -212,6 +218,41 @@ public E withCapability(final Function<ServerCapabilities, Either<Boolean, ?>> s
 		return (E) this;
 	}
 
+	/**
+	 * Specifies the priority with which the requests are dispatched to the servers, by default
+	 * {@link RequestPriority#NORMAL}
+	 * @param priority Request priority
+	 * @since 0.19.5
+	 */
+	@SuppressWarnings("unchecked")
+	public E withPriority(final RequestPriority priority) {
+		this.priority = priority;
+		return (E) this;
+	}
+
+	RequestPriority getPriority() {
+		return priority;
+	}
+
+	/**
+	 * Specifies that the requests are optional: a server which does not answer within a timeout derived from its
+	 * observed latency for the given method, at most the given timeout, contributes no result and its request is
+	 * cancelled. A request which timed out counts with the timeout as its latency, so the timeout grows again
+	 * when a server slows down. Servers which keep timing out are left out for a while, see {@link CircuitBreaker}.
+	 * Not meant for requests the user explicitly waits for, like completion.
+	 *
+	 * @param method LSP method of the requests, to look up the latency of the servers
+	 * @param maxTimeoutMillis timeout in milliseconds if there is no better estimate
+	 * @since 0.19.5
+	 */
+	@SuppressWarnings("unchecked")
+	public E withAdaptiveTimeout(final String method, final long maxTimeoutMillis) {
+		Assert.isLegal(this.timeoutMethod == null);
+		this.timeoutMethod = method;
+		this.maxTimeoutMillis = maxTimeoutMillis;
+		return (E) this;
+	}
+
 	/**
 	 *
 	 * @return Predicate that will be used to determine which servers this executor will use
@@ -252,7 +293,50 @@ public boolean anyMatching() {
 	@SuppressWarnings("null")
 	public static class LanguageServerDocumentExecutor extends LanguageServers<LanguageServerDocumentExecutor> {
 
+		/** requests which can be superseded, by document and feature key */
+		private static final Map<IDocument, Map<String, SupersedableRequests>> SUPERSEDABLE_REQUESTS = new WeakHashMap<>();
+
+		/** the outstanding requests of one feature for one document version */
+		private static final class SupersedableRequests {
+			final long version;
+			private final List<CompletableFuture<?>> requests = new ArrayList<>();
+			private boolean superseded;
+
+			SupersedableRequests(long version) {
+				this.version = version;
+			}
+
+			void add(CompletableFuture<?> request) {
+				synchronized (this) {
+					if (!superseded) {
+						requests.add(request);
+						request.whenComplete((r, t) -> remove(request));
+						return;
+					}
+				}
+				request.cancel(true);
+			}
+
+			synchronized void remove(CompletableFuture<?> request) {
+				requests.remove(request);
+			}
+
+			void supersede() {
+				final List<CompletableFuture<?>> toCancel;
+				synchronized (this) {
+					superseded = true;
+					toCancel = List.copyOf(requests);
+					requests.clear();
+				}
+				toCancel.forEach(request -> request.cancel(true));
+			}
+		}
+
 		private final IDocument document;
+		private @Nullable String sharedMethod;
+		private @Nullable Object sharedParams;
+		private @Nullable String supersessionKey;
+		private @Nullable SupersedableRequests supersedableRequests;
 
 		protected LanguageServerDocumentExecutor(final IDocument document) {
 			this.document = document;
@@ -262,6 +346,108 @@ public IDocument getDocument() {
 			return this.document;
 		}
 
+		/**
+		 * Lets the requests of this executor supersede the outstanding requests of the same feature for an older
+		 * version of the document: those are cancelled, which sends a <code>$/cancelRequest</code> to the server.
+		 * Additionally the requests of this executor complete exceptionally instead of returning a response if the
+		 * document was modified while they were in flight. The returned futures are then not
+		 * {@link CompletableFuture#isCancelled() cancelled}: they fail with a
+		 * {@link java.util.concurrent.CompletionException} whose cause is a {@link CancellationException}, so
+		 * callers check the cause to tell superseded requests from failed ones. The function passed to this
+		 * executor is not invoked at all if the document was modified before the server was ready to receive the
+		 * request.
+		 * Once invoked, anything the function chains to the request of the server still runs, only its result is
+		 * dropped, so post-processing belongs on the returned future.
+		 *
+		 * @param featureKey Identifies the feature sending the requests, e.g. the LSP method
+		 * @since 0.19.5
+		 */
+		public LanguageServerDocumentExecutor withSupersession(final String featureKey) {
+			Assert.isLegal(this.supersessionKey == null);
+			this.supersessionKey = featureKey;
+			return this;
+		}
+
+		/**
+		 * Shares the responses of the requests of this executor with identical requests for the same document
+		 * version, see {@link LanguageServerWrapper#executeShared(String, IDocument, Object, Function)}. The
+		 * function passed to this executor must send the request with the given method and parameters and return
+		 * the response unchanged.
+		 *
+		 * @param method the LSP method of the request
+		 * @param params the parameters of the request
+		 * @since 0.19.5
+		 */
+		public LanguageServerDocumentExecutor withSharedResponse(final String method, final Object params) {
+			Assert.isLegal(this.sharedMethod == null);
+			this.sharedMethod = method;
+			this.sharedParams = params;
+			return this;
+		}
+
+		@Override
+		<@Nullable T> CompletableFuture<T> send(LanguageServerWrapper wrapper,
+				Function<LanguageServer, ? extends CompletableFuture<T>> fn) {
+			final var requests = supersedableRequests;
+			final Function<LanguageServer, ? extends CompletableFuture<T>> request = requests == null ? fn
+					// the document may have moved on while waiting for the server
+					: ls -> isStale(requests) ? CompletableFuture.failedFuture(new CancellationException()) : fn.apply(ls);
+			final String method = sharedMethod;
+			final Object params = sharedParams;
+			if (method == null || params == null) {
+				return super.send(wrapper, request);
+			}
+			return wrapper.executeSharedImpl(getPriority(), method, document, params, request);
+		}
+
+		private boolean isStale(final SupersedableRequests requests) {
+			return DocumentUtil.getDocumentModificationStamp(document) != requests.version;
+		}
+
+		@Override
+		protected void computeVersion() {
+			final String key = supersessionKey;
+			if (key == null) {
+				return;
+			}
+			final long version = DocumentUtil.getDocumentModificationStamp(document);
+			final SupersedableRequests previous;
+			final SupersedableRequests current;
+			synchronized (SUPERSEDABLE_REQUESTS) {
+				final Map<String, SupersedableRequests> byFeature = SUPERSEDABLE_REQUESTS.computeIfAbsent(document,
+						d -> new HashMap<>());
+				previous = byFeature.get(key);
+				if (previous != null && previous.version == version) {
+					current = previous;
+				} else {
+					current = new SupersedableRequests(version);
+					byFeature.put(key, current);
+				}
+			}
+			if (previous != null && previous != current) {
+				previous.supersede();
+			}
+			this.supersedableRequests = current;
+		}
+
+		@Override
+		protected <T> CompletableFuture<T> track(CompletableFuture<T> request) {
+			final var requests = supersedableRequests;
+			if (requests == null) {
+				return request;
+			}
+			final CompletableFuture<T> res = request.thenApply(response -> {
+				if (isStale(requests)) {
+					// the document has moved on, drop the stale response
+					throw new CancellationException();
+				}
+				return response;
+			});
+			forwardCancellation(res, request);
+			requests.add(res);
+			return res;
+		}
+
 		CompletableFuture<@Nullable LanguageServerWrapper> connect(CompletableFuture<@Nullable LanguageServerWrapper> wrapperFuture) {
 			return wrapperFuture.thenCompose(wrapper -> {
 				if (wrapper != null) {
@@ -292,8 +478,34 @@ public IDocument getDocument() {
 
 		@Override
 		public boolean anyMatching() {
-			return LanguageServiceAccessor.getLSWrappers(document).stream()
-					.map(this::filter).anyMatch(this::matches);
+			return LanguageServiceAccessor.getLSWrappers(document).stream().anyMatch(wrapper -> {
+				final CompletableFuture<@Nullable LanguageServerWrapper> filtered = filter(wrapper);
+				final ServerCapabilities knownCapabilities = wrapper.getKnownServerCapabilities();
+				if (!filtered.isDone() && knownCapabilities != null) {
+					// do not wait for a server which is initializing, use its persisted capabilities
+					return getFilter().test(knownCapabilities);
+				}
+				return matches(filtered);
+			});
+		}
+
+		/**
+		 * Returns without waiting for the servers to initialize the capabilities of
+		 * the servers for the document which match the filter, see
+		 * {@link LanguageServerWrapper#getKnownServerCapabilities()}. Servers whose
+		 * capabilities are unknown are left out.
+		 *
+		 * @since 0.19.5
+		 */
+		public List<ServerCapabilities> getKnownCapabilities() {
+			final var res = new ArrayList<ServerCapabilities>();
+			for (final LanguageServerWrapper wrapper : LanguageServiceAccessor.getLSWrappers(document)) {
+				final ServerCapabilities knownCapabilities = wrapper.getKnownServerCapabilities();
+				if (knownCapabilities != null && getFilter().test(knownCapabilities)) {
+					res.add(knownCapabilities);
+				}
+			}
+			return res;
 		}
 	}
 
@@ -384,6 +596,59 @@ protected Collection<LanguageServerWrapper> order(Collection<LanguageServerWrapp
 	 */
 	protected void computeVersion() {}
 
+	/**
+	 * Sends the request to the given server - for subclasses to share requests
+	 */
+	<@Nullable T> CompletableFuture<T> send(LanguageServerWrapper wrapper,
+			Function<LanguageServer, ? extends CompletableFuture<T>> fn) {
+		return wrapper.executeImpl(priority, fn);
+	}
+
+	/**
+	 * Sends the request to the given server, applying the adaptive timeout if any
+	 */
+	private <@Nullable T> CompletableFuture<T> executeOn(LanguageServerWrapper wrapper,
+			Function<LanguageServer, ? extends CompletableFuture<T>> fn) {
+		final String method = timeoutMethod;
+		if (method == null) {
+			return send(wrapper, fn);
+		}
+		final CircuitBreaker circuitBreaker = wrapper.getCircuitBreaker();
+		if (!circuitBreaker.allowRequest()) {
+			// the server keeps timing out, leave it out
+			return CompletableFuture.completedFuture(null);
+		}
+		final long timeout = wrapper.getTelemetry().getAdaptiveTimeoutMillis(method, maxTimeoutMillis);
+		final CompletableFuture<T> request = send(wrapper, fn);
+		request.whenComplete((response, error) -> {
+			if (!CancellationUtil.isRequestCancelledException(error)) {
+				circuitBreaker.recordResponse();
+			}
+		});
+		final CompletableFuture<T> res = request.thenApply(Function.identity());
+		res.completeOnTimeout(null, timeout, TimeUnit.MILLISECONDS);
+		res.whenComplete((response, error) -> {
+			if (res.isCancelled()) {
+				request.cancel(true);
+			} else if (!request.isDone()) {
+				circuitBreaker.recordTimeout();
+				wrapper.getTelemetry().recordTimeout(method, timeout);
+				request.cancel(true);
+			}
+		});
+		return res;
+	}
+
+	/**
+	 * Hook called with the request sent to each server - for subclasses to track or post-process the requests
+	 *
+	 * @return the request to be used instead of the given one
+	 * @since 0.19.5
+	 */
+	protected <T> CompletableFuture<T> track(CompletableFuture<T> request) {
+		return request;
+	}
+
 	/**
 	 *
 	 * Safely generate a stream that can be e.g. used with flatMap: caters for null (rather than empty)
@@ -438,14 +703,15 @@ public static <T> CompletableFuture<List<T>> addAll(CompletableFuture<List<T>> a
 	 */
 	private <@Nullable T> Stream<CompletableFuture<T>> executeOnServers(
 			BiFunction<? super LanguageServerWrapper, LanguageServer, ? extends CompletableFuture<T>> fn) {
+		computeVersion();
 		return getServers().stream().map(serverFuture -> {
 			// wrap in AtomicReference to allow dereferencing in downstream future
 			CompletableFuture<CompletableFuture<T>> lsRequestFuture = serverFuture.thenApply(w -> w == null
 				? CompletableFuture.completedFuture(null)
-				: w.executeImpl(ls -> fn.apply(w, ls)));
+				: executeOn(w, ls -> fn.apply(w, ls)));
 			CompletableFuture<T> res = lsRequestFuture.thenCompose(Function.identity());
 			lsRequestFuture.thenAccept(request -> forwardCancellation(res, request));
-			return res;
+			return track(res);
 		});
 	}
 
@@ -482,6 +748,9 @@ public static LanguageServerProjectExecutor forProject(final @Nullable IProject
 
 	private static final Predicate<ServerCapabilities> NO_FILTER = s -> true;
 	private Predicate<ServerCapabilities> filter = NO_FILTER;
+	private RequestPriority priority = RequestPriority.NORMAL;
+	private @Nullable String timeoutMethod;
+	private long maxTimeoutMillis;
 
 	protected @Nullable LanguageServerDefinition serverDefinition;
 }
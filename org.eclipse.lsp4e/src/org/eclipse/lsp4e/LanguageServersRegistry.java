@@ -464,6 +464,15 @@ public boolean canUseLanguageServer(IFile file) {
 		return !getAvailableLSFor(LSPEclipseUtils.getFileContentTypes(file), file.getLocationURI()).isEmpty();
 	}
 
+	/**
+	 * @param file
+	 * @return the definitions of the language servers suitable for the given file
+	 * @since 0.19.5
+	 */
+	public Set<LanguageServerDefinition> getAvailableLanguageServers(IFile file) {
+		return getAvailableLSFor(LSPEclipseUtils.getFileContentTypes(file), file.getLocationURI());
+	}
+
 	/**
 	 *
 	 * @param contentTypes content-types to check against LS registry. Base types are checked too.
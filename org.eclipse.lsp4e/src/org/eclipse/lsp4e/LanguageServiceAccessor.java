@@ -191,10 +191,19 @@ public static void enableLanguageServerContentType(
 	 * @return The result of applying the capabilities of {@code wrapper} to
 	 *         {@code capabilitiesPredicate}, or {@code true} if
 	 *         {@code capabilitiesPredicate == null} or
-	 *         {@code wrapper.getServerCapabilities() == null}
+	 *         {@code wrapper.getServerCapabilities() == null}. The capabilities
+	 *         persisted from the last initialization are used while the server
+	 *         initializes.
 	 */
 	private static boolean capabilitiesComply(LanguageServerWrapper wrapper,
 			@Nullable Predicate<ServerCapabilities> capabilitiesPredicate) {
+		final ServerCapabilities knownCapabilities = capabilitiesPredicate == null ? null
+				: wrapper.getKnownServerCapabilities();
+		if (capabilitiesPredicate != null && knownCapabilities != null) {
+			// start the server like getServerCapabilities() does, without waiting for it
+			wrapper.getInitializedServer();
+			return capabilitiesPredicate.test(knownCapabilities);
+		}
 		return capabilitiesPredicate == null
 				/*
 				 * next null check is workaround for https://github.com/TypeFox/ls-api/issues/47
@@ -22,6 +22,7 @@
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Adapters;
@@ -205,9 +206,9 @@ public int read(byte[] b, int off, int len) throws IOException {
 		if (provider.getOutputStream() != null) {
 			outputStream = new FilterOutputStream(provider.getOutputStream()) {
 				@Override
-				public void write(byte[] b) throws IOException {
+				public void write(byte[] b, int off, int len) throws IOException {
 					if (logToConsole || logToFile) {
-						String s = message(Direction.LSP4E_TO_LANGUAGE_SERVER, b);
+						String s = message(Direction.LSP4E_TO_LANGUAGE_SERVER, Arrays.copyOfRange(b, off, off + len));
 						if (logToConsole) {
 							logToConsole(s);
 						}
@@ -215,7 +216,8 @@ public void write(byte[] b) throws IOException {
 							logToFile(s);
 						}
 					}
-					super.write(b);
+					// FilterOutputStream would otherwise write byte by byte
+					out.write(b, off, len);
 				}
 			};
 		}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e;
+
+/**
+ * Priority with which a request is dispatched to a language server. Requests
+ * sent to a language server after the same notification are dispatched by
+ * priority, so a request of higher priority overtakes requests of lower
+ * priority which were queued before it for the same document version.
+ * Notifications are never overtaken and are never overtaking, so the document
+ * state seen by the language server does not depend on the priority.
+ *
+ * @see LanguageServers#withPriority(RequestPriority)
+ * @since 0.19.5
+ */
+public enum RequestPriority {
+
+	/**
+	 * Requests a user waits for, like completion, hover or signature help.
+	 */
+	INTERACTIVE,
+
+	/**
+	 * The default priority.
+	 */
+	NORMAL,
+
+	/**
+	 * Requests triggered by reconciling a document, like code lens, inlay hints,
+	 * semantic tokens, folding or document links.
+	 */
+	BACKGROUND
+}
@@ -18,6 +18,7 @@
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.lsp4e.internal.DocumentUtil;
+import org.eclipse.lsp4e.internal.MinimalTextEdits;
 import org.eclipse.lsp4j.TextEdit;
 
 /**
@@ -57,7 +58,8 @@ public int apply(int caretOffset) throws BadLocationException, ConcurrentModific
 		if (this.sourceDocumentVersion != DocumentUtil.getDocumentModificationStamp(this.document)) {
 			throw new ConcurrentModificationException();
 		} else {
-			return LSPEclipseUtils.applyEdits(this.document, data, caretOffset);
+			// keep the unchanged text, and so the markers and positions on it, when the server replaces whole lines or the whole document
+			return LSPEclipseUtils.applyEdits(this.document, MinimalTextEdits.minimize(this.document, data), caretOffset);
 		}
 	}
 }
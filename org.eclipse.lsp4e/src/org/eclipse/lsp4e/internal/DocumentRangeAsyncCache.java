@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Per-document cache for asynchronous results which apply to a range of the
+ * document, like a hover answered for a whole identifier. A result is stored
+ * under the range it reports, and then answers any offset inside that range,
+ * rather than only the offset it was computed for.
+ *
+ * <p>
+ * Like {@link DocumentOffsetAsyncCache}:
+ * <li>Weakly keys by {@link IDocument} to avoid memory leaks.
+ * <li>Eviction: TTL-based using {@link System#nanoTime()} and document-change
+ * invalidation when a stable modification stamp is available. At most
+ * {@link #MAX_ENTRIES_PER_DOCUMENT} results are kept per document.
+ * <li>In-flight de-duplication: only one running task per document+offset.
+ * <li>Stale-result protection: if the document changes while a value is being
+ * computed, the result is delivered to callers but is not cached.
+ */
+public final class DocumentRangeAsyncCache<V> {
+
+	private static final int MAX_ENTRIES_PER_DOCUMENT = 32;
+
+	/**
+	 * a result for the offsets from start included to end excluded, or only for
+	 * start if both are equal
+	 */
+	private record Entry<V>(int start, int end, V value, long createdNanos, long docModStamp) {
+		boolean contains(final int offset) {
+			return start == end ? offset == start : start <= offset && offset < end;
+		}
+	}
+
+	private final Map<IDocument, Deque<Entry<V>>> cache = Collections.synchronizedMap(new WeakHashMap<>());
+	private final Map<IDocument, ConcurrentMap<Integer, CompletableFuture<V>>> inFlight = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	private final long ttlNanos;
+	private final BiFunction<IDocument, V, @Nullable IRegion> rangeProvider;
+
+	/**
+	 * @param rangeProvider
+	 *            computes the range of the document a result applies to,
+	 *            <code>null</code> if it only applies to the offset it was
+	 *            computed for
+	 */
+	public DocumentRangeAsyncCache(final Duration ttl,
+			final BiFunction<IDocument, V, @Nullable IRegion> rangeProvider) {
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl.toMillis());
+		this.rangeProvider = rangeProvider;
+	}
+
+	/**
+	 * Returns the cached value whose range contains the given offset if present
+	 * and valid; otherwise returns the single running task for this offset or
+	 * starts one via {@code supplier}. Results computed for an older stamp are
+	 * not cached.
+	 */
+	public CompletableFuture<V> computeIfAbsent(final IDocument doc, final int offset,
+			final Supplier<CompletableFuture<V>> supplier) {
+		final @Nullable V cachedNow = getNow(doc, offset);
+		if (cachedNow != null)
+			return CompletableFuture.completedFuture(cachedNow);
+
+		final ConcurrentMap<Integer, CompletableFuture<V>> byOffset = inFlight.computeIfAbsent(doc,
+				d -> new ConcurrentHashMap<>());
+		final var result = new CompletableFuture<V>();
+		final CompletableFuture<V> running = byOffset.putIfAbsent(offset, result);
+		if (running != null)
+			return running;
+
+		final long startStamp = DocumentUtil.getDocumentModificationStamp(doc);
+		// the task may complete right away, so it is started outside of the map
+		supplier.get().whenComplete((v, t) -> {
+			byOffset.remove(offset, result);
+			if (t != null) {
+				result.completeExceptionally(t);
+				return;
+			}
+			if (v != null && startStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+					&& startStamp == DocumentUtil.getDocumentModificationStamp(doc)) {
+				put(doc, offset, v, startStamp);
+			}
+			// completed once cached, so callers can rely on the cache from then on
+			result.complete(v);
+		});
+		return result;
+	}
+
+	/**
+	 * @return the valid cached value whose range contains the given offset, the
+	 *         most recent one if several do, or <code>null</code>
+	 */
+	public @Nullable V getNow(final IDocument doc, final int offset) {
+		final Deque<Entry<V>> entries = cache.get(doc);
+		if (entries == null)
+			return null;
+
+		final long nowStamp = DocumentUtil.getDocumentModificationStamp(doc);
+		final long now = System.nanoTime();
+		synchronized (entries) {
+			if (!entries.isEmpty() && entries.getFirst().docModStamp != nowStamp) {
+				// all entries are for the same stamp, so the document changed since
+				entries.clear();
+				return null;
+			}
+			entries.removeIf(e -> now - e.createdNanos > ttlNanos);
+			for (final Entry<V> e : entries) {
+				if (e.contains(offset)) {
+					return e.value;
+				}
+			}
+		}
+		return null;
+	}
+
+	public void invalidate(final IDocument doc) {
+		cache.remove(doc);
+		final var map = inFlight.remove(doc);
+		if (map != null) {
+			map.values().forEach(f -> f.cancel(true));
+		}
+	}
+
+	private void put(final IDocument doc, final int offset, final V value, final long stamp) {
+		final @Nullable IRegion range = rangeProvider.apply(doc, value);
+		final var entry = range != null && range.getOffset() <= offset
+				&& offset < range.getOffset() + range.getLength()
+						? new Entry<>(range.getOffset(), range.getOffset() + range.getLength(), value,
+								System.nanoTime(), stamp)
+						: new Entry<>(offset, offset, value, System.nanoTime(), stamp);
+		final Deque<Entry<V>> entries = cache.computeIfAbsent(doc, d -> new ArrayDeque<>());
+		synchronized (entries) {
+			if (!entries.isEmpty() && entries.getFirst().docModStamp != stamp) {
+				entries.clear();
+			}
+			entries.addFirst(entry);
+			if (entries.size() > MAX_ENTRIES_PER_DOCUMENT) {
+				entries.removeLast();
+			}
+		}
+	}
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Shares the responses of idempotent document requests of one language server,
+ * like <code>textDocument/documentSymbol</code> or
+ * <code>textDocument/foldingRange</code>, between the features sending them for
+ * the same document version.
+ * <p>
+ * Requests are keyed by method, document URI, document version and parameters,
+ * so the parameters must implement {@link Object#equals(Object)}, as the LSP4J
+ * classes do. Requests in flight are shared, and completed responses are kept
+ * until the document is changed or closed. Requests keyed by a position, like
+ * <code>textDocument/selectionRange</code> on each caret move, would add up on a
+ * document which is read but not edited, so at most
+ * {@link #MAX_RESPONSES_PER_DOCUMENT} responses are kept per document, the least
+ * recently used ones are dropped first. Each caller gets its own future:
+ * cancelling it cancels the request only if all callers sharing it cancelled
+ * theirs.
+ */
+public final class DocumentResponseCache {
+
+	public static final int MAX_RESPONSES_PER_DOCUMENT = 32;
+
+	private record Key(String method, URI uri, long version, Object params) {
+	}
+
+	private final class SharedResponse {
+		final Key key;
+		final CompletableFuture<@Nullable Object> response = new CompletableFuture<>();
+		/** callers waiting for the response, guarded by {@link DocumentResponseCache#responses} */
+		int consumers;
+
+		SharedResponse(Key key) {
+			this.key = key;
+		}
+
+		void release() {
+			synchronized (responses) {
+				if (--consumers > 0 || response.isDone()) {
+					return;
+				}
+				removeLocked(this);
+			}
+			response.cancel(true);
+		}
+	}
+
+	/** the responses by document, least recently used first */
+	private final Map<URI, Map<Key, SharedResponse>> responses = new HashMap<>();
+
+	/**
+	 * Returns the response of the given request, sending the request only if no
+	 * identical request was sent for the same document version.
+	 *
+	 * @param request
+	 *            sends the request, its result must be the unchanged response of
+	 *            the language server to the given method and parameters
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> get(String method, URI uri, long version, Object params,
+			Supplier<CompletableFuture<T>> request) {
+		final var key = new Key(method, uri, version, params);
+		final SharedResponse shared;
+		final boolean send;
+		synchronized (responses) {
+			final Map<Key, SharedResponse> documentResponses = responses.computeIfAbsent(uri,
+					u -> new LinkedHashMap<>(16, 0.75f, true) {
+						private static final long serialVersionUID = 1L;
+
+						@Override
+						protected boolean removeEldestEntry(Map.Entry<Key, SharedResponse> eldest) {
+							// a request in flight is still answered, it is only not shared anymore
+							return size() > MAX_RESPONSES_PER_DOCUMENT;
+						}
+					});
+			final SharedResponse existing = documentResponses.get(key);
+			send = existing == null;
+			shared = send ? new SharedResponse(key) : existing;
+			shared.consumers++;
+			if (send) {
+				documentResponses.put(key, shared);
+			}
+		}
+		if (send) {
+			final CompletableFuture<T> sent = request.get();
+			sent.whenComplete((response, error) -> {
+				if (error != null) {
+					remove(shared);
+					shared.response.completeExceptionally(error);
+				} else {
+					shared.response.complete(response);
+				}
+			});
+			shared.response.whenComplete((response, error) -> {
+				if (shared.response.isCancelled()) {
+					sent.cancel(true);
+				}
+			});
+		}
+		final CompletableFuture<T> res = (CompletableFuture<T>) shared.response.thenApply(Function.identity());
+		res.whenComplete((response, error) -> {
+			if (res.isCancelled()) {
+				shared.release();
+			}
+		});
+		return res;
+	}
+
+	private void remove(SharedResponse shared) {
+		synchronized (responses) {
+			removeLocked(shared);
+		}
+	}
+
+	private void removeLocked(SharedResponse shared) {
+		final Map<Key, SharedResponse> documentResponses = responses.get(shared.key.uri());
+		if (documentResponses != null && documentResponses.remove(shared.key, shared)
+				&& documentResponses.isEmpty()) {
+			responses.remove(shared.key.uri());
+		}
+	}
+
+	/**
+	 * Forgets the responses for the given document, e.g. because it changed.
+	 */
+	public void invalidate(URI uri) {
+		synchronized (responses) {
+			responses.remove(uri);
+		}
+	}
+
+	public void clear() {
+		synchronized (responses) {
+			responses.clear();
+		}
+	}
+}
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events of LSP4E. All events are disabled by default and
+ * have to be enabled in the recording settings, e.g. with a custom
+ * {@code .jfc} file or in JDK Mission Control.
+ * <p>
+ * The durations are measured with {@link System#nanoTime()} by the callers and
+ * recorded in an {@code elapsed} field, because the events are committed after
+ * the fact, sometimes on another thread. Creating an event which is not enabled
+ * is optimized away by the JIT, so emitting costs close to nothing while no
+ * recording is active. Callers which have to compute arguments, like the path
+ * of a resource, check whether the event is enabled first. If the
+ * {@code jdk.jfr} module is not available, nothing is emitted.
+ */
+public final class FlightRecorderEvents {
+
+	private static final String CATEGORY = "LSP4E"; //$NON-NLS-1$
+
+	private static final boolean AVAILABLE = isAvailable();
+
+	private FlightRecorderEvents() {
+	}
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader()); //$NON-NLS-1$
+			return true;
+		} catch (ClassNotFoundException | LinkageError ex) {
+			return false;
+		}
+	}
+
+	@Name("org.eclipse.lsp4e.Message")
+	@Label("LSP Message")
+	@Description("A JSON-RPC message sent to or received from a language server")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class MessageEvent extends Event {
+		@Label("Server Id")
+		@Nullable String serverId;
+		@Label("Method")
+		@Nullable String method;
+		@Label("Kind")
+		@Nullable String kind;
+		@Label("Sent")
+		boolean sent;
+		@Label("Size")
+		@DataAmount
+		long size;
+		@Label("Elapsed Time")
+		@Description("Time spent writing respectively dispatching the message")
+		@Timespan
+		long elapsed;
+	}
+
+	@Name("org.eclipse.lsp4e.Request")
+	@Label("LSP Request")
+	@Description("A completed request, from sending the request to receiving the response")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class RequestEvent extends Event {
+		@Label("Server Id")
+		@Nullable String serverId;
+		@Label("Method")
+		@Nullable String method;
+		@Label("Sent by Client")
+		boolean sentByClient;
+		@Label("Outcome")
+		@Nullable String outcome;
+		@Label("Elapsed Time")
+		@Timespan
+		long elapsed;
+	}
+
+	@Name("org.eclipse.lsp4e.DocumentSync")
+	@Label("LSP Document Sync")
+	@Description("Changes of a document sent to a language server")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class DocumentSyncEvent extends Event {
+		@Label("Server Id")
+		@Nullable String serverId;
+		@Label("Document")
+		@Nullable String uri;
+		@Label("Sync Kind")
+		@Nullable String syncKind;
+		@Label("Version")
+		int version;
+		@Label("Changes")
+		int changes;
+		@Label("Elapsed Time")
+		@Timespan
+		long elapsed;
+	}
+
+	@Name("org.eclipse.lsp4e.DiagnosticsToMarkers")
+	@Label("LSP Diagnostics to Markers")
+	@Description("Update of the markers of a resource from published diagnostics")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class DiagnosticsToMarkersEvent extends Event {
+		@Label("Server Id")
+		@Nullable String serverId;
+		@Label("Resource")
+		@Nullable String resource;
+		@Label("Diagnostics")
+		int diagnostics;
+		@Label("Elapsed Time")
+		@Timespan
+		long elapsed;
+	}
+
+	@Name("org.eclipse.lsp4e.SemanticTokensReconcile")
+	@Label("LSP Semantic Tokens Reconcile")
+	@Description("Full semantic tokens reconcile of a document")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class SemanticTokensReconcileEvent extends Event {
+		@Label("Document")
+		@Nullable String uri;
+		@Label("Tokens")
+		int tokens;
+		@Label("Outcome")
+		@Nullable String outcome;
+		@Label("Elapsed Time")
+		@Timespan
+		long elapsed;
+	}
+
+	@Name("org.eclipse.lsp4e.InitializationStage")
+	@Label("LSP Initialization Stage")
+	@Description("A stage of starting and initializing a language server")
+	@Category(CATEGORY)
+	@Enabled(false)
+	@StackTrace(false)
+	static final class InitializationStageEvent extends Event {
+		@Label("Server Id")
+		@Nullable String serverId;
+		@Label("Stage")
+		@Nullable String stage;
+		@Label("Elapsed Time")
+		@Timespan
+		long elapsed;
+	}
+
+	/**
+	 * @param method
+	 *            the method of the message, for responses the method of the request
+	 * @param startNanos
+	 *            {@link System#nanoTime()} before the message was handed to the
+	 *            consumer
+	 */
+	public static void message(String serverId, @Nullable String method, Message message, boolean sent, long size,
+			long startNanos) {
+		if (AVAILABLE) {
+			Emitter.message(serverId, method, message, sent, size, startNanos);
+		}
+	}
+
+	public static void request(String serverId, String method, boolean sentByClient, String outcome,
+			long durationNanos) {
+		if (AVAILABLE) {
+			Emitter.request(serverId, method, sentByClient, outcome, durationNanos);
+		}
+	}
+
+	public static void documentSync(String serverId, String uri, String syncKind, int version, int changes,
+			long startNanos) {
+		if (AVAILABLE) {
+			Emitter.documentSync(serverId, uri, syncKind, version, changes, startNanos);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if {@link #diagnosticsToMarkers} events are
+	 *         recorded
+	 */
+	public static boolean isDiagnosticsToMarkersEnabled() {
+		return AVAILABLE && Emitter.isDiagnosticsToMarkersEnabled();
+	}
+
+	public static void diagnosticsToMarkers(String serverId, String resource, int diagnostics, long startNanos) {
+		if (AVAILABLE) {
+			Emitter.diagnosticsToMarkers(serverId, resource, diagnostics, startNanos);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if {@link #semanticTokensReconcile} events are
+	 *         recorded
+	 */
+	public static boolean isSemanticTokensReconcileEnabled() {
+		return AVAILABLE && Emitter.isSemanticTokensReconcileEnabled();
+	}
+
+	public static void semanticTokensReconcile(@Nullable String uri, int tokens, String outcome, long startNanos) {
+		if (AVAILABLE) {
+			Emitter.semanticTokensReconcile(uri, tokens, outcome, startNanos);
+		}
+	}
+
+	public static void initializationStage(String serverId, String stage, long durationNanos) {
+		if (AVAILABLE) {
+			Emitter.initializationStage(serverId, stage, durationNanos);
+		}
+	}
+
+	/**
+	 * The only class referencing the event classes, so they are not loaded if
+	 * {@code jdk.jfr} is not available.
+	 */
+	private static final class Emitter {
+
+		static void message(String serverId, @Nullable String method, Message message, boolean sent, long size,
+				long startNanos) {
+			final var event = new MessageEvent();
+			if (event.shouldCommit()) {
+				event.serverId = serverId;
+				event.method = method;
+				if (message instanceof RequestMessage) {
+					event.kind = "request"; //$NON-NLS-1$
+				} else if (message instanceof NotificationMessage) {
+					event.kind = "notification"; //$NON-NLS-1$
+				} else if (message instanceof ResponseMessage) {
+					event.kind = "response"; //$NON-NLS-1$
+				}
+				event.sent = sent;
+				event.size = size;
+				event.elapsed = System.nanoTime() - startNanos;
+				event.commit();
+			}
+		}
+
+		static void request(String serverId, String method, boolean sentByClient, String outcome, long durationNanos) {
+			final var event = new RequestEvent();
+			if (event.shouldCommit()) {
+				event.serverId = serverId;
+				event.method = method;
+				event.sentByClient = sentByClient;
+				event.outcome = outcome;
+				event.elapsed = durationNanos;
+				event.commit();
+			}
+		}
+
+		static void documentSync(String serverId, String uri, String syncKind, int version, int changes,
+				long startNanos) {
+			final var event = new DocumentSyncEvent();
+			if (event.shouldCommit()) {
+				event.serverId = serverId;
+				event.uri = uri;
+				event.syncKind = syncKind;
+				event.version = version;
+				event.changes = changes;
+				event.elapsed = System.nanoTime() - startNanos;
+				event.commit();
+			}
+		}
+
+		static boolean isDiagnosticsToMarkersEnabled() {
+			return new DiagnosticsToMarkersEvent().isEnabled();
+		}
+
+		static void diagnosticsToMarkers(String serverId, String resource, int diagnostics, long startNanos) {
+			final var event = new DiagnosticsToMarkersEvent();
+			if (event.shouldCommit()) {
+				event.serverId = serverId;
+				event.resource = resource;
+				event.diagnostics = diagnostics;
+				event.elapsed = System.nanoTime() - startNanos;
+				event.commit();
+			}
+		}
+
+		static boolean isSemanticTokensReconcileEnabled() {
+			return new SemanticTokensReconcileEvent().isEnabled();
+		}
+
+		static void semanticTokensReconcile(@Nullable String uri, int tokens, String outcome, long startNanos) {
+			final var event = new SemanticTokensReconcileEvent();
+			if (event.shouldCommit()) {
+				event.uri = uri;
+				event.tokens = tokens;
+				event.outcome = outcome;
+				event.elapsed = System.nanoTime() - startNanos;
+				event.commit();
+			}
+		}
+
+		static void initializationStage(String serverId, String stage, long durationNanos) {
+			final var event = new InitializationStageEvent();
+			if (event.shouldCommit()) {
+				event.serverId = serverId;
+				event.stage = stage;
+				event.elapsed = durationNanos;
+				event.commit();
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.util.Arrays;
+
+import org.eclipse.lsp4j.Position;
+
+/**
+ * The line structure of a text, to convert LSP positions to offsets and to
+ * extract lines without loading the text into a document. Lines are delimited
+ * as in {@link org.eclipse.jface.text.Document}, by <code>\n</code>,
+ * <code>\r</code> or <code>\r\n</code>.
+ */
+public final class LineIndex {
+
+	private final String text;
+	/** the offset of the start of each line */
+	private final int[] lineOffsets;
+
+	public LineIndex(String text) {
+		this.text = text;
+		int[] offsets = new int[16];
+		int count = 1;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == '\n' || c == '\r') {
+				if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+					i++;
+				}
+				if (count == offsets.length) {
+					offsets = Arrays.copyOf(offsets, count * 2);
+				}
+				offsets[count++] = i + 1;
+			}
+		}
+		lineOffsets = Arrays.copyOf(offsets, count);
+	}
+
+	/**
+	 * Converts the given position as leniently as
+	 * {@link org.eclipse.lsp4e.LSPEclipseUtils#toOffset(Position, org.eclipse.jface.text.IDocument)}:
+	 * positions beyond a line or beyond the text are moved to their end.
+	 */
+	public int toOffset(Position position) {
+		final int lastLine = lineOffsets.length - 1;
+		if (position.getLine() > lastLine) {
+			return text.length();
+		}
+		final int line = Math.max(0, position.getLine());
+		return lineOffsets[line] + Math.min(getLineLengthWithDelimiter(line), Math.max(0, position.getCharacter()));
+	}
+
+	/**
+	 * @return the 0-based line of the given offset
+	 */
+	public int getLine(int offset) {
+		final int index = Arrays.binarySearch(lineOffsets, offset);
+		return index >= 0 ? index : -index - 2;
+	}
+
+	public int getLineOffset(int line) {
+		return lineOffsets[line];
+	}
+
+	/**
+	 * @return the text of the given line, without delimiter
+	 */
+	public String getLineText(int line) {
+		final int start = lineOffsets[line];
+		int end = start + getLineLengthWithDelimiter(line);
+		while (end > start && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+			end--;
+		}
+		return text.substring(start, end);
+	}
+
+	/**
+	 * @return the delimiter of the given line, empty for the last line
+	 */
+	public String getLineDelimiter(int line) {
+		final int start = lineOffsets[line];
+		final int end = start + getLineLengthWithDelimiter(line);
+		int delimiterStart = end;
+		while (delimiterStart > start && (text.charAt(delimiterStart - 1) == '\n' || text.charAt(delimiterStart - 1) == '\r')) {
+			delimiterStart--;
+		}
+		return text.substring(delimiterStart, end);
+	}
+
+	public int getNumberOfLines() {
+		return lineOffsets.length;
+	}
+
+	private int getLineLengthWithDelimiter(int line) {
+		final int end = line + 1 < lineOffsets.length ? lineOffsets[line + 1] : text.length();
+		return end - lineOffsets[line];
+	}
+}
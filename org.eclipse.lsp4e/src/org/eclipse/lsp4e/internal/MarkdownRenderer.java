@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Renders Markdown documentation, like hovers or completion item
+ * documentation, to HTML.
+ * <p>
+ * The CommonMark parser and renderer are built once and shared, as they are
+ * thread-safe. The HTML of the most recently rendered texts is cached, so
+ * showing the same documentation again, e.g. when moving through completion
+ * proposals, does not parse it again. The cache is keyed by a digest of the
+ * text, so it does not keep the texts themselves, and holds at most
+ * {@link #MAX_CACHED_CHARS} characters.
+ */
+public final class MarkdownRenderer {
+
+	/** the length of text above which {@link #renderAsync(String)} renders in a background thread */
+	static final int ASYNC_RENDERING_THRESHOLD = 16 * 1024;
+	/** the total length of the keys and HTML kept by the cache */
+	private static final int MAX_CACHED_CHARS = 4 * 1024 * 1024;
+	/** the length of HTML above which it is not cached, so it does not evict the whole cache */
+	private static final int MAX_CACHED_LENGTH = 256 * 1024;
+
+	private static final Parser PARSER = Parser.builder().build();
+	private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+	/** the HTML by digest of the Markdown text, least recently used first */
+	private static final Map<String, String> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+	/** the total length of the keys and values of {@link #CACHE}, guarded by it */
+	private static int cachedChars;
+
+	private MarkdownRenderer() {
+		// this class shouldn't be instantiated
+	}
+
+	/**
+	 * @return the HTML of the given Markdown text
+	 */
+	public static String render(String markdown) {
+		return render(markdown, digest(markdown));
+	}
+
+	private static String render(String markdown, String key) {
+		final @Nullable String cached = getCached(key);
+		if (cached != null) {
+			return cached;
+		}
+		final String html = RENDERER.render(PARSER.parse(markdown));
+		if (html.length() <= MAX_CACHED_LENGTH) {
+			cache(key, html);
+		}
+		return html;
+	}
+
+	/**
+	 * Renders the given Markdown text in the calling thread if it is short or
+	 * already rendered, else in a background thread, so callers like hovers can
+	 * show a placeholder meanwhile rather than blocking.
+	 *
+	 * @return the HTML of the given Markdown text
+	 */
+	public static CompletableFuture<String> renderAsync(String markdown) {
+		final String key = digest(markdown);
+		if (markdown.length() <= ASYNC_RENDERING_THRESHOLD || getCached(key) != null) {
+			try {
+				return CompletableFuture.completedFuture(render(markdown, key));
+			} catch (RuntimeException ex) {
+				return CompletableFuture.failedFuture(ex);
+			}
+		}
+		return CompletableFuture.supplyAsync(() -> render(markdown, key));
+	}
+
+	private static @Nullable String getCached(String key) {
+		synchronized (CACHE) {
+			return CACHE.get(key);
+		}
+	}
+
+	private static void cache(String key, String html) {
+		synchronized (CACHE) {
+			final @Nullable String previous = CACHE.put(key, html);
+			cachedChars += previous == null ? key.length() + html.length() : html.length() - previous.length();
+			final Iterator<Map.Entry<String, String>> leastRecentlyUsed = CACHE.entrySet().iterator();
+			while (cachedChars > MAX_CACHED_CHARS && leastRecentlyUsed.hasNext()) {
+				final Map.Entry<String, String> eldest = leastRecentlyUsed.next();
+				cachedChars -= eldest.getKey().length() + eldest.getValue().length();
+				leastRecentlyUsed.remove();
+			}
+		}
+	}
+
+	private static String digest(String markdown) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(markdown.getBytes(UTF_8))); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException ex) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frames the JSON-RPC messages written by LSP4J: the header of each message is
+ * buffered until it is complete, then the header and the content are handed to
+ * the underlying stream followed by a single flush.
+ * <p>
+ * LSP4J writes the header and the content of a message separately and flushes
+ * afterwards; without this layer, streams like {@link java.io.FilterOutputStream}
+ * would forward the data byte by byte. The content is written straight from the
+ * arrays given by LSP4J rather than copied into a buffer, so large messages like
+ * a {@code didOpen} of a big file are not copied again. Flushes in the middle of
+ * a message are deferred until the message is complete, data that is not framed
+ * with a {@code Content-Length} header is forwarded on {@link #flush()}.
+ */
+public class MessageFramingOutputStream extends OutputStream {
+
+	/**
+	 * Snapshot of the output metrics.
+	 *
+	 * @param messages
+	 *            number of messages written
+	 * @param bytes
+	 *            total number of bytes written
+	 * @param maxMessageBytes
+	 *            size of the largest message
+	 * @param writeNanos
+	 *            total time spent blocked in writing to the underlying stream
+	 * @param maxWriteNanos
+	 *            longest time a single message write was blocked
+	 */
+	public record Statistics(long messages, long bytes, long maxMessageBytes, long writeNanos, long maxWriteNanos) {
+		public long averageMessageBytes() {
+			return messages == 0 ? 0 : bytes / messages;
+		}
+	}
+
+	private static final byte[] HEADER_END = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+	private static final String CONTENT_LENGTH = "content-length:"; //$NON-NLS-1$
+	/** headers longer than this are not considered to be LSP headers */
+	private static final int MAX_HEADER_LENGTH = 1024;
+
+	private final OutputStream out;
+	/** the header of the next message, or data which is not framed */
+	private byte[] buf = new byte[MAX_HEADER_LENGTH];
+	private int count;
+	/** bytes of the current message still to be written after its header, 0 between messages */
+	private int remaining;
+	private int messageBytes;
+	private long messageWriteNanos;
+
+	private final LongAdder messages = new LongAdder();
+	private final LongAdder bytes = new LongAdder();
+	private final LongAccumulator maxMessageBytes = new LongAccumulator(Math::max, 0);
+	private final LongAdder writeNanos = new LongAdder();
+	private final LongAccumulator maxWriteNanos = new LongAccumulator(Math::max, 0);
+	/** size of the last message completed by each thread, LSP4J writes messages on the sending thread */
+	private final ThreadLocal<int[]> lastMessageSize = ThreadLocal.withInitial(() -> new int[1]);
+
+	public MessageFramingOutputStream(OutputStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) throws IOException {
+		Objects.checkFromIndexSize(off, len, b.length);
+		while (len > 0) {
+			final int n;
+			if (remaining > 0) {
+				// the content of the current message
+				n = Math.min(len, remaining);
+				writeToStream(b, off, n);
+				remaining -= n;
+				if (remaining == 0) {
+					completeMessage();
+				}
+			} else {
+				// only copy what may be part of the next header
+				n = count < MAX_HEADER_LENGTH ? Math.min(len, MAX_HEADER_LENGTH - count) : len;
+				ensureCapacity(count + n);
+				System.arraycopy(b, off, buf, count, n);
+				count += n;
+				writeBufferedMessages();
+			}
+			off += n;
+			len -= n;
+		}
+	}
+
+	/**
+	 * Writes pending data if it is not part of an incomplete framed message.
+	 */
+	@Override
+	public synchronized void flush() throws IOException {
+		if (remaining == 0 && count > 0 && findMessageSize() < 0) {
+			writeToStream(buf, 0, count);
+			count = 0;
+			completeMessage();
+			if (buf.length > MAX_HEADER_LENGTH) {
+				// do not keep a large buffer of unframed data around
+				buf = new byte[MAX_HEADER_LENGTH];
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			if (count > 0) {
+				writeToStream(buf, 0, count);
+				count = 0;
+				completeMessage();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * @return the size of the last message the current thread completed, or 0 if
+	 *         it completed no message since the last call
+	 */
+	public int takeLastMessageSize() {
+		final int[] size = lastMessageSize.get();
+		final int result = size[0];
+		size[0] = 0;
+		return result;
+	}
+
+	public Statistics getStatistics() {
+		return new Statistics(messages.sum(), bytes.sum(), maxMessageBytes.get(), writeNanos.sum(),
+				maxWriteNanos.get());
+	}
+
+	/**
+	 * Writes the messages whose header is complete in the buffer, the content
+	 * which is not buffered yet is written by the next calls to
+	 * {@link #write(byte[], int, int)}.
+	 */
+	private void writeBufferedMessages() throws IOException {
+		while (count > 0) {
+			final int size = findMessageSize();
+			if (size < 0) {
+				return;
+			}
+			if (count < size) {
+				writeToStream(buf, 0, count);
+				remaining = size - count;
+				count = 0;
+				return;
+			}
+			writeToStream(buf, 0, size);
+			count -= size;
+			System.arraycopy(buf, size, buf, 0, count);
+			completeMessage();
+		}
+	}
+
+	/**
+	 * @return the total size of the message at the start of the buffer, or -1 if
+	 *         the header is incomplete or not a LSP header
+	 */
+	private int findMessageSize() {
+		int headerEnd = indexOfHeaderEnd();
+		if (headerEnd < 0) {
+			return -1;
+		}
+		final var header = new String(buf, 0, headerEnd, StandardCharsets.US_ASCII);
+		for (String line : header.split("\r\n")) { //$NON-NLS-1$
+			if (line.regionMatches(true, 0, CONTENT_LENGTH, 0, CONTENT_LENGTH.length())) {
+				try {
+					return headerEnd + HEADER_END.length
+							+ Integer.parseInt(line.substring(CONTENT_LENGTH.length()).trim());
+				} catch (NumberFormatException ex) {
+					return -1;
+				}
+			}
+		}
+		return -1;
+	}
+
+	private int indexOfHeaderEnd() {
+		int limit = Math.min(count, MAX_HEADER_LENGTH) - HEADER_END.length;
+		outer: for (int i = 0; i <= limit; i++) {
+			for (int j = 0; j < HEADER_END.length; j++) {
+				if (buf[i + j] != HEADER_END[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	private void writeToStream(byte[] b, int off, int len) throws IOException {
+		final long start = System.nanoTime();
+		out.write(b, off, len);
+		messageWriteNanos += System.nanoTime() - start;
+		messageBytes += len;
+	}
+
+	private void completeMessage() throws IOException {
+		final long start = System.nanoTime();
+		out.flush();
+		final long elapsed = messageWriteNanos + System.nanoTime() - start;
+
+		messages.increment();
+		bytes.add(messageBytes);
+		maxMessageBytes.accumulate(messageBytes);
+		writeNanos.add(elapsed);
+		maxWriteNanos.accumulate(elapsed);
+		lastMessageSize.get()[0] = messageBytes;
+		messageBytes = 0;
+		messageWriteNanos = 0;
+	}
+
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity > buf.length) {
+			buf = Arrays.copyOf(buf, Math.max(minCapacity, buf.length * 2));
+		}
+	}
+}
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextEdit;
+
+/**
+ * Splits text edits replacing many lines, like the single edit replacing the
+ * whole document some language servers answer to a formatting request, into
+ * the minimal edits producing the same text. Unchanged lines are then not
+ * touched, so the positions of markers, folding, breakpoints or semantic
+ * highlighting on them are kept.
+ * <p>
+ * The lines are compared with the Myers diff algorithm, then the common prefix
+ * and suffix of each changed block of lines are left out. If the lines differ
+ * too much for the diff to be cheap, only the common prefix and suffix of the
+ * whole edit are left out.
+ */
+public final class MinimalTextEdits {
+
+	/** the number of lines an edit must span to be split */
+	private static final int MIN_LINES = 8;
+	/** the maximum number of inserted and deleted lines to compute a diff for */
+	private static final int MAX_LINE_CHANGES = 2000;
+	private static final Pattern LONE_LINE_FEED = Pattern.compile("(?<!\r)\n"); //$NON-NLS-1$
+
+	private MinimalTextEdits() {
+		// this class shouldn't be instantiated
+	}
+
+	/**
+	 * @param document
+	 *            the document the edits apply to
+	 * @return the given edits, with the edits spanning many lines replaced by
+	 *         minimal edits
+	 */
+	public static List<? extends TextEdit> minimize(IDocument document, List<? extends TextEdit> edits) {
+		if (edits.stream().noneMatch(MinimalTextEdits::spansManyLines)) {
+			return edits;
+		}
+		final String text = document.get();
+		final var lines = new LineIndex(text);
+		final var res = new ArrayList<TextEdit>(edits.size());
+		for (final TextEdit edit : edits) {
+			if (spansManyLines(edit)) {
+				res.addAll(minimize(text, lines, edit));
+			} else {
+				res.add(edit);
+			}
+		}
+		return res;
+	}
+
+	private static boolean spansManyLines(TextEdit edit) {
+		final Range range = edit.getRange();
+		return range.getEnd().getLine() - range.getStart().getLine() >= MIN_LINES;
+	}
+
+	private static List<TextEdit> minimize(String text, LineIndex lines, TextEdit edit) {
+		final int start = lines.toOffset(edit.getRange().getStart());
+		final int end = lines.toOffset(edit.getRange().getEnd());
+		if (end < start) {
+			return List.of(edit);
+		}
+		String newText = edit.getNewText();
+		final int endLine = lines.getLine(end);
+		// the last line has no delimiter, so use the one of the first line, like the default delimiter of a document
+		final String delimiter = lines.getLineDelimiter(endLine < lines.getNumberOfLines() - 1 ? endLine : 0);
+		if ("\r\n".equals(delimiter) && newText.indexOf('\n') >= 0) { //$NON-NLS-1$
+			// as done when applying edits, so lines only differing by their delimiter match
+			newText = LONE_LINE_FEED.matcher(newText).replaceAll("\r\n"); //$NON-NLS-1$
+		}
+		final String oldText = text.substring(start, end);
+		final var res = new ArrayList<TextEdit>();
+		final List<String> oldLines = splitLines(oldText);
+		final List<String> newLines = splitLines(newText);
+		final List<int[]> blocks = diff(oldLines, newLines);
+		if (blocks == null) {
+			addEdit(res, text, lines, start, oldText, newText);
+			return res;
+		}
+		final int[] oldOffsets = lineOffsets(oldLines);
+		final int[] newOffsets = lineOffsets(newLines);
+		for (final int[] block : blocks) {
+			if (block[1] - block[0] == block[3] - block[2]) {
+				// as many lines changed, e.g. re-indented, so changed line by line
+				for (int i = 0; i < block[1] - block[0]; i++) {
+					addEdit(res, text, lines, start + oldOffsets[block[0] + i], oldLines.get(block[0] + i),
+							newLines.get(block[2] + i));
+				}
+			} else {
+				addEdit(res, text, lines, start + oldOffsets[block[0]],
+						oldText.substring(oldOffsets[block[0]], oldOffsets[block[1]]),
+						newText.substring(newOffsets[block[2]], newOffsets[block[3]]));
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Adds an edit replacing the given old text at the given offset by the given
+	 * new text, leaving out their common prefix and suffix.
+	 */
+	private static void addEdit(List<TextEdit> res, String text, LineIndex lines, int offset, String oldText,
+			String newText) {
+		final int maxCommon = Math.min(oldText.length(), newText.length());
+		int prefix = 0;
+		while (prefix < maxCommon && oldText.charAt(prefix) == newText.charAt(prefix)) {
+			prefix++;
+		}
+		// do not split a \r\n delimiter
+		if (prefix > 0 && oldText.charAt(prefix - 1) == '\r' && prefix < oldText.length()
+				&& oldText.charAt(prefix) == '\n') {
+			prefix--;
+		}
+		int suffix = 0;
+		while (suffix < maxCommon - prefix && oldText.charAt(oldText.length() - 1 - suffix) == newText
+				.charAt(newText.length() - 1 - suffix)) {
+			suffix++;
+		}
+		if (suffix > 0 && oldText.charAt(oldText.length() - suffix) == '\n'
+				&& oldText.length() - suffix - 1 >= prefix && oldText.charAt(oldText.length() - suffix - 1) == '\r') {
+			suffix--;
+		}
+		if (prefix == oldText.length() && prefix == newText.length()) {
+			return;
+		}
+		final int start = offset + prefix;
+		final int end = offset + oldText.length() - suffix;
+		res.add(new TextEdit(new Range(toPosition(lines, start), toPosition(lines, end)),
+				newText.substring(prefix, newText.length() - suffix)));
+	}
+
+	private static Position toPosition(LineIndex lines, int offset) {
+		final int line = lines.getLine(offset);
+		return new Position(line, offset - lines.getLineOffset(line));
+	}
+
+	/**
+	 * @return the lines of the given text, each with its delimiter
+	 */
+	private static List<String> splitLines(String text) {
+		final var res = new ArrayList<String>();
+		int lineStart = 0;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == '\n' || c == '\r') {
+				if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+					i++;
+				}
+				res.add(text.substring(lineStart, i + 1));
+				lineStart = i + 1;
+			}
+		}
+		if (lineStart < text.length()) {
+			res.add(text.substring(lineStart));
+		}
+		return res;
+	}
+
+	/**
+	 * @return the offset of each line, and the length of the text at the end
+	 */
+	private static int[] lineOffsets(List<String> lines) {
+		final var res = new int[lines.size() + 1];
+		for (int i = 0; i < lines.size(); i++) {
+			res[i + 1] = res[i] + lines.get(i).length();
+		}
+		return res;
+	}
+
+	/**
+	 * Computes the blocks of lines differing between the given lines, with the
+	 * Myers diff algorithm.
+	 *
+	 * @return the differing blocks, each as
+	 *         <code>{oldStart, oldEnd, newStart, newEnd}</code> line indexes, or
+	 *         <code>null</code> if more than {@link #MAX_LINE_CHANGES} lines
+	 *         differ
+	 */
+	static @Nullable List<int[]> diff(List<String> oldLines, List<String> newLines) {
+		// compare lines by identifier rather than by content
+		final var ids = new HashMap<String, Integer>();
+		final int[] a = toIds(oldLines, ids);
+		final int[] b = toIds(newLines, ids);
+
+		int prefix = 0;
+		while (prefix < a.length && prefix < b.length && a[prefix] == b[prefix]) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < a.length - prefix && suffix < b.length - prefix
+				&& a[a.length - 1 - suffix] == b[b.length - 1 - suffix]) {
+			suffix++;
+		}
+		final int n = a.length - prefix - suffix;
+		final int m = b.length - prefix - suffix;
+		final int maxD = Math.min(n + m, MAX_LINE_CHANGES);
+		// v[k + maxD]: the furthest x on diagonal k, trace: v before each round, for the diagonals -d..d
+		final var v = new int[2 * maxD + 2];
+		final var trace = new ArrayList<int[]>();
+		for (int d = 0; d <= maxD; d++) {
+			final var snapshot = new int[2 * d + 1];
+			System.arraycopy(v, maxD - d, snapshot, 0, snapshot.length);
+			trace.add(snapshot);
+			for (int k = -d; k <= d; k += 2) {
+				int x = k == -d || (k != d && v[maxD + k - 1] < v[maxD + k + 1]) ? v[maxD + k + 1]
+						: v[maxD + k - 1] + 1;
+				int y = x - k;
+				while (x < n && y < m && a[prefix + x] == b[prefix + y]) {
+					x++;
+					y++;
+				}
+				v[maxD + k] = x;
+				if (x >= n && y >= m) {
+					return toBlocks(trace, d, n, m, prefix);
+				}
+			}
+		}
+		return null;
+	}
+
+	private static int[] toIds(List<String> lines, Map<String, Integer> ids) {
+		final var res = new int[lines.size()];
+		for (int i = 0; i < res.length; i++) {
+			res[i] = ids.computeIfAbsent(lines.get(i), line -> ids.size());
+		}
+		return res;
+	}
+
+	/**
+	 * Walks back the trace of the diff from the end, merging adjacent insertions
+	 * and deletions into blocks.
+	 */
+	private static List<int[]> toBlocks(List<int[]> trace, int lastD, int n, int m, int prefix) {
+		final var blocks = new ArrayList<int[]>();
+		int x = n;
+		int y = m;
+		int @Nullable [] block = null;
+		for (int d = lastD; d > 0; d--) {
+			// the furthest x on the diagonals -d..d before round d
+			final int[] previous = trace.get(d);
+			final int k = x - y;
+			final int previousK = k == -d || (k != d && previous[d + k - 1] < previous[d + k + 1]) ? k + 1 : k - 1;
+			final int previousX = previous[d + previousK];
+			final int previousY = previousX - previousK;
+			if (x > previousX && y > previousY) {
+				// equal lines end the current block
+				block = null;
+				while (x > previousX && y > previousY) {
+					x--;
+					y--;
+				}
+			}
+			if (block == null) {
+				block = new int[] { prefix + x, prefix + x, prefix + y, prefix + y };
+				blocks.add(0, block);
+			}
+			// one line inserted or deleted
+			x = previousX;
+			y = previousY;
+			block[0] = prefix + x;
+			block[2] = prefix + y;
+		}
+		return blocks;
+	}
+}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.telemetry.ProcessResourceUsage;
+
+/**
+ * Samples the resident memory and CPU usage of a process tree. The memory is
+ * read from <code>/proc/&lt;pid&gt;/status</code>, so it is only known on
+ * Linux, the CPU usage is derived from the CPU time reported by
+ * {@link ProcessHandle.Info} between two samples of the same process.
+ */
+public final class ProcessResourceSampler {
+
+	private static final String RSS_FIELD = "VmRSS:"; //$NON-NLS-1$
+
+	private record CpuSample(long cpuNanos, long wallNanos) {
+	}
+
+	private final Path procDirectory;
+	/** the previous sample of each root process, by pid */
+	private final Map<Long, CpuSample> cpuSamples = new ConcurrentHashMap<>();
+
+	public ProcessResourceSampler() {
+		this(Path.of("/proc")); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param procDirectory
+	 *            the directory with one sub-directory per pid, like
+	 *            <code>/proc</code>
+	 */
+	public ProcessResourceSampler(Path procDirectory) {
+		this.procDirectory = procDirectory;
+	}
+
+	/**
+	 * Samples the given process and all its descendants.
+	 */
+	public ProcessResourceUsage sample(ProcessHandle process) {
+		long rssBytes = 0;
+		boolean rssKnown = true;
+		long cpuNanos = 0;
+		int processCount = 0;
+		for (final ProcessHandle handle : (Iterable<ProcessHandle>) Stream
+				.concat(Stream.of(process), process.descendants())::iterator) {
+			final long rss = readRssBytes(handle.pid());
+			if (rss >= 0) {
+				rssBytes += rss;
+			} else if (handle.isAlive()) {
+				rssKnown = false;
+			} else {
+				// exited meanwhile
+				continue;
+			}
+			cpuNanos += handle.info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+			processCount++;
+		}
+		return new ProcessResourceUsage(rssKnown ? rssBytes : -1, recordCpu(process.pid(), cpuNanos, System.nanoTime()),
+				processCount);
+	}
+
+	/**
+	 * @return the CPU usage since the previous sample of the given root process,
+	 *         in percent of one core, -1 if unknown
+	 */
+	private double recordCpu(long pid, long cpuNanos, long wallNanos) {
+		final CpuSample previous = cpuSamples.put(pid, new CpuSample(cpuNanos, wallNanos));
+		if (previous == null || wallNanos <= previous.wallNanos || cpuNanos < previous.cpuNanos) {
+			return -1;
+		}
+		return 100.0 * (cpuNanos - previous.cpuNanos) / (wallNanos - previous.wallNanos);
+	}
+
+	/**
+	 * Forgets the previous samples of the root processes not in the given pids.
+	 */
+	public void retain(Collection<Long> pids) {
+		cpuSamples.keySet().retainAll(pids);
+	}
+
+	private long readRssBytes(long pid) {
+		try {
+			return parseRssBytes(Files.readString(procDirectory.resolve(Long.toString(pid)).resolve("status"))); //$NON-NLS-1$
+		} catch (IOException | RuntimeException ex) {
+			return -1;
+		}
+	}
+
+	/**
+	 * @param status
+	 *            the content of a <code>/proc/&lt;pid&gt;/status</code> file
+	 * @return the resident memory, -1 if not found
+	 */
+	public static long parseRssBytes(@Nullable String status) {
+		if (status == null) {
+			return -1;
+		}
+		for (final String line : status.split("\n")) { //$NON-NLS-1$
+			if (line.startsWith(RSS_FIELD)) {
+				// e.g. "VmRSS:	  123456 kB"
+				final String[] parts = line.substring(RSS_FIELD.length()).trim().split("\\s+"); //$NON-NLS-1$
+				try {
+					final long value = Long.parseLong(parts[0]);
+					return parts.length > 1 && "kB".equals(parts[1]) ? value * 1024 : value; //$NON-NLS-1$
+				} catch (NumberFormatException ex) {
+					return -1;
+				}
+			}
+		}
+		return -1;
+	}
+}
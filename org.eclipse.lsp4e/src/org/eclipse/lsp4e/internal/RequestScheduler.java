@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.RequestPriority;
+
+/**
+ * Runs the tasks dispatching messages to a language server on a single-thread
+ * worker, ordered by {@link RequestPriority}.
+ * <p>
+ * Tasks submitted with {@link #execute(Runnable)}, typically sending document
+ * synchronization notifications, are barriers: they run after all tasks
+ * submitted before and before all tasks submitted after them. Tasks submitted
+ * between two barriers run by priority, and in submission order within the
+ * same priority. So an interactive request can overtake background requests
+ * which were queued for the same document version, but never a notification.
+ */
+public final class RequestScheduler implements Executor {
+
+	private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+	/** tasks submitted after the previous barrier, and the barrier ending them */
+	private static final class Segment {
+		/** by priority */
+		final List<Deque<Runnable>> tasks = new ArrayList<>(PRIORITIES.length);
+		@Nullable Runnable barrier;
+
+		Segment() {
+			for (int i = 0; i < PRIORITIES.length; i++) {
+				tasks.add(new ArrayDeque<>());
+			}
+		}
+
+		@Nullable Runnable poll() {
+			for (final Deque<Runnable> queue : tasks) {
+				final Runnable task = queue.poll();
+				if (task != null) {
+					return task;
+				}
+			}
+			final Runnable task = barrier;
+			barrier = null;
+			return task;
+		}
+	}
+
+	private final Executor worker;
+	private final Deque<Segment> segments = new ArrayDeque<>();
+	private final List<Executor> executors;
+
+	/**
+	 * @param worker
+	 *            a single-thread executor running the tasks
+	 */
+	public RequestScheduler(Executor worker) {
+		this.worker = worker;
+		this.executors = Arrays.stream(PRIORITIES).<Executor>map(priority -> task -> submit(task, priority)).toList();
+	}
+
+	/**
+	 * Runs the given task as a barrier.
+	 */
+	@Override
+	public void execute(Runnable task) {
+		submit(task, null);
+	}
+
+	/**
+	 * @return an executor running its tasks with the given priority
+	 */
+	public Executor withPriority(RequestPriority priority) {
+		return executors.get(priority.ordinal());
+	}
+
+	private void submit(Runnable task, @Nullable RequestPriority priority) {
+		synchronized (segments) {
+			Segment tail = segments.peekLast();
+			if (tail == null || tail.barrier != null) {
+				tail = new Segment();
+				segments.add(tail);
+			}
+			if (priority == null) {
+				tail.barrier = task;
+			} else {
+				tail.tasks.get(priority.ordinal()).add(task);
+			}
+		}
+		try {
+			// each submission runs exactly one task, but not necessarily this one
+			worker.execute(this::runNext);
+		} catch (RejectedExecutionException ex) {
+			remove(task);
+			throw ex;
+		}
+	}
+
+	private void runNext() {
+		final Runnable task;
+		synchronized (segments) {
+			final Segment head = segments.peek();
+			if (head == null) {
+				return;
+			}
+			task = head.poll();
+			if (head.barrier == null && isEmpty(head)) {
+				segments.poll();
+			}
+		}
+		if (task != null) {
+			task.run();
+		}
+	}
+
+	private void remove(Runnable task) {
+		synchronized (segments) {
+			for (final Segment segment : segments) {
+				if (segment.barrier == task) {
+					segment.barrier = null;
+				} else {
+					for (final Deque<Runnable> queue : segment.tasks) {
+						queue.removeFirstOccurrence(task);
+					}
+				}
+			}
+			segments.removeIf(segment -> segment.barrier == null && isEmpty(segment));
+		}
+	}
+
+	private static boolean isEmpty(Segment segment) {
+		for (final Deque<Runnable> queue : segment.tasks) {
+			if (!queue.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.internal;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.lsp4j.ServerCapabilities;
+
+import com.google.gson.JsonParseException;
+
+/**
+ * Remembers the capabilities each language server reported in its last
+ * <code>initialize</code> response, across sessions, so features can be enabled
+ * before the language server is initialized again.
+ * <p>
+ * The capabilities are stored as JSON in one file per server definition in the
+ * state location of the plug-in. They are read once per session and written in
+ * the background when they change. The returned capabilities are shared and
+ * must not be modified.
+ */
+public final class ServerCapabilitiesStore {
+
+	private static final String FILE_EXTENSION = ".json"; //$NON-NLS-1$
+
+	private static @Nullable ServerCapabilitiesStore instance;
+
+	private final @Nullable Path directory;
+	/** capabilities by server id, empty if none are stored */
+	private final Map<String, Optional<ServerCapabilities>> capabilities = new ConcurrentHashMap<>();
+	/** the JSON last stored, by server id */
+	private final Map<String, String> storedJson = new ConcurrentHashMap<>();
+
+	/**
+	 * @param directory
+	 *            where to store the capabilities, or <code>null</code> to remember
+	 *            them for this session only
+	 */
+	public ServerCapabilitiesStore(@Nullable Path directory) {
+		this.directory = directory;
+	}
+
+	public static synchronized ServerCapabilitiesStore getInstance() {
+		ServerCapabilitiesStore store = instance;
+		if (store == null) {
+			Path directory = null;
+			try {
+				directory = LanguageServerPlugin.getDefault().getStateLocation().append("capabilities").toPath(); //$NON-NLS-1$
+			} catch (RuntimeException ex) {
+				// no instance location, e.g. in a headless application
+				LanguageServerPlugin.logWarning("Server capabilities cannot be persisted", ex); //$NON-NLS-1$
+			}
+			store = new ServerCapabilitiesStore(directory);
+			instance = store;
+		}
+		return store;
+	}
+
+	/**
+	 * @return the capabilities the language server reported last time it was
+	 *         initialized, or <code>null</code> if unknown
+	 */
+	public @Nullable ServerCapabilities load(String serverId) {
+		return capabilities.computeIfAbsent(serverId, this::read).orElse(null);
+	}
+
+	/**
+	 * Remembers the capabilities reported by the language server. They are
+	 * serialized right away, so they can be modified afterwards, e.g. by dynamic
+	 * registrations.
+	 *
+	 * @return a future completing once the capabilities are persisted
+	 */
+	public CompletableFuture<@Nullable Void> save(String serverId, ServerCapabilities serverCapabilities) {
+		final String json = JsonUtil.LSP4J_GSON.toJson(serverCapabilities);
+		capabilities.put(serverId, Optional.of(JsonUtil.LSP4J_GSON.fromJson(json, ServerCapabilities.class)));
+		final Path file = getFile(serverId);
+		if (json.equals(storedJson.put(serverId, json)) || file == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		// writes the latest capabilities, in case they changed again meanwhile
+		return CompletableFuture.runAsync(() -> write(file, storedJson.get(serverId)));
+	}
+
+	private Optional<ServerCapabilities> read(String serverId) {
+		final Path file = getFile(serverId);
+		if (file == null || !Files.isRegularFile(file)) {
+			return Optional.empty();
+		}
+		try {
+			final String json = Files.readString(file);
+			final var serverCapabilities = JsonUtil.LSP4J_GSON.fromJson(json, ServerCapabilities.class);
+			if (serverCapabilities == null) {
+				return Optional.empty();
+			}
+			storedJson.put(serverId, json);
+			return Optional.of(serverCapabilities);
+		} catch (IOException | JsonParseException ex) {
+			LanguageServerPlugin.logWarning("Cannot read the persisted capabilities of " + serverId, ex); //$NON-NLS-1$
+			return Optional.empty();
+		}
+	}
+
+	private static synchronized void write(Path file, @Nullable String json) {
+		if (json == null) {
+			return;
+		}
+		try {
+			Files.createDirectories(file.getParent());
+			final Path tmp = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+			Files.writeString(tmp, json);
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException ex) {
+			LanguageServerPlugin.logWarning("Cannot persist the capabilities in " + file, ex); //$NON-NLS-1$
+		}
+	}
+
+	private @Nullable Path getFile(String serverId) {
+		final Path dir = directory;
+		return dir == null ? null : dir.resolve(URLEncoder.encode(serverId, StandardCharsets.UTF_8) + FILE_EXTENSION);
+	}
+}
@@ -20,6 +20,7 @@
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
 import org.eclipse.lsp4e.LanguageServers.LanguageServerDocumentExecutor;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4e.internal.AbstractLSPCodeMiningProvider;
 import org.eclipse.lsp4j.CodeLens;
 import org.eclipse.lsp4j.CodeLensParams;
@@ -32,7 +33,8 @@ public class CodeLensProvider extends AbstractLSPCodeMiningProvider {
 			TextDocumentIdentifier docId) {
 		final var param = new CodeLensParams(docId);
 		LanguageServerDocumentExecutor executor = LanguageServers.forDocument(document)
-				.withFilter(sc -> sc.getCodeLensProvider() != null);
+				.withFilter(sc -> sc.getCodeLensProvider() != null).withPriority(RequestPriority.BACKGROUND)
+				.withSupersession("textDocument/codeLens"); //$NON-NLS-1$
 		return executor
 				.collectAll((w, ls) -> ls.getTextDocumentService().codeLens(param)
 						.thenApply(codeLenses -> LanguageServers.streamSafely(codeLenses)
@@ -25,6 +25,7 @@
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4e.internal.AbstractLSPCodeMiningProvider;
 import org.eclipse.lsp4j.ColorInformation;
 import org.eclipse.lsp4j.DocumentColorParams;
@@ -52,6 +53,7 @@ public DocumentColorProvider() {
 		final var param = new DocumentColorParams(docId);
 		return LanguageServers.forDocument(document)
 			.withCapability(ServerCapabilities::getColorProvider)
+			.withPriority(RequestPriority.BACKGROUND)
 			.collectAll(
 				// Need to do some of the result processing inside the function we supply to collectAll(...)
 				// as need the LSW to construct the ColorInformationMining
@@ -276,6 +276,14 @@ public CompletionItem getItem() {
 		return item;
 	}
 
+	/**
+	 * @return whether the proposal is part of an incomplete completion list, so
+	 *         it only applies at the offset it was computed for
+	 */
+	public boolean isIncomplete() {
+		return isIncomplete;
+	}
+
 	private boolean isDeprecated() {
 		return item.getDeprecated() != null && item.getDeprecated().booleanValue();
 	}
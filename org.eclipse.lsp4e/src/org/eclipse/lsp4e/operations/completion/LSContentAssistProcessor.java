@@ -30,6 +30,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.annotation.Nullable;
@@ -47,6 +48,7 @@
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4e.internal.CancellationSupport;
 import org.eclipse.lsp4e.internal.CancellationUtil;
 import org.eclipse.lsp4e.ui.Messages;
@@ -55,6 +57,7 @@
 import org.eclipse.lsp4j.CompletionItemDefaults;
 import org.eclipse.lsp4j.CompletionList;
 import org.eclipse.lsp4j.CompletionParams;
+import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.SignatureHelpParams;
 import org.eclipse.lsp4j.SignatureInformation;
 import org.eclipse.lsp4j.jsonrpc.CancelChecker;
@@ -145,6 +148,7 @@ public ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int
 			final var cancellationSupport = new CancellationSupport();
 			final var completionLanguageServersFuture = cancellationSupport.execute(
 					LanguageServers.forDocument(document).withFilter(capabilities -> capabilities.getCompletionProvider() != null) //
+					.withPriority(RequestPriority.INTERACTIVE) //
 					.collectAll((w, ls) -> cancellationSupport.execute(ls.getTextDocumentService().completion(param)) //
 							.thenAccept(completion -> {
 								boolean isIncomplete = completion != null && completion.isRight()
@@ -224,26 +228,54 @@ private void initiateLanguageServers(IDocument document) {
 			currentDocument = document;
 			triggerCharsCancellationSupport.cancel();
 
+			// start with the triggers persisted from the last initialization of the servers,
+			// they are replaced by the actual ones once the servers are initialized
 			completionTriggerChars = NO_CHARS;
+			for (final ServerCapabilities known : LanguageServers.forDocument(document)
+					.withFilter(capabilities -> capabilities.getCompletionProvider() != null).getKnownCapabilities()) {
+				completionTriggerChars = mergeTriggers(completionTriggerChars,
+						known.getCompletionProvider().getTriggerCharacters());
+			}
 			contextTriggerChars = NO_CHARS;
+			for (final ServerCapabilities known : LanguageServers.forDocument(document)
+					.withFilter(capabilities -> capabilities.getSignatureHelpProvider() != null).getKnownCapabilities()) {
+				contextTriggerChars = mergeTriggers(contextTriggerChars,
+						known.getSignatureHelpProvider().getTriggerCharacters());
+			}
 
-			completionTriggerCharsFuture = LanguageServers.forDocument(document)
+			final var actualCompletionTriggerChars = new AtomicReference<char[]>(NO_CHARS);
+			final CompletableFuture<List<@Nullable Void>> completionFuture = LanguageServers.forDocument(document)
 				.withFilter(capabilities -> capabilities.getCompletionProvider() != null) //
 				.collectAll((w, ls) -> {
 					List<String> triggerChars = castNonNull(w.getServerCapabilities()).getCompletionProvider().getTriggerCharacters();
 					completionTriggerChars = mergeTriggers(completionTriggerChars,triggerChars);
+					actualCompletionTriggerChars.updateAndGet(chars -> mergeTriggers(chars, triggerChars));
 					return CompletableFuture.completedFuture(null);
 			});
-			triggerCharsCancellationSupport.execute(completionTriggerCharsFuture);
+			completionFuture.thenRun(() -> {
+				if (currentDocument == document) {
+					completionTriggerChars = actualCompletionTriggerChars.get();
+				}
+			});
+			completionTriggerCharsFuture = completionFuture;
+			triggerCharsCancellationSupport.execute(completionFuture);
 
-			contextInformationTriggerCharsFuture = LanguageServers.forDocument(document)
+			final var actualContextTriggerChars = new AtomicReference<char[]>(NO_CHARS);
+			final CompletableFuture<List<@Nullable Void>> contextFuture = LanguageServers.forDocument(document)
 				.withFilter(capabilities -> capabilities.getSignatureHelpProvider() != null) //
 				.collectAll((w, ls) -> {
 					List<String> triggerChars = castNonNull(w.getServerCapabilities()).getSignatureHelpProvider().getTriggerCharacters();
 					contextTriggerChars = mergeTriggers(contextTriggerChars, triggerChars);
+					actualContextTriggerChars.updateAndGet(chars -> mergeTriggers(chars, triggerChars));
 					return CompletableFuture.completedFuture(null);
 			});
-			contextInformationLanguageServersFuture = triggerCharsCancellationSupport.execute(contextInformationTriggerCharsFuture);
+			contextFuture.thenRun(() -> {
+				if (currentDocument == document) {
+					contextTriggerChars = actualContextTriggerChars.get();
+				}
+			});
+			contextInformationTriggerCharsFuture = contextFuture;
+			contextInformationLanguageServersFuture = triggerCharsCancellationSupport.execute(contextFuture);
 		}
 
 	}
@@ -296,6 +328,8 @@ private static List<ICompletionProposal> toProposals(IDocument document, int off
 		try {
 			this.contextInformationLanguageServersFuture = LanguageServers.forDocument(document)
 					.withFilter(capabilities -> capabilities.getSignatureHelpProvider() != null)
+					.withPriority(RequestPriority.INTERACTIVE)
+					.withAdaptiveTimeout("textDocument/signatureHelp", CONTEXT_INFORMATION_TIMEOUT) //$NON-NLS-1$
 					.collectAll(ls -> ls.getTextDocumentService().signatureHelp(param).thenAccept(signatureHelp -> {
 						if (signatureHelp != null) {
 							signatureHelp.getSignatures().stream().map(LSContentAssistProcessor::toContextInformation)
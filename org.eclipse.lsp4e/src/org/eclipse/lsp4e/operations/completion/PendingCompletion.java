@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.operations.completion;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
+
+/**
+ * A request for the completion proposals at an offset of a document, whose
+ * proposals can be reused while the user goes on typing the same word: they
+ * are then filtered with the text typed since. The proposals of an incomplete
+ * completion list only apply at the offset they were requested for, as the
+ * language server has to be asked again once the word changes.
+ * <p>
+ * The document is referenced weakly, so a request kept after its editor was
+ * closed does not keep the document.
+ */
+public final class PendingCompletion {
+
+	private final WeakReference<IDocument> document;
+	private final int offset;
+	private final CompletableFuture<ICompletionProposal[]> proposals;
+	/** the end of the identifier characters typed at the offset since the request */
+	private volatile int end;
+
+	public PendingCompletion(IDocument document, int offset, CompletableFuture<ICompletionProposal[]> proposals) {
+		this.document = new WeakReference<>(document);
+		this.offset = offset;
+		this.proposals = proposals;
+		this.end = offset;
+	}
+
+	public boolean isFor(IDocument document) {
+		return this.document.get() == document;
+	}
+
+	/**
+	 * @return whether the proposals may still apply at the given offset. This
+	 *         is not known for sure until the proposals are computed, see
+	 *         {@link #getProposals(IDocument, int, long, TimeUnit)}.
+	 */
+	public boolean appliesTo(IDocument currentDocument, int currentOffset) {
+		if (!isFor(currentDocument) || currentOffset < offset || currentOffset > end) {
+			return false;
+		}
+		if (currentOffset == offset || !proposals.isDone() || proposals.isCompletedExceptionally()) {
+			return true;
+		}
+		return !isIncomplete(proposals.join());
+	}
+
+	/**
+	 * @return whether the proposals may still apply after the given change
+	 */
+	public boolean update(DocumentEvent event) {
+		final String text = event.getText();
+		if (event.getLength() == 0 && event.getOffset() == end && text != null
+				&& text.chars().allMatch(Character::isJavaIdentifierPart)) {
+			end += text.length();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Waits at most the given time for the proposals.
+	 *
+	 * @return the proposals valid at the given offset, or <code>null</code> if
+	 *         they are part of an incomplete list and the offset moved since the
+	 *         request, so they have to be requested again
+	 */
+	public LSCompletionProposal @Nullable [] getProposals(IDocument currentDocument, int currentOffset, long timeout,
+			TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		final ICompletionProposal[] computed = proposals.get(timeout, unit);
+		if (currentOffset != offset && isIncomplete(computed)) {
+			return null;
+		}
+		return Arrays.stream(computed).filter(LSCompletionProposal.class::isInstance)
+				.map(LSCompletionProposal.class::cast)
+				.filter(proposal -> proposal.validate(currentDocument, currentOffset, null))
+				.toArray(LSCompletionProposal[]::new);
+	}
+
+	private static boolean isIncomplete(ICompletionProposal[] computed) {
+		for (final ICompletionProposal proposal : computed) {
+			if (proposal instanceof LSCompletionProposal lsProposal && lsProposal.isIncomplete()) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
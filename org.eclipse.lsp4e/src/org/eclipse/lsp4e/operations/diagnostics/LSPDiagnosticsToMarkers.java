@@ -45,6 +45,7 @@
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.internal.ArrayUtil;
+import org.eclipse.lsp4e.internal.FlightRecorderEvents;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
@@ -153,7 +154,12 @@ public IStatus runInWorkspace(@Nullable IProgressMonitor monitor) throws CoreExc
 
 				// Ensure that markers updates are not done in parallel
 				synchronized(resource) {
+					final long start = System.nanoTime();
 					doRun();
+					if (FlightRecorderEvents.isDiagnosticsToMarkersEnabled()) {
+						FlightRecorderEvents.diagnosticsToMarkers(languageServerId, resource.getFullPath().toString(),
+								diagnostics.getDiagnostics().size(), start);
+					}
 				}
 
 				return Status.OK_STATUS;
@@ -31,6 +31,7 @@
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4j.DocumentLink;
 import org.eclipse.lsp4j.DocumentLinkParams;
 
@@ -100,6 +101,8 @@ private static String toLabel(final String uri) {
 		try {
 			return LanguageServers.forDocument(document)
 					.withFilter(capabilities -> capabilities.getDocumentLinkProvider() != null)
+					.withPriority(RequestPriority.BACKGROUND)
+					.withSharedResponse("textDocument/documentLink", params) //$NON-NLS-1$
 					.collectAll(languageServer -> languageServer.getTextDocumentService().documentLink(params))
 					.thenApply(links -> {
 						IHyperlink[] res = links.stream().flatMap(List<DocumentLink>::stream).filter(Objects::nonNull)
@@ -31,6 +31,7 @@
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4j.DocumentLink;
 import org.eclipse.lsp4j.DocumentLinkParams;
 import org.eclipse.swt.custom.StyleRange;
@@ -86,6 +87,9 @@ private void underline() {
 			Display display = control.getDisplay();
 			request = LanguageServers.forDocument(document)
 					.withFilter(capabilities -> capabilities.getDocumentLinkProvider() != null)
+					.withPriority(RequestPriority.BACKGROUND)
+					.withSupersession("textDocument/documentLink") //$NON-NLS-1$
+					.withSharedResponse("textDocument/documentLink", params) //$NON-NLS-1$
 					.collectAll(languageServer -> languageServer.getTextDocumentService().documentLink(params))
 					.thenAcceptAsync(links -> links.forEach(this::underline), display);
 		}
@@ -45,6 +45,7 @@
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4e.internal.DocumentUtil;
 import org.eclipse.lsp4e.ui.FoldingPreferencePage;
 import org.eclipse.lsp4j.FoldingRange;
@@ -180,6 +181,9 @@ public void reconcile(@Nullable IRegion subRegion) {
 		requests.forEach(request -> request.cancel(true));
 		requests = LanguageServers.forDocument(document)
 				.withCapability(ServerCapabilities::getFoldingRangeProvider)
+				.withPriority(RequestPriority.BACKGROUND)
+				.withSupersession("textDocument/foldingRange") //$NON-NLS-1$
+				.withSharedResponse("textDocument/foldingRange", params) //$NON-NLS-1$
 				.computeAll(server -> server.getTextDocumentService().foldingRange(params));
 		requests.forEach(ranges -> ranges.thenAccept(this::applyFolding));
 	}
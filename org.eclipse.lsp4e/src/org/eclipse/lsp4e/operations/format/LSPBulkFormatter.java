@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.operations.format;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.TextSelection;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.lsp4e.LanguageServersRegistry;
+import org.eclipse.lsp4e.VersionedEdits;
+import org.eclipse.lsp4e.ui.Messages;
+import org.eclipse.lsp4e.ui.UI;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.texteditor.IDocumentProvider;
+
+/**
+ * Formats many files, with several formatting requests in flight at once
+ * rather than one file after another:
+ * <ul>
+ * <li>at most {@link #MAX_REQUESTS_PER_SERVER} requests are sent concurrently
+ * to the language servers of a file,</li>
+ * <li>at most {@link #MAX_PENDING_FILES} files are connected at once, so
+ * formatted documents do not pile up in memory when they are saved slower than
+ * they are formatted,</li>
+ * <li>the edits are applied as they arrive, in batches of documents changed in
+ * one UI runnable and saved in one workspace operation.</li>
+ * </ul>
+ * The files are connected, changed and saved through the document provider and
+ * the hooks of the given {@link LSPFormatFilesHandler}.
+ *
+ * @since 0.19.5
+ */
+public class LSPBulkFormatter {
+
+	/**
+	 * The outcome of the formatting of one file.
+	 *
+	 * @param nanos
+	 *            the time from the formatting request to the save
+	 * @param error
+	 *            the failure, <code>null</code> if the file was formatted or
+	 *            needed no change
+	 */
+	public record FileResult(IFile file, long nanos, @Nullable Throwable error) {
+	}
+
+	private static final int SINGLE_FILE_TIMEOUT_MS = 5000;
+	private static final int MAX_REQUESTS_PER_SERVER = 4;
+	private static final int MAX_PENDING_FILES = 32;
+	private static final int APPLY_BATCH_SIZE = 16;
+	private static final long POLL_INTERVAL_MS = 50;
+
+	/** a file whose formatting was requested */
+	private record Request(IFile file, IDocumentProvider docProvider, IDocument document, long startNanos,
+			CompletableFuture<Optional<VersionedEdits>> edits) {
+	}
+
+	private final LSPFormatFilesHandler handler;
+	private final Semaphore pendingFiles = new Semaphore(MAX_PENDING_FILES);
+	/** the permits to send requests, by set of language servers */
+	private final Map<String, Semaphore> serverPermits = new ConcurrentHashMap<>();
+	private final BlockingQueue<Request> completed = new LinkedBlockingQueue<>();
+	/** the number of requests not applied yet, only accessed from the formatting thread */
+	private int outstanding;
+	private boolean interrupted;
+
+	public LSPBulkFormatter(LSPFormatFilesHandler handler) {
+		this.handler = handler;
+	}
+
+	/**
+	 * Formats and saves the given files. Once canceled, no further request is
+	 * sent, and the pending results are discarded.
+	 *
+	 * @return the outcome for each file which could be formatted by a language
+	 *         server, in the order they were formatted
+	 */
+	public List<FileResult> format(Collection<IFile> files, IProgressMonitor monitor) {
+		final var subMonitor = SubMonitor.convert(monitor, files.size());
+		final var results = new ArrayList<FileResult>(files.size());
+		for (final IFile file : files) {
+			if (subMonitor.isCanceled()) {
+				break;
+			}
+			final Semaphore permits = getServerPermits(file);
+			if (permits == null || !file.exists()) {
+				subMonitor.worked(1);
+				continue;
+			}
+			if (!acquire(pendingFiles, results, subMonitor)) {
+				break;
+			}
+			if (!acquire(permits, results, subMonitor)) {
+				pendingFiles.release();
+				break;
+			}
+			subMonitor.setTaskName(NLS.bind(Messages.LSPFormatFilesHandler_FormattingFile, file.getFullPath()));
+			request(file, permits, results, subMonitor);
+		}
+		// also when canceled, to disconnect the documents
+		while (outstanding > 0) {
+			applyBatch(results, subMonitor, POLL_INTERVAL_MS);
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		return results;
+	}
+
+	private @Nullable Semaphore getServerPermits(IFile file) {
+		final var definitions = LanguageServersRegistry.getInstance().getAvailableLanguageServers(file);
+		if (definitions.isEmpty()) {
+			return null;
+		}
+		final String key = definitions.stream().map(definition -> definition.id).sorted()
+				.collect(Collectors.joining(",")); //$NON-NLS-1$
+		return serverPermits.computeIfAbsent(key, k -> new Semaphore(MAX_REQUESTS_PER_SERVER));
+	}
+
+	/**
+	 * Waits for a permit, applying the formatting results meanwhile.
+	 *
+	 * @return <code>false</code> if canceled
+	 */
+	private boolean acquire(Semaphore permits, List<FileResult> results, SubMonitor monitor) {
+		while (!permits.tryAcquire()) {
+			if (monitor.isCanceled()) {
+				return false;
+			}
+			applyBatch(results, monitor, POLL_INTERVAL_MS);
+		}
+		return true;
+	}
+
+	private void request(IFile file, Semaphore permits, List<FileResult> results, SubMonitor monitor) {
+		final long start = System.nanoTime();
+		final IDocumentProvider docProvider = handler.getDocumentProvider(file);
+		final IDocument document;
+		try {
+			docProvider.connect(file);
+			document = docProvider.getDocument(file);
+		} catch (CoreException ex) {
+			permits.release();
+			pendingFiles.release();
+			results.add(new FileResult(file, System.nanoTime() - start, ex));
+			monitor.worked(1);
+			return;
+		}
+		if (document == null) {
+			docProvider.disconnect(file);
+			permits.release();
+			pendingFiles.release();
+			monitor.worked(1);
+			return;
+		}
+		CompletableFuture<Optional<VersionedEdits>> edits;
+		try {
+			edits = handler.formatter.requestFormatting(document, new TextSelection(0, 0))
+					.orTimeout(SINGLE_FILE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+		} catch (BadLocationException ex) {
+			edits = CompletableFuture.failedFuture(ex);
+		}
+		final var request = new Request(file, docProvider, document, start, edits);
+		outstanding++;
+		edits.whenComplete((result, error) -> {
+			permits.release();
+			completed.add(request);
+		});
+	}
+
+	/**
+	 * Applies and saves the formatting results which arrived, waiting at most
+	 * the given time for the first one.
+	 */
+	private void applyBatch(List<FileResult> results, SubMonitor monitor, long timeoutMs) {
+		final var batch = new ArrayList<Request>(APPLY_BATCH_SIZE);
+		try {
+			final Request first = completed.poll(timeoutMs, TimeUnit.MILLISECONDS);
+			if (first == null) {
+				return;
+			}
+			batch.add(first);
+		} catch (InterruptedException ex) {
+			// restored once the outstanding requests are drained, so they can still be waited for
+			interrupted = true;
+			monitor.setCanceled(true);
+			return;
+		}
+		completed.drainTo(batch, APPLY_BATCH_SIZE - 1);
+
+		final var errors = new HashMap<Request, Throwable>();
+		final var toApply = new ArrayList<Request>(batch.size());
+		for (final Request request : batch) {
+			try {
+				if (request.edits().join().isPresent()) {
+					toApply.add(request);
+				}
+			} catch (CompletionException ex) {
+				final Throwable cause = ex.getCause();
+				errors.put(request, cause != null ? cause : ex);
+			}
+		}
+		if (!monitor.isCanceled() && !toApply.isEmpty()) {
+			apply(toApply, errors);
+			save(toApply, errors, monitor);
+		}
+		for (final Request request : batch) {
+			request.docProvider().disconnect(request.file());
+			pendingFiles.release();
+			outstanding--;
+			if (!monitor.isCanceled()) {
+				results.add(new FileResult(request.file(), System.nanoTime() - request.startNanos(),
+						errors.get(request)));
+			}
+			monitor.worked(1);
+		}
+	}
+
+	/**
+	 * Applies the edits of the given requests in one UI runnable, removing those
+	 * which failed.
+	 */
+	private void apply(List<Request> requests, Map<Request, Throwable> errors) {
+		for (final Request request : requests) {
+			request.docProvider().aboutToChange(request.document());
+		}
+		UI.getDisplay().syncExec(() -> {
+			for (final Request request : requests) {
+				try {
+					request.edits().join().get().apply();
+				} catch (ConcurrentModificationException | BadLocationException ex) {
+					errors.put(request, ex);
+				}
+			}
+		});
+		for (final Request request : requests) {
+			request.docProvider().changed(request.document());
+		}
+		requests.removeIf(errors::containsKey);
+	}
+
+	/**
+	 * Saves the given documents in one workspace operation, so the resource
+	 * changes are notified once.
+	 */
+	private void save(List<Request> requests, Map<Request, Throwable> errors, IProgressMonitor monitor) {
+		if (requests.isEmpty()) {
+			return;
+		}
+		final IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		final ISchedulingRule rule = MultiRule.combine(requests.stream()
+				.map(request -> workspace.getRuleFactory().modifyRule(request.file())).toArray(ISchedulingRule[]::new));
+		try {
+			workspace.run(saveMonitor -> {
+				for (final Request request : requests) {
+					handler.saveDocument(request.docProvider(), request.file(), saveMonitor);
+				}
+			}, rule, IWorkspace.AVOID_UPDATE, monitor);
+		} catch (CoreException ex) {
+			LanguageServerPlugin.logError(ex);
+			requests.forEach(request -> errors.put(request, ex));
+		}
+	}
+}
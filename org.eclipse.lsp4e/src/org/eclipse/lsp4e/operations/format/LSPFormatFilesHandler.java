@@ -30,8 +30,10 @@
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.e4.core.commands.ExpressionContext;
 import org.eclipse.jdt.annotation.Nullable;
@@ -41,6 +43,7 @@
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServersRegistry;
 import org.eclipse.lsp4e.VersionedEdits;
+import org.eclipse.lsp4e.operations.format.LSPBulkFormatter.FileResult;
 import org.eclipse.lsp4e.ui.Messages;
 import org.eclipse.lsp4e.ui.UI;
 import org.eclipse.osgi.util.NLS;
@@ -60,16 +63,12 @@ public class LSPFormatFilesHandler extends AbstractHandler {
 				if (monitor == null)
 					monitor = new NullProgressMonitor();
 
-				final var selectedFiles = getSelectedFiles(ctx);
-				final var subMonitor = SubMonitor.convert(monitor, selectedFiles.size());
-				for (final IFile file : selectedFiles) {
-					if (subMonitor.isCanceled()) {
-						return;
-					}
-					formatFile(file, monitor);
-					subMonitor.worked(1);
+				final long start = System.nanoTime();
+				final List<FileResult> results = new LSPBulkFormatter(this).format(getSelectedFiles(ctx), monitor);
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
 				}
-				subMonitor.done();
+				return toStatus(results, System.nanoTime() - start);
 			});
 			job.setPriority(Job.BUILD);
 			job.schedule();
@@ -77,6 +76,43 @@ public class LSPFormatFilesHandler extends AbstractHandler {
 		return null;
 	}
 
+	/**
+	 * @return a status with the time spent on each file, and an error for each
+	 *         file which failed
+	 */
+	private static IStatus toStatus(List<FileResult> results, long nanos) {
+		final long failed = results.stream().filter(result -> result.error() != null).count();
+		final var status = new MultiStatus(LanguageServerPlugin.PLUGIN_ID, 0,
+				NLS.bind(Messages.LSPFormatFilesHandler_FormattedFiles,
+						new Object[] { results.size() - failed, TimeUnit.NANOSECONDS.toMillis(nanos), failed }),
+				null);
+		for (final FileResult result : results) {
+			final Throwable error = result.error();
+			if (error == null) {
+				status.add(new Status(IStatus.INFO, LanguageServerPlugin.PLUGIN_ID,
+						NLS.bind(Messages.LSPFormatFilesHandler_FormattedFile, result.file().getFullPath(),
+								TimeUnit.NANOSECONDS.toMillis(result.nanos()))));
+			} else {
+				status.add(new Status(IStatus.ERROR, LanguageServerPlugin.PLUGIN_ID,
+						NLS.bind(Messages.LSPFormatFilesHandler_FormattingFileFailed, result.file().getFullPath(),
+								error.getMessage()),
+						error));
+			}
+		}
+		return status;
+	}
+
+	/**
+	 * Formats and saves a single file.
+	 *
+	 * @deprecated no longer called by {@link #execute(ExecutionEvent)}, which
+	 *             formats the selected files with several requests in flight
+	 *             through {@link LSPBulkFormatter}. Override
+	 *             {@link #getDocumentProvider(IFile)} or
+	 *             {@link #saveDocument(IDocumentProvider, IFile, IProgressMonitor)}
+	 *             instead, they are still called for each file.
+	 */
+	@Deprecated(forRemoval = true)
 	protected void formatFile(final IFile file, final IProgressMonitor monitor) {
 		if (!file.exists() || !LanguageServersRegistry.getInstance().canUseLanguageServer(file))
 			return;
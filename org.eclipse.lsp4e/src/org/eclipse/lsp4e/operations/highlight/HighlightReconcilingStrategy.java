@@ -245,6 +245,7 @@ private void collectHighlights(int caretOffset, long timestamp, @Nullable IProgr
 				cacheKeyOffset, () -> {
 					final var reqs = requests = LanguageServers.forDocument(document)
 							.withCapability(ServerCapabilities::getDocumentHighlightProvider)
+							.withSupersession("textDocument/documentHighlight") //$NON-NLS-1$
 							.computeAll(ls -> ls.getTextDocumentService().documentHighlight(params));
 					return CompletableFuture.supplyAsync(() -> reqs.stream().map(CompletableFuture::join) //
 							.filter(Objects::nonNull).flatMap(List::stream).toList());
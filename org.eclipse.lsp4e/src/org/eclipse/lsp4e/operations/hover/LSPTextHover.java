@@ -18,20 +18,21 @@
 
 import static org.eclipse.lsp4e.internal.NullSafetyHelper.castNonNull;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import org.commonmark.node.Node;
-import org.commonmark.parser.Parser;
-import org.commonmark.renderer.html.HtmlRenderer;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.internal.text.html.BrowserInformationControl;
 import org.eclipse.jface.text.AbstractReusableInformationControlCreator;
@@ -44,12 +45,18 @@
 import org.eclipse.jface.text.ITextHover;
 import org.eclipse.jface.text.ITextHoverExtension;
 import org.eclipse.jface.text.ITextHoverExtension2;
+import org.eclipse.jface.text.ITextSelection;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.Region;
+import org.eclipse.jface.viewers.IPostSelectionProvider;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4e.internal.CancellationUtil;
+import org.eclipse.lsp4e.internal.DocumentRangeAsyncCache;
+import org.eclipse.lsp4e.internal.MarkdownRenderer;
+import org.eclipse.lsp4e.ui.UI;
 import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.HoverParams;
 import org.eclipse.lsp4j.MarkedString;
@@ -57,6 +64,7 @@
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.editors.text.EditorsUI;
 
@@ -67,6 +75,18 @@
 public class LSPTextHover implements ITextHover, ITextHoverExtension, ITextHoverExtension2 {
 
 	private static final int GET_HOVER_REGION_TIMEOUT_MS = 100;
+	/** the longest time to wait for a language server computing the hover */
+	private static final long HOVER_TIMEOUT_MS = 5000;
+
+	/**
+	 * The hovers by the range they were answered for, so moving the mouse within
+	 * an identifier sends no other request.
+	 */
+	private static final DocumentRangeAsyncCache<List<Hover>> HOVER_CACHE = new DocumentRangeAsyncCache<>(
+			Duration.ofSeconds(30), LSPTextHover::getRegion);
+
+	/** the viewers the hovers are prefetched in */
+	private final Set<ITextViewer> prefetchedViewers = Collections.newSetFromMap(new WeakHashMap<>());
 
 	private @Nullable IRegion lastRegion;
 	private @Nullable ITextViewer lastViewer;
@@ -102,7 +122,7 @@ public class LSPTextHover implements ITextHover, ITextHoverExtension, ITextHover
 		if (this.request == null || !textViewer.equals(this.lastViewer) || !hoverRegion.equals(this.lastRegion)) {
 			initiateHoverRequest(textViewer, hoverRegion.getOffset());
 		}
-		return castNonNull(request).thenApply(hoversList -> {
+		return castNonNull(request).<@Nullable String>thenCompose(hoversList -> {
 			String result = hoversList.stream() //
 					.filter(Objects::nonNull) //
 					.map(LSPTextHover::getHoverString) //
@@ -110,12 +130,10 @@ public class LSPTextHover implements ITextHover, ITextHoverExtension, ITextHover
 					.collect(Collectors.joining("\n\n")) //$NON-NLS-1$
 					.trim();
 			if (!result.isEmpty()) {
-				Parser parser = Parser.builder().build();
-				Node document = parser.parse(result);
-				HtmlRenderer renderer = HtmlRenderer.builder().build();
-				return renderer.render(document);
+				// long documentation is rendered in the background while the hover shows a placeholder
+				return MarkdownRenderer.renderAsync(result);
 			} else {
-				return null;
+				return CompletableFuture.completedFuture(null);
 			}
 		});
 	}
@@ -165,30 +183,47 @@ public class LSPTextHover implements ITextHover, ITextHoverExtension, ITextHover
 
 		try {
 			// Wait shortly for hover region result, fallback to heuristics if LS is laggy
-			Range range = castNonNull(this.request).get(GET_HOVER_REGION_TIMEOUT_MS, TimeUnit.MILLISECONDS).stream() //
-					.filter(Objects::nonNull) //
-					.map(Hover::getRange) //
-					.filter(Objects::nonNull) //
-					.reduce((first, second) -> second) //
-					.get();
-			int regionStartOffset = Math.max(0,
-					LSPEclipseUtils.toOffset(range.getStart(), document));
-			int regionEndOffset = Math.min(document.getLength(),
-					LSPEclipseUtils.toOffset(range.getEnd(), document));
-			return this.lastRegion = new Region(regionStartOffset, regionEndOffset - regionStartOffset);
-		} catch (ExecutionException | BadLocationException e) {
+			final IRegion region = getRegion(document,
+					castNonNull(this.request).get(GET_HOVER_REGION_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+			if (region != null) {
+				return this.lastRegion = region;
+			}
+		} catch (ExecutionException e) {
 			if (!CancellationUtil.isRequestCancelledException(e)) {
 				LanguageServerPlugin.logError("Cannot get hover region for offset " + offset, e); //$NON-NLS-1$
 			}
 		} catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
-		} catch (NoSuchElementException | TimeoutException | CancellationException e) {
+		} catch (TimeoutException | CancellationException e) {
 			// Fallback to heuristic region without blocking.
 		}
 
 		return this.lastRegion = computeHeuristicRegion(document, offset);
 	}
 
+	/**
+	 * @return the range reported by the last of the given hovers which has one
+	 */
+	private static @Nullable IRegion getRegion(IDocument document, List<Hover> hovers) {
+		final @Nullable Range range = hovers.stream() //
+				.filter(Objects::nonNull) //
+				.map(Hover::getRange) //
+				.filter(Objects::nonNull) //
+				.reduce((first, second) -> second) //
+				.orElse(null);
+		if (range == null) {
+			return null;
+		}
+		try {
+			int regionStartOffset = Math.max(0, LSPEclipseUtils.toOffset(range.getStart(), document));
+			int regionEndOffset = Math.min(document.getLength(), LSPEclipseUtils.toOffset(range.getEnd(), document));
+			return new Region(regionStartOffset, Math.max(0, regionEndOffset - regionStartOffset));
+		} catch (BadLocationException e) {
+			LanguageServerPlugin.logError("Cannot get hover region for range " + range, e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
 	private static Region computeHeuristicRegion(final IDocument document, final int offset) {
 		try {
 			final int length = document.getLength();
@@ -242,15 +277,65 @@ private void initiateHoverRequest(ITextViewer viewer, int offset) {
 			return;
 		}
 		this.lastViewer = viewer;
-		try {
-			HoverParams params = LSPEclipseUtils.toHoverParams(offset, document);
+		installPrefetch(viewer);
+		// a copy, so canceling it does not cancel the request shared through the cache
+		this.request = HOVER_CACHE.computeIfAbsent(document, offset,
+				() -> requestHover(document, offset, RequestPriority.INTERACTIVE)).thenApply(Function.identity());
+	}
 
-			this.request = LanguageServers.forDocument(document) //
-					.withCapability(ServerCapabilities::getHoverProvider) //
-					.collectAll(server -> server.getTextDocumentService().hover(params));
+	private static CompletableFuture<List<Hover>> requestHover(IDocument document, int offset,
+			RequestPriority priority) {
+		final HoverParams params;
+		try {
+			params = LSPEclipseUtils.toHoverParams(offset, document);
 		} catch (BadLocationException e) {
-			LanguageServerPlugin.logError(e);
+			return CompletableFuture.failedFuture(e);
+		}
+		return LanguageServers.forDocument(document) //
+				.withCapability(ServerCapabilities::getHoverProvider) //
+				.withPriority(priority) //
+				.withAdaptiveTimeout("textDocument/hover", HOVER_TIMEOUT_MS) //$NON-NLS-1$
+				.collectAll(server -> server.getTextDocumentService().hover(params));
+	}
+
+	/**
+	 * Prefetches the hover of the word the caret stops in, so hovering it is
+	 * answered from the cache.
+	 */
+	private void installPrefetch(ITextViewer viewer) {
+		synchronized (prefetchedViewers) {
+			if (!prefetchedViewers.add(viewer)) {
+				return;
+			}
+		}
+		UI.getDisplay().asyncExec(() -> {
+			final StyledText textWidget = viewer.getTextWidget();
+			if (textWidget == null || textWidget.isDisposed()) {
+				return;
+			}
+			// post selection changes are only sent once the caret stays still for a moment
+			if (viewer.getSelectionProvider() instanceof IPostSelectionProvider provider) {
+				provider.addPostSelectionChangedListener(event -> {
+					final IDocument document = viewer.getDocument();
+					if (document != null && event.getSelection() instanceof ITextSelection selection
+							&& selection.getLength() == 0) {
+						prefetch(document, selection.getOffset());
+					}
+				});
+			}
+		});
+	}
+
+	private static void prefetch(IDocument document, int offset) {
+		final Region word = computeHeuristicRegion(document, offset);
+		if (word.getLength() == 0 || HOVER_CACHE.getNow(document, offset) != null) {
+			return;
 		}
+		// keyed by the start of the word, so moving the caret within it sends no other request
+		HOVER_CACHE.computeIfAbsent(document, word.getOffset(),
+				() -> requestHover(document, word.getOffset(), RequestPriority.BACKGROUND))
+				// nobody asked for this hover yet, a failure is reported once it is actually requested
+				.exceptionally(ex -> List.of());
 	}
 
 	@Override
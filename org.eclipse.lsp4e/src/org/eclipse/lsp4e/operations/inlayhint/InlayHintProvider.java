@@ -23,6 +23,7 @@
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4e.internal.AbstractLSPCodeMiningProvider;
 import org.eclipse.lsp4e.internal.CancellationUtil;
 import org.eclipse.lsp4j.InlayHint;
@@ -49,6 +50,8 @@ public class InlayHintProvider extends AbstractLSPCodeMiningProvider {
 		final var param = new InlayHintParams(docId, viewPortRange);
 		List<LSPLineContentCodeMining> inlayHintResults = Collections.synchronizedList(new ArrayList<>());
 		return LanguageServers.forDocument(document).withCapability(ServerCapabilities::getInlayHintProvider)
+				.withPriority(RequestPriority.BACKGROUND)
+				.withSupersession("textDocument/inlayHint") //$NON-NLS-1$
 				.collectAll((w, ls) -> ls.getTextDocumentService() //
 				.inlayHint(param).exceptionally((ex -> {
 					if (!(ex instanceof CancellationException || CancellationUtil.isRequestCancelledException(ex))) {
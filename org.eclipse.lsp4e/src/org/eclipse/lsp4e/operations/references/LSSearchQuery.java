@@ -16,14 +16,19 @@
 
 import static org.eclipse.lsp4e.internal.NullSafetyHelper.castNonNull;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-import org.eclipse.core.filebuffers.FileBuffers;
-import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -31,13 +36,12 @@
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
-import org.eclipse.jface.text.IRegion;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServers;
 import org.eclipse.lsp4e.LanguageServers.LanguageServerDocumentExecutor;
+import org.eclipse.lsp4e.internal.LineIndex;
 import org.eclipse.lsp4e.ui.Messages;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.Position;
@@ -50,11 +54,19 @@
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.text.Match;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * {@link ISearchQuery} implementation for LSP.
  */
 public class LSSearchQuery extends FileSearchQuery {
 
+	/** the number of files read in parallel */
+	private static final int PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+	/** the number of matches added to the search result at once */
+	private static final int BATCH_SIZE = 500;
+	private static final String BYTE_ORDER_MARK = "\uFEFF"; //$NON-NLS-1$
+
 	private final IDocument document;
 	private final int offset;
 
@@ -76,6 +88,7 @@ public LSSearchQuery(int offset, IDocument document) {
 	@Override
 	public IStatus run(@Nullable IProgressMonitor monitor) throws OperationCanceledException {
 		getSearchResult().removeAll();
+		final IProgressMonitor progress = monitor == null ? new NullProgressMonitor() : monitor;
 
 		try {
 			// Execute LSP "references" service
@@ -90,16 +103,11 @@ public IStatus run(@Nullable IProgressMonitor monitor) throws OperationCanceledE
 				request.thenAcceptAsync(locations -> {
 						final var result = this.result;
 						if (locations != null && result != null) {
-							// Convert each LSP Location to a Match search.
-							locations.stream() //
-								.filter(Objects::nonNull) //
-								.map(LSSearchQuery::toMatch) //
-								.filter(Objects::nonNull) //
-								.forEach(result::addMatch);
+							addMatches(locations, result, progress);
 						}
 				})).toArray(CompletableFuture[]::new);
 			CompletableFuture.allOf(populateUIFutures).join();
-			return Status.OK_STATUS;
+			return progress.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
 		} catch (Exception ex) {
 			return new Status(IStatus.ERROR, LanguageServerPlugin.getDefault().getBundle().getSymbolicName(),
 					ex.getMessage(), ex);
@@ -107,56 +115,131 @@ public IStatus run(@Nullable IProgressMonitor monitor) throws OperationCanceledE
 	}
 
 	/**
-	 * Convert the given LSP {@link Location} to Eclipse search {@link Match}.
-	 *
-	 * @param location
-	 *            the LSP location to convert.
-	 * @return the converted Eclipse search {@link Match}.
+	 * Converts the given LSP locations to Eclipse search matches and adds them to
+	 * the result. The locations are grouped by file so each file is read once,
+	 * the files are processed in parallel and the matches are added in batches.
 	 */
-	private static @Nullable Match toMatch(Location location) {
-		IResource resource = LSPEclipseUtils.findResourceFor(location.getUri());
-		if (resource != null) {
-			IDocument document = LSPEclipseUtils.getExistingDocument(resource);
-			boolean temporaryLoadDocument = document == null;
-			if (temporaryLoadDocument) {
-				document = LSPEclipseUtils.getDocument(resource);
+	private static void addMatches(List<? extends @Nullable Location> locations, LSSearchResult result,
+			IProgressMonitor monitor) {
+		final Map<String, List<Location>> locationsByUri = new LinkedHashMap<>();
+		for (final Location location : locations) {
+			if (location != null) {
+				locationsByUri.computeIfAbsent(location.getUri(), uri -> new ArrayList<>()).add(location);
 			}
-			if (document != null) {
+		}
+		if (locationsByUri.isEmpty()) {
+			return;
+		}
+		final var batcher = new MatchBatcher(result);
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(locationsByUri.size(), PARALLELISM),
+				new ThreadFactoryBuilder().setNameFormat("LSP4E references %d").setDaemon(true).build()); //$NON-NLS-1$
+		try {
+			CompletableFuture.allOf(locationsByUri.entrySet().stream() //
+					.map(entry -> CompletableFuture.runAsync(() -> {
+						if (!monitor.isCanceled()) {
+							batcher.addAll(toMatches(entry.getKey(), entry.getValue()));
+						}
+					}, executor)) //
+					.toArray(CompletableFuture[]::new)).join();
+		} finally {
+			executor.shutdownNow();
+			batcher.flush();
+		}
+	}
+
+	/**
+	 * Convert the given LSP {@link Location}s of the same document to Eclipse
+	 * search {@link Match}es, reading the document once.
+	 *
+	 * @param locations
+	 *            the LSP locations to convert, all with the given URI.
+	 * @return the converted Eclipse search {@link Match}es.
+	 */
+	private static List<Match> toMatches(String uri, List<Location> locations) {
+		final var matches = new ArrayList<Match>(locations.size());
+		if (!(LSPEclipseUtils.findResourceFor(uri) instanceof IFile file)) {
+			for (final Location location : locations) {
 				try {
-					int startOffset = LSPEclipseUtils.toOffset(location.getRange().getStart(), document);
-					int endOffset = LSPEclipseUtils.toOffset(location.getRange().getEnd(), document);
-
-					IRegion lineInformation = document.getLineInformationOfOffset(startOffset);
-					final var lineEntry = new LineElement(resource, document.getLineOfOffset(startOffset) + 1,
-							lineInformation.getOffset(),
-							document.get(lineInformation.getOffset(), lineInformation.getLength()));
-					return new FileMatch((IFile) resource, startOffset, endOffset - startOffset, lineEntry);
-				} catch (BadLocationException ex) {
+					matches.add(URIMatch.create(location));
+				} catch (Exception ex) {
 					LanguageServerPlugin.logError(ex);
-				} finally {
-					if (temporaryLoadDocument) {
-						try {
-							FileBuffers.getTextFileBufferManager().disconnect(resource.getFullPath(), LocationKind.IFILE, new NullProgressMonitor());
-						} catch (CoreException e) {
-							LanguageServerPlugin.logError(e);
-						}
-					}
 				}
 			}
+			return matches;
+		}
+		final LineIndex lines = readLines(file);
+		// matches on the same line share their line element, as in the file search
+		final var lineElements = new HashMap<Integer, LineElement>();
+		for (final Location location : locations) {
+			if (lines == null) {
+				Position startPosition = location.getRange().getStart();
+				final var lineEntry = new LineElement(file, startPosition.getLine() + 1, 0,
+						String.format("%s:%s", startPosition.getLine(), startPosition.getCharacter())); //$NON-NLS-1$
+				matches.add(new FileMatch(file, 0, 0, lineEntry));
+				continue;
+			}
+			final int startOffset = lines.toOffset(location.getRange().getStart());
+			final int endOffset = Math.max(startOffset, lines.toOffset(location.getRange().getEnd()));
+			final int line = lines.getLine(startOffset);
+			final LineElement lineEntry = lineElements.computeIfAbsent(line,
+					l -> new LineElement(file, l + 1, lines.getLineOffset(l), lines.getLineText(l)));
+			matches.add(new FileMatch(file, startOffset, endOffset - startOffset, lineEntry));
+		}
+		return matches;
+	}
 
-			Position startPosition = location.getRange().getStart();
-			final var lineEntry = new LineElement(resource, startPosition.getLine() + 1, 0,
-					String.format("%s:%s", startPosition.getLine(), startPosition.getCharacter())); //$NON-NLS-1$
-			return new FileMatch((IFile) resource, 0, 0, lineEntry);
+	/**
+	 * @return the lines of the document of the given file if it is open, including
+	 *         unsaved changes, otherwise of the file content, <code>null</code> if
+	 *         it cannot be read
+	 */
+	private static @Nullable LineIndex readLines(IFile file) {
+		final IDocument existingDocument = LSPEclipseUtils.getExistingDocument(file);
+		if (existingDocument != null) {
+			return new LineIndex(existingDocument.get());
 		}
-		try {
-			return URIMatch.create(location);
-		} catch (Exception ex) {
+		try (InputStream in = file.getContents(true)) {
+			String text = new String(in.readAllBytes(), Charset.forName(file.getCharset()));
+			if (text.startsWith(BYTE_ORDER_MARK)) {
+				// as skipped by the file buffers
+				text = text.substring(BYTE_ORDER_MARK.length());
+			}
+			return new LineIndex(text);
+		} catch (CoreException | IOException | IllegalArgumentException ex) {
 			LanguageServerPlugin.logError(ex);
 			return null;
 		}
 	}
 
+	/**
+	 * Adds matches to the search result in batches, so the search view is not
+	 * notified of every single match.
+	 */
+	private static final class MatchBatcher {
+
+		private final LSSearchResult result;
+		private final List<Match> pending = new ArrayList<>();
+
+		MatchBatcher(LSSearchResult result) {
+			this.result = result;
+		}
+
+		synchronized void addAll(List<Match> matches) {
+			pending.addAll(matches);
+			if (pending.size() >= BATCH_SIZE) {
+				flush();
+			}
+		}
+
+		synchronized void flush() {
+			if (!pending.isEmpty()) {
+				result.addMatches(pending.toArray(Match[]::new));
+				pending.clear();
+			}
+		}
+	}
+
 	@Override
 	public LSSearchResult getSearchResult() {
 		var result = this.result;
@@ -53,6 +53,14 @@ public void addMatch(Match match) {
 		this.nonFileElements.add(match.getElement());
 	}
 
+	@Override
+	public void addMatches(Match[] matches) {
+		super.addMatches(matches);
+		for (final Match match : matches) {
+			this.nonFileElements.add(match.getElement());
+		}
+	}
+
 	@Override
 	public boolean isShownInEditor(Match match, IEditorPart editor) {
 		IEditorInput ei= editor.getEditorInput();
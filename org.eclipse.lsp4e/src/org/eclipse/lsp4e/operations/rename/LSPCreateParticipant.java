@@ -11,9 +11,9 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.operations.rename;
 
-import static org.eclipse.lsp4e.internal.NullSafetyHelper.lateNonNull;
-
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -23,6 +23,7 @@
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.operations.rename.LSPFileOperationParticipantSupport.FileOperation;
 import org.eclipse.lsp4j.CreateFilesParams;
 import org.eclipse.lsp4j.FileCreate;
 import org.eclipse.lsp4j.FileOperationsServerCapabilities;
@@ -30,11 +31,12 @@
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
 import org.eclipse.ltk.core.refactoring.participants.CreateParticipant;
+import org.eclipse.ltk.core.refactoring.participants.ISharableParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringArguments;
 
-public class LSPCreateParticipant extends CreateParticipant {
+public class LSPCreateParticipant extends CreateParticipant implements ISharableParticipant {
 
-	private URI newURI = lateNonNull();
-	private IResource resource = lateNonNull();
+	private final List<FileOperation<FileCreate>> operations = new ArrayList<>();
 
 	@Override
 	public String getName() {
@@ -43,18 +45,30 @@ public String getName() {
 
 	@Override
 	protected boolean initialize(final Object element) {
-		if (element instanceof final IResource res && (res instanceof IFile || res instanceof IFolder)) {
-			resource = res;
-			final URI uri = LSPEclipseUtils.toUri(res);
-			if (uri == null)
-				return false;
-			newURI = uri;
+		final FileOperation<FileCreate> operation = toOperation(element);
+		if (operation == null)
+			return false;
+		operations.add(operation);
+		return LSPFileOperationParticipantSupport.createFileOperationExecutor(operation.resource(),
+				FileOperationsServerCapabilities::getWillCreate).anyMatching();
+	}
+
+	@Override
+	public void addElement(final Object element, final RefactoringArguments arguments) {
+		final FileOperation<FileCreate> operation = toOperation(element);
+		if (operation != null)
+			operations.add(operation);
+	}
 
-			return LSPFileOperationParticipantSupport
-					.createFileOperationExecutor(res, FileOperationsServerCapabilities::getWillCreate).anyMatching();
+	private static @Nullable FileOperation<FileCreate> toOperation(final Object element) {
+		if (element instanceof final IResource res && (res instanceof IFile || res instanceof IFolder)) {
+			final URI newURI = LSPEclipseUtils.toUri(res);
+			if (newURI == null)
+				return null;
+			return new FileOperation<>(res, new FileCreate(newURI.toString()));
 		}
 
-		return false;
+		return null;
 	}
 
 	@Override
@@ -72,9 +86,8 @@ public RefactoringStatus checkConditions(final IProgressMonitor monitor, final C
 	@Override
 	public @Nullable Change createPreChange(final IProgressMonitor monitor)
 			throws CoreException, OperationCanceledException {
-		final var params = new CreateFilesParams();
-		params.getFiles().add(new FileCreate(newURI.toString()));
-		return LSPFileOperationParticipantSupport.computePreChange(getName(), params, resource,
-				FileOperationsServerCapabilities::getWillCreate, (ws, p) -> ws.willCreateFiles(p));
+		return LSPFileOperationParticipantSupport.computePreChange(getName(), operations,
+				FileOperationsServerCapabilities::getWillCreate, CreateFilesParams::new,
+				(ws, p) -> ws.willCreateFiles(p));
 	}
 }
@@ -11,9 +11,9 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.operations.rename;
 
-import static org.eclipse.lsp4e.internal.NullSafetyHelper.lateNonNull;
-
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -23,6 +23,7 @@
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.operations.rename.LSPFileOperationParticipantSupport.FileOperation;
 import org.eclipse.lsp4j.DeleteFilesParams;
 import org.eclipse.lsp4j.FileDelete;
 import org.eclipse.lsp4j.FileOperationsServerCapabilities;
@@ -30,11 +31,12 @@
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
 import org.eclipse.ltk.core.refactoring.participants.DeleteParticipant;
+import org.eclipse.ltk.core.refactoring.participants.ISharableParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringArguments;
 
-public class LSPDeleteParticipant extends DeleteParticipant {
+public class LSPDeleteParticipant extends DeleteParticipant implements ISharableParticipant {
 
-	private URI oldURI = lateNonNull();
-	private IResource resource = lateNonNull();
+	private final List<FileOperation<FileDelete>> operations = new ArrayList<>();
 
 	@Override
 	public String getName() {
@@ -43,16 +45,29 @@ public String getName() {
 
 	@Override
 	protected boolean initialize(final Object element) {
+		final FileOperation<FileDelete> operation = toOperation(element);
+		if (operation == null)
+			return false;
+		operations.add(operation);
+		return LSPFileOperationParticipantSupport.createFileOperationExecutor(operation.resource(),
+				FileOperationsServerCapabilities::getWillDelete).anyMatching();
+	}
+
+	@Override
+	public void addElement(final Object element, final RefactoringArguments arguments) {
+		final FileOperation<FileDelete> operation = toOperation(element);
+		if (operation != null)
+			operations.add(operation);
+	}
+
+	private static @Nullable FileOperation<FileDelete> toOperation(final Object element) {
 		if (element instanceof final IResource res && (res instanceof IFile || res instanceof IFolder)) {
-			resource = res;
-			final URI uri = LSPEclipseUtils.toUri(res);
-			if (uri == null)
-				return false;
-			oldURI = uri;
-			return LSPFileOperationParticipantSupport
-					.createFileOperationExecutor(res, FileOperationsServerCapabilities::getWillDelete).anyMatching();
+			final URI oldURI = LSPEclipseUtils.toUri(res);
+			if (oldURI == null)
+				return null;
+			return new FileOperation<>(res, new FileDelete(oldURI.toString()));
 		}
-		return false;
+		return null;
 	}
 
 	@Override
@@ -70,9 +85,8 @@ public RefactoringStatus checkConditions(final IProgressMonitor monitor, final C
 	@Override
 	public @Nullable Change createPreChange(final IProgressMonitor monitor)
 			throws CoreException, OperationCanceledException {
-		final var params = new DeleteFilesParams();
-		params.getFiles().add(new FileDelete(oldURI.toString()));
-		return LSPFileOperationParticipantSupport.computePreChange(getName(), params, resource,
-				FileOperationsServerCapabilities::getWillDelete, (ws, p) -> ws.willDeleteFiles(p));
+		return LSPFileOperationParticipantSupport.computePreChange(getName(), operations,
+				FileOperationsServerCapabilities::getWillDelete, DeleteFilesParams::new,
+				(ws, p) -> ws.willDeleteFiles(p));
 	}
 }
@@ -12,15 +12,19 @@
 package org.eclipse.lsp4e.operations.rename;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -28,13 +32,14 @@
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
 import org.eclipse.lsp4e.LanguageServers.LanguageServerProjectExecutor;
 import org.eclipse.lsp4e.internal.files.PathPatternMatcher;
-import org.eclipse.lsp4j.FileOperationFilter;
 import org.eclipse.lsp4j.FileOperationOptions;
 import org.eclipse.lsp4j.FileOperationPatternKind;
 import org.eclipse.lsp4j.FileOperationsServerCapabilities;
+import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.WorkspaceEdit;
 import org.eclipse.lsp4j.services.WorkspaceService;
 import org.eclipse.ltk.core.refactoring.Change;
@@ -53,6 +58,55 @@ public final class LSPFileOperationParticipantSupport {
 	 */
 	private static final long FILE_OP_TIMEOUT_SECONDS = 10;
 
+	/**
+	 * A file operation on one resource of a refactoring, with its LSP
+	 * description, e.g. a {@link org.eclipse.lsp4j.FileRename}.
+	 */
+	record FileOperation<F>(IResource resource, F file) {
+	}
+
+	/**
+	 * The filters of the file operation options of a server, with their glob
+	 * patterns compiled once.
+	 */
+	private static final class FileOperationMatcher {
+
+		private record CompiledFilter(@Nullable FileOperationPatternKind kind, PathPatternMatcher matcher) {
+		}
+
+		private final boolean matchesAll;
+		private final List<CompiledFilter> filters;
+
+		FileOperationMatcher(final FileOperationOptions options) {
+			matchesAll = options.getFilters().isEmpty();
+			filters = options.getFilters().stream() //
+					.filter(filter -> filter.getScheme() == null || "file".equalsIgnoreCase(filter.getScheme())) //$NON-NLS-1$
+					.filter(filter -> !filter.getPattern().getGlob().isBlank()) //
+					.map(filter -> new CompiledFilter(filter.getPattern().getMatches(),
+							new PathPatternMatcher(filter.getPattern().getGlob(), null))) //
+					.toList();
+		}
+
+		boolean matches(final IResource resource) {
+			final var uri = LSPEclipseUtils.toUri(resource);
+			return uri != null && matches(Path.of(uri), resource.getType() == IResource.FOLDER);
+		}
+
+		boolean matches(final Path path, final boolean isFolder) {
+			if (matchesAll)
+				return true;
+			for (final CompiledFilter filter : filters) {
+				if (FileOperationPatternKind.File.equals(filter.kind()) && isFolder)
+					continue;
+				if (FileOperationPatternKind.Folder.equals(filter.kind()) && !isFolder)
+					continue;
+				if (filter.matcher().matches(path))
+					return true;
+			}
+			return false;
+		}
+	}
+
 	static <P> @Nullable Change computePreChange(final String changeName, final P params, final IResource resource,
 			final Function<FileOperationsServerCapabilities, @Nullable FileOperationOptions> optionsProvider,
 			final BiFunction<WorkspaceService, P, CompletableFuture<@Nullable WorkspaceEdit>> request)
@@ -64,27 +118,88 @@ public final class LSPFileOperationParticipantSupport {
 			final LanguageServerProjectExecutor executor,
 			final BiFunction<WorkspaceService, P, CompletableFuture<@Nullable WorkspaceEdit>> request)
 			throws CoreException {
+		return toChange(changeName, executor.collectAll((wrapper, ls) -> requestChange(changeName, wrapper,
+				request.apply(ls.getWorkspaceService(), params))));
+	}
+
+	/**
+	 * Computes the pre-change of the given file operations of one refactoring,
+	 * e.g. moving all the files of a folder. Each language server gets a single
+	 * request per project with all the operations matching its filters, rather
+	 * than one request per resource.
+	 *
+	 * @param paramsFactory
+	 *            creates the request parameters of the given file operations
+	 */
+	static <F, P> @Nullable Change computePreChange(final String changeName, final List<FileOperation<F>> operations,
+			final Function<FileOperationsServerCapabilities, @Nullable FileOperationOptions> optionsProvider,
+			final Function<List<F>, P> paramsFactory,
+			final BiFunction<WorkspaceService, P, CompletableFuture<@Nullable WorkspaceEdit>> request)
+			throws CoreException {
+		final var operationsByProject = new LinkedHashMap<IProject, List<FileOperation<F>>>();
+		for (final FileOperation<F> operation : operations) {
+			operationsByProject.computeIfAbsent(operation.resource().getProject(), project -> new ArrayList<>())
+					.add(operation);
+		}
+		// servers usually share the same options, so their filters are compiled once for all resources
+		final var matchers = new ConcurrentHashMap<FileOperationOptions, FileOperationMatcher>();
+		final var futures = new ArrayList<CompletableFuture<List<CompositeChange>>>(operationsByProject.size());
+		operationsByProject.forEach((project, projectOperations) -> futures.add(LanguageServers.forProject(project)
+				.withFilter(capabilities -> getOptions(capabilities, optionsProvider) != null)
+				.collectAll((wrapper, ls) -> {
+					final ServerCapabilities capabilities = wrapper.getServerCapabilities();
+					final FileOperationOptions options = capabilities == null ? null
+							: getOptions(capabilities, optionsProvider);
+					if (options == null)
+						return CompletableFuture.completedFuture((@Nullable CompositeChange) null);
+					final FileOperationMatcher matcher = matchers.computeIfAbsent(options, FileOperationMatcher::new);
+					final List<F> files = projectOperations.stream() //
+							.filter(operation -> matcher.matches(operation.resource())) //
+							.map(FileOperation::file) //
+							.toList();
+					if (files.isEmpty())
+						return CompletableFuture.completedFuture((@Nullable CompositeChange) null);
+					return requestChange(changeName, wrapper,
+							request.apply(ls.getWorkspaceService(), paramsFactory.apply(files)));
+				})));
+		return toChange(changeName, CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+				.thenApply(v -> futures.stream().flatMap(future -> future.join().stream()).toList()));
+	}
 
-		final CompletableFuture<List<CompositeChange>> future = executor //
-				.collectAll((wrapper, ls) -> request //
-						.apply(ls.getWorkspaceService(), params) //
-						.thenApply(edits -> edits == null || isEmptyEdit(edits) //
-								? (@Nullable CompositeChange) null
-								: LSPEclipseUtils.toCompositeChange(edits, wrapper.serverDefinition.label)) //
-						.orTimeout(FILE_OP_TIMEOUT_SECONDS, TimeUnit.SECONDS) //
-						.exceptionally(ex -> {
-							final String logHeader = "File operation pre-change '" + changeName; //$NON-NLS-1$
-							if (ex instanceof TimeoutException) {
-								LanguageServerPlugin.logWarning(logHeader + "' timed out for server: " //$NON-NLS-1$
-										+ wrapper.serverDefinition.label + " after " + FILE_OP_TIMEOUT_SECONDS //$NON-NLS-1$
-										+ " seconds"); //$NON-NLS-1$
-							} else {
-								LanguageServerPlugin.logError(logHeader + "' failed for server: " //$NON-NLS-1$
-										+ wrapper.serverDefinition.label, ex);
-							}
-							return null;
-						}));
+	private static @Nullable FileOperationOptions getOptions(final ServerCapabilities capabilities,
+			final Function<FileOperationsServerCapabilities, @Nullable FileOperationOptions> optionsProvider) {
+		final var workspace = capabilities.getWorkspace();
+		if (workspace == null)
+			return null;
+		final var fileOps = workspace.getFileOperations();
+		if (fileOps == null)
+			return null;
+		return optionsProvider.apply(fileOps);
+	}
 
+	private static CompletableFuture<@Nullable CompositeChange> requestChange(final String changeName,
+			final LanguageServerWrapper wrapper, final CompletableFuture<@Nullable WorkspaceEdit> request) {
+		return request //
+				.thenApply(edits -> edits == null || isEmptyEdit(edits) //
+						? (@Nullable CompositeChange) null
+						: LSPEclipseUtils.toCompositeChange(edits, wrapper.serverDefinition.label)) //
+				.orTimeout(FILE_OP_TIMEOUT_SECONDS, TimeUnit.SECONDS) //
+				.exceptionally(ex -> {
+					final String logHeader = "File operation pre-change '" + changeName; //$NON-NLS-1$
+					if (ex instanceof TimeoutException) {
+						LanguageServerPlugin.logWarning(logHeader + "' timed out for server: " //$NON-NLS-1$
+								+ wrapper.serverDefinition.label + " after " + FILE_OP_TIMEOUT_SECONDS //$NON-NLS-1$
+								+ " seconds"); //$NON-NLS-1$
+					} else {
+						LanguageServerPlugin.logError(logHeader + "' failed for server: " //$NON-NLS-1$
+								+ wrapper.serverDefinition.label, ex);
+					}
+					return null;
+				});
+	}
+
+	private static @Nullable Change toChange(final String changeName,
+			final CompletableFuture<List<CompositeChange>> future) throws CoreException {
 		final CompositeChange[] changes;
 		try {
 			changes = future.get() //
@@ -118,16 +233,10 @@ public static LanguageServerProjectExecutor createFileOperationExecutor(final IR
 		}
 
 		final var path = Path.of(uri);
+		final boolean isFolder = res.getType() == IResource.FOLDER;
 		return LanguageServers.forProject(project).withFilter(capabilities -> {
-			final var workspace = capabilities.getWorkspace();
-			if (workspace == null)
-				return false;
-			final var fileOps = workspace.getFileOperations();
-			if (fileOps == null)
-				return false;
-
-			final var options = optionsProvider.apply(fileOps);
-			return matches(options, path, res.getType() == IResource.FOLDER);
+			final var options = getOptions(capabilities, optionsProvider);
+			return options != null && new FileOperationMatcher(options).matches(path, isFolder);
 		});
 	}
 
@@ -136,36 +245,6 @@ private static boolean isEmptyEdit(final WorkspaceEdit edits) {
 				&& (edits.getDocumentChanges() == null || edits.getDocumentChanges().isEmpty());
 	}
 
-	private static boolean matches(final @Nullable FileOperationOptions options, final Path path,
-			final boolean isFolder) {
-		if (options == null)
-			return false;
-
-		final var filters = options.getFilters();
-		return filters.isEmpty() || filters.stream().anyMatch(filter -> matchesFilter(filter, path, isFolder));
-	}
-
-	private static boolean matchesFilter(final FileOperationFilter filter, final Path path, final boolean isFolder) {
-		final var scheme = filter.getScheme();
-		if (scheme != null && !"file".equalsIgnoreCase(scheme)) //$NON-NLS-1$
-			return false;
-
-		final var pattern = filter.getPattern();
-		if (pattern.getGlob().isBlank())
-			return false;
-
-		final var matches = pattern.getMatches();
-		if (FileOperationPatternKind.File.equals(matches) && isFolder)
-			return false;
-
-		if (FileOperationPatternKind.Folder.equals(matches) && !isFolder)
-			return false;
-
-		final String glob = pattern.getGlob();
-		final var matcher = new PathPatternMatcher(glob, null);
-		return matcher.matches(path);
-	}
-
 	private LSPFileOperationParticipantSupport() {
 	}
 }
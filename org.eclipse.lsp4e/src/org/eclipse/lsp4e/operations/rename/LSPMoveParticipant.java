@@ -11,9 +11,9 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.operations.rename;
 
-import static org.eclipse.lsp4e.internal.NullSafetyHelper.lateNonNull;
-
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -24,19 +24,20 @@
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.operations.rename.LSPFileOperationParticipantSupport.FileOperation;
 import org.eclipse.lsp4j.FileOperationsServerCapabilities;
 import org.eclipse.lsp4j.FileRename;
 import org.eclipse.lsp4j.RenameFilesParams;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.ISharableParticipant;
 import org.eclipse.ltk.core.refactoring.participants.MoveParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringArguments;
 
-public class LSPMoveParticipant extends MoveParticipant {
+public class LSPMoveParticipant extends MoveParticipant implements ISharableParticipant {
 
-	private URI oldURI = lateNonNull();
-	private URI newURI = lateNonNull();
-	private IResource resource = lateNonNull();
+	private final List<FileOperation<FileRename>> operations = new ArrayList<>();
 
 	@Override
 	public String getName() {
@@ -45,15 +46,32 @@ public String getName() {
 
 	@Override
 	protected boolean initialize(final Object element) {
+		final FileOperation<FileRename> operation = toOperation(element, getArguments());
+		if (operation == null)
+			return false;
+		operations.add(operation);
+		return LSPFileOperationParticipantSupport.createFileOperationExecutor(operation.resource(),
+				FileOperationsServerCapabilities::getWillRename).anyMatching();
+	}
+
+	@Override
+	public void addElement(final Object element, final RefactoringArguments arguments) {
+		if (arguments instanceof final MoveArguments moveArguments) {
+			final FileOperation<FileRename> operation = toOperation(element, moveArguments);
+			if (operation != null)
+				operations.add(operation);
+		}
+	}
+
+	private static @Nullable FileOperation<FileRename> toOperation(final Object element,
+			final MoveArguments arguments) {
 		if (element instanceof final IResource res && (res instanceof IFile || res instanceof IFolder)) {
-			resource = res;
-			final URI uri = LSPEclipseUtils.toUri(res);
-			if (uri == null)
-				return false;
-			oldURI = uri;
+			final URI oldURI = LSPEclipseUtils.toUri(res);
+			if (oldURI == null)
+				return null;
 
 			// Compute destination from MoveArguments destination (container path)
-			final Object dest = getArguments().getDestination();
+			final Object dest = arguments.getDestination();
 			IPath destLoc = null;
 			if (dest instanceof IResource destRes) {
 				destLoc = destRes.getRawLocation();
@@ -61,16 +79,14 @@ protected boolean initialize(final Object element) {
 				destLoc = destPath;
 			}
 			if (destLoc == null)
-				return false;
+				return null;
 
 			final String targetName = res.getName();
-			newURI = LSPEclipseUtils.toUri(destLoc.append(targetName));
-
-			return LSPFileOperationParticipantSupport
-					.createFileOperationExecutor(res, FileOperationsServerCapabilities::getWillRename).anyMatching();
+			final URI newURI = LSPEclipseUtils.toUri(destLoc.append(targetName));
+			return new FileOperation<>(res, new FileRename(oldURI.toString(), newURI.toString()));
 		}
 
-		return false;
+		return null;
 	}
 
 	@Override
@@ -88,9 +104,8 @@ public RefactoringStatus checkConditions(final IProgressMonitor monitor, final C
 	@Override
 	public @Nullable Change createPreChange(final IProgressMonitor monitor)
 			throws CoreException, OperationCanceledException {
-		final var params = new RenameFilesParams();
-		params.getFiles().add(new FileRename(oldURI.toString(), newURI.toString()));
-		return LSPFileOperationParticipantSupport.computePreChange(getName(), params, resource,
-				FileOperationsServerCapabilities::getWillRename, (ws, p) -> ws.willRenameFiles(p));
+		return LSPFileOperationParticipantSupport.computePreChange(getName(), operations,
+				FileOperationsServerCapabilities::getWillRename, RenameFilesParams::new,
+				(ws, p) -> ws.willRenameFiles(p));
 	}
 }
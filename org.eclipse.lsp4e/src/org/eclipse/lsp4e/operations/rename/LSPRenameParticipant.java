@@ -11,9 +11,9 @@
  *******************************************************************************/
 package org.eclipse.lsp4e.operations.rename;
 
-import static org.eclipse.lsp4e.internal.NullSafetyHelper.lateNonNull;
-
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -24,19 +24,21 @@
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.operations.rename.LSPFileOperationParticipantSupport.FileOperation;
 import org.eclipse.lsp4j.FileOperationsServerCapabilities;
 import org.eclipse.lsp4j.FileRename;
 import org.eclipse.lsp4j.RenameFilesParams;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
+import org.eclipse.ltk.core.refactoring.participants.ISharableParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringArguments;
+import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
 import org.eclipse.ltk.core.refactoring.participants.RenameParticipant;
 
-public class LSPRenameParticipant extends RenameParticipant {
+public class LSPRenameParticipant extends RenameParticipant implements ISharableParticipant {
 
-	private URI oldURI = lateNonNull();
-	private URI newURI = lateNonNull();
-	private IResource resource = lateNonNull();
+	private final List<FileOperation<FileRename>> operations = new ArrayList<>();
 
 	@Override
 	public String getName() {
@@ -45,26 +47,41 @@ public String getName() {
 
 	@Override
 	protected boolean initialize(final Object element) {
+		final FileOperation<FileRename> operation = toOperation(element, getArguments());
+		if (operation == null)
+			return false;
+		operations.add(operation);
+		return LSPFileOperationParticipantSupport.createFileOperationExecutor(operation.resource(),
+				FileOperationsServerCapabilities::getWillRename).anyMatching();
+	}
+
+	@Override
+	public void addElement(final Object element, final RefactoringArguments arguments) {
+		if (arguments instanceof final RenameArguments renameArguments) {
+			final FileOperation<FileRename> operation = toOperation(element, renameArguments);
+			if (operation != null)
+				operations.add(operation);
+		}
+	}
+
+	private static @Nullable FileOperation<FileRename> toOperation(final Object element,
+			final RenameArguments arguments) {
 		if (element instanceof final IResource res && (res instanceof IFile || res instanceof IFolder)) {
-			resource = res;
-			final URI uri = LSPEclipseUtils.toUri(res);
-			if (uri == null)
-				return false;
-			oldURI = uri;
+			final URI oldURI = LSPEclipseUtils.toUri(res);
+			if (oldURI == null)
+				return null;
 
 			IPath parentLoc = res.getParent().getRawLocation();
 			if (parentLoc == null) {
 				parentLoc = res.getParent().getLocation();
 				if (parentLoc == null)
-					return false;
+					return null;
 			}
-			newURI = LSPEclipseUtils.toUri(parentLoc.append(getArguments().getNewName()));
-
-			return LSPFileOperationParticipantSupport
-					.createFileOperationExecutor(res, FileOperationsServerCapabilities::getWillRename).anyMatching();
+			final URI newURI = LSPEclipseUtils.toUri(parentLoc.append(arguments.getNewName()));
+			return new FileOperation<>(res, new FileRename(oldURI.toString(), newURI.toString()));
 		}
 
-		return false;
+		return null;
 	}
 
 	@Override
@@ -82,9 +99,8 @@ public RefactoringStatus checkConditions(final IProgressMonitor monitor, final C
 	@Override
 	public @Nullable Change createPreChange(final IProgressMonitor monitor)
 			throws CoreException, OperationCanceledException {
-		final var params = new RenameFilesParams();
-		params.getFiles().add(new FileRename(oldURI.toString(), newURI.toString()));
-		return LSPFileOperationParticipantSupport.computePreChange(getName(), params, resource,
-				FileOperationsServerCapabilities::getWillRename, (ws, p) -> ws.willRenameFiles(p));
+		return LSPFileOperationParticipantSupport.computePreChange(getName(), operations,
+				FileOperationsServerCapabilities::getWillRename, RenameFilesParams::new,
+				(ws, p) -> ws.willRenameFiles(p));
 	}
 }
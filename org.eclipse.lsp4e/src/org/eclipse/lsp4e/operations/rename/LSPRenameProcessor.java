@@ -224,6 +224,8 @@ public Change createChange(IProgressMonitor pm) throws CoreException, OperationC
 			throw new CoreException(
 					new Status(IStatus.ERROR, LanguageServerPlugin.PLUGIN_ID, Messages.rename_processor_required));
 		}
+		// not rewriting the files directly as in LSPEclipseUtils.applyWorkspaceEdit, the
+		// rename may still be previewed and LSPTextFileEditsChange has no text preview
 		return LSPEclipseUtils.toCompositeChange(rename, Messages.rename_title);
 	}
 
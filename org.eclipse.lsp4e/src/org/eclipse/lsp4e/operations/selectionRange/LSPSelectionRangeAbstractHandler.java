@@ -216,6 +216,7 @@ private CompletableFuture<Optional<List<SelectionRange>>> collectSelectionRanges
 			List<Position> positions = List.of(position);
 			final var params = new SelectionRangeParams(identifier, positions);
 			return LanguageServers.forDocument(document).withCapability(ServerCapabilities::getSelectionRangeProvider)
+					.withSharedResponse("textDocument/selectionRange", params) //$NON-NLS-1$
 					.computeFirst(languageServer -> languageServer.getTextDocumentService().selectionRange(params))
 					.thenApply(ranges -> ranges.stream().filter(Objects::nonNull).findFirst());
 		} catch (BadLocationException e) {
@@ -10,6 +10,7 @@
 
 import static org.eclipse.lsp4e.internal.NullSafetyHelper.castNonNull;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -34,6 +35,7 @@
 import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.internal.CancellationUtil;
 import org.eclipse.lsp4e.internal.DocumentUtil;
+import org.eclipse.lsp4e.internal.FlightRecorderEvents;
 import org.eclipse.lsp4e.internal.Pair;
 import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.SemanticTokens;
@@ -102,6 +104,9 @@
 
 	private StyleRangeMerger merger;
 
+	/** number of tokens saved by the last {@link #saveStyle(Pair)}, -1 if none were saved */
+	private int savedTokens = -1;
+
 	public SemanticHighlightReconcilerStrategy() {
 		IPreferenceStore store = LanguageServerPlugin.getDefault().getPreferenceStore();
 		disabled = store.getBoolean(SEMANTIC_HIGHLIGHT_RECONCILER_DISABLED);
@@ -175,6 +180,7 @@ private void saveStyle(final Pair<@Nullable SemanticTokens, @Nullable SemanticTo
 			return;
 		}
 		List<Integer> dataStream = semanticTokens.getData();
+		savedTokens = dataStream.size() / 5;
 		final var semanticTokensDataStreamProcessor = this.semanticTokensDataStreamProcessor;
 		final var styleRangeHolder = this.styleRangeHolder;
 		if (!dataStream.isEmpty() && semanticTokensDataStreamProcessor != null && styleRangeHolder != null) {
@@ -234,7 +240,10 @@ private void fullReconcile() {
 		final var document = this.document;
 		cancelSemanticTokensFull();
 		if (document != null) {
+			final long start = System.nanoTime();
 			long modificationStamp = DocumentUtil.getDocumentModificationStamp(document);
+			savedTokens = -1;
+			String outcome = "outdated"; //$NON-NLS-1$
 			try {
 				final var semanticTokensFullFuture = SemanticTokensClient.DEFAULT.requestFullSemanticTokens(document,
 						(legend, semanticTokens) -> new VersionedSemanticTokens(modificationStamp, Pair.of(semanticTokens, legend), document));
@@ -242,14 +251,26 @@ private void fullReconcile() {
 				semanticTokensFullFuture.get() // background thread with cancellation support, no timeout needed
 						.ifPresent(versionedSemanticTokens ->
 								versionedSemanticTokens.apply(this::saveStyle, this::invalidateTextPresentation));
+				if (savedTokens >= 0) {
+					outcome = "applied"; //$NON-NLS-1$
+				}
 			} catch (InterruptedException e) {
+				outcome = "interrupted"; //$NON-NLS-1$
 				LanguageServerPlugin.logError(e);
 				Thread.currentThread().interrupt();
 			} catch (Exception e) {
-				if (!CancellationUtil.isRequestCancelledException(e)) { // do not report error if the server has cancelled the request
+				if (CancellationUtil.isRequestCancelledException(e)) { // do not report error if the server has cancelled the request
+					outcome = "cancelled"; //$NON-NLS-1$
+				} else {
+					outcome = "failed"; //$NON-NLS-1$
 					LanguageServerPlugin.logError(e);
 				}
 			}
+			if (FlightRecorderEvents.isSemanticTokensReconcileEnabled()) {
+				final URI uri = LSPEclipseUtils.toUri(document);
+				FlightRecorderEvents.semanticTokensReconcile(uri == null ? null : uri.toString(),
+						Math.max(0, savedTokens), outcome, start);
+			}
 		}
 	}
 
@@ -20,6 +20,7 @@
 import org.eclipse.lsp4e.LSPEclipseUtils;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4e.RequestPriority;
 import org.eclipse.lsp4j.SemanticTokens;
 import org.eclipse.lsp4j.SemanticTokensLegend;
 import org.eclipse.lsp4j.SemanticTokensParams;
@@ -44,6 +45,8 @@ public <T> CompletableFuture<Optional<T>> requestFullSemanticTokens(IDocument do
 		return LanguageServers.forDocument(document)
 				.withFilter(serverCapabilities -> serverCapabilities.getSemanticTokensProvider() != null
 						&& LSPEclipseUtils.hasCapability(serverCapabilities.getSemanticTokensProvider().getFull())) //
+				.withPriority(RequestPriority.BACKGROUND) //
+				.withSupersession("textDocument/semanticTokens/full") //$NON-NLS-1$
 				.computeFirst((w, ls) -> ls.getTextDocumentService()
 						.semanticTokensFull(new SemanticTokensParams(LSPEclipseUtils.toTextDocumentIdentifier(uri)))
 						.thenApply(semanticTokens -> callback.apply(getSemanticTokensLegend(w), semanticTokens)));
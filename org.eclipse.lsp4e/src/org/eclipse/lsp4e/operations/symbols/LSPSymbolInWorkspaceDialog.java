@@ -56,6 +56,7 @@
 public class LSPSymbolInWorkspaceDialog extends FilteredItemsSelectionDialog {
 
 	private static final String DIALOG_SETTINGS = LSPSymbolInWorkspaceDialog.class.getName();
+	private static final long SYMBOLS_TIMEOUT_MS = 1000;
 
 	private static final class InternalSymbolsLabelProvider extends SymbolsLabelProvider {
 
@@ -151,6 +152,7 @@ protected void fillContentProvider(AbstractContentProvider contentProvider, Item
 		final var params = new WorkspaceSymbolParams(itemsFilter.getPattern());
 		request = LanguageServers.forProject(project) //
 				.withCapability(ServerCapabilities::getWorkspaceSymbolProvider) //
+				.withAdaptiveTimeout("workspace/symbol", SYMBOLS_TIMEOUT_MS) //$NON-NLS-1$
 				.computeAll((w, ls) -> ls.getWorkspaceService().symbol(params));
 		request.stream().map((
 				CompletableFuture<@Nullable Either<List<? extends SymbolInformation>, List<@Nullable ? extends WorkspaceSymbol>>> f) -> f
@@ -160,7 +162,7 @@ protected void fillContentProvider(AbstractContentProvider contentProvider, Item
 						return;
 					}
 					try {
-						for (Object item : cf.get(1, TimeUnit.SECONDS)) {
+						for (Object item : cf.get(SYMBOLS_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
 							contentProvider.add(item, itemsFilter);
 						}
 					} catch (ExecutionException e) {
@@ -383,7 +383,8 @@ protected void refreshTreeContentFromLS() {
 		}
 
 		final var params = new DocumentSymbolParams(LSPEclipseUtils.toTextDocumentIdentifier(documentURI));
-		final var symbols = this.symbols = outlineViewerInput.wrapper.execute(ls -> ls.getTextDocumentService().documentSymbol(params));
+		final var symbols = this.symbols = outlineViewerInput.wrapper.executeShared("textDocument/documentSymbol", //$NON-NLS-1$
+				outlineViewerInput.document, params, ls -> ls.getTextDocumentService().documentSymbol(params));
 		symbols.thenAcceptAsync(response -> {
 			final boolean changed = symbolsModel.update(response);
 			if (!changed) {
@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.refactoring;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourceAttributes;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.lsp4e.internal.LineIndex;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.resource.ResourceChange;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Applies all LSP text edits of one workspace file which is not open in an
+ * editor, by rewriting the file content directly instead of connecting a text
+ * file buffer. The edits are converted to offsets once, possibly in parallel
+ * with other files, see {@link #prepareAll(Change)}, and applied in a single
+ * pass. Only the replacements are kept in between, the file is read again when
+ * the change is performed. The undo change reverts the replaced ranges only,
+ * so it does not keep the content of the file either.
+ * <p>
+ * Such a change has no text preview, so it is only used for workspace edits
+ * which are applied without preview, see
+ * {@link org.eclipse.lsp4e.LSPEclipseUtils#applyWorkspaceEdit(org.eclipse.lsp4j.WorkspaceEdit, String)}.
+ */
+public class LSPTextFileEditsChange extends ResourceChange {
+
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+	/** a replacement in the file content, with the replaced text to undo it */
+	private record Replacement(int offset, int length, String newText, String oldText) {
+	}
+
+	private record Content(String text, boolean bom, long modificationStamp) {
+	}
+
+	private final IFile file;
+	/** the edits to apply, <code>null</code> for an undo change */
+	private final @Nullable List<TextEdit> edits;
+	private volatile @Nullable List<Replacement> replacements;
+	/** the modification stamp of the file the replacements were computed for */
+	private volatile long replacementsStamp = IResource.NULL_STAMP;
+
+	public LSPTextFileEditsChange(IFile file, List<TextEdit> edits) {
+		this.file = file;
+		this.edits = edits;
+	}
+
+	private LSPTextFileEditsChange(IFile file, List<Replacement> replacements, long modificationStamp) {
+		this.file = file;
+		this.edits = null;
+		this.replacements = replacements;
+		this.replacementsStamp = modificationStamp;
+	}
+
+	@Override
+	public String getName() {
+		return "Change in file " + file.getName(); //$NON-NLS-1$
+	}
+
+	@Override
+	protected IResource getModifiedResource() {
+		return file;
+	}
+
+	/**
+	 * Reads the file and converts the edits to offsets, so perform only has to
+	 * read the file again, apply them and write it, unless the file is modified in
+	 * between. The content is not kept. This is optional.
+	 */
+	public void prepare() throws CoreException {
+		if (edits == null || replacements != null) {
+			return;
+		}
+		final Content content = read();
+		replacements = toReplacements(content.text());
+		replacementsStamp = content.modificationStamp();
+	}
+
+	/**
+	 * Prepares all {@link LSPTextFileEditsChange}s in the given change in
+	 * parallel. Called in the UI thread, the changes are prepared in background
+	 * threads while the UI stays responsive. Failures are logged, and reported
+	 * again when the change is performed.
+	 */
+	public static void prepareAll(Change change) {
+		final var changes = new ArrayList<LSPTextFileEditsChange>();
+		collect(change, changes);
+		if (changes.isEmpty()) {
+			return;
+		}
+		if (Display.getCurrent() == null || !PlatformUI.isWorkbenchRunning()) {
+			prepare(changes);
+			return;
+		}
+		try {
+			PlatformUI.getWorkbench().getProgressService().busyCursorWhile(monitor -> prepare(changes));
+		} catch (InvocationTargetException ex) {
+			LanguageServerPlugin.logError(ex);
+		} catch (InterruptedException ex) {
+			// cancelled, the remaining changes are prepared when performed
+		}
+	}
+
+	private static void prepare(List<LSPTextFileEditsChange> changes) {
+		changes.parallelStream().forEach(fileChange -> {
+			try {
+				fileChange.prepare();
+			} catch (CoreException ex) {
+				LanguageServerPlugin.logError(ex);
+			}
+		});
+	}
+
+	private static void collect(Change change, List<LSPTextFileEditsChange> res) {
+		if (change instanceof LSPTextFileEditsChange fileChange) {
+			res.add(fileChange);
+		} else if (change instanceof CompositeChange composite) {
+			for (final Change child : composite.getChildren()) {
+				collect(child, res);
+			}
+		}
+	}
+
+	@Override
+	public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException {
+		final var result = new RefactoringStatus();
+		if (!file.exists()) {
+			result.addFatalError("File " + file.getFullPath() + " does not exist"); //$NON-NLS-1$ //$NON-NLS-2$
+			return result;
+		}
+		final ResourceAttributes attributes = file.getResourceAttributes();
+		if (attributes != null && attributes.isReadOnly()) {
+			result.addFatalError("File " + file.getFullPath() + " is read-only"); //$NON-NLS-1$ //$NON-NLS-2$
+		} else if (edits == null && file.getModificationStamp() != replacementsStamp) {
+			result.addFatalError("File " + file.getFullPath() + " has been modified since the change"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return result;
+	}
+
+	@Override
+	public @Nullable Change perform(IProgressMonitor pm) throws CoreException {
+		final Content content = read();
+		List<Replacement> toApply = replacements;
+		if (toApply == null || content.modificationStamp() != replacementsStamp) {
+			if (edits == null) {
+				throw new CoreException(new Status(IStatus.ERROR, LanguageServerPlugin.PLUGIN_ID,
+						"File " + file.getFullPath() + " has been modified since the change")); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			// e.g. modified by a previous change of the same workspace edit
+			toApply = toReplacements(content.text());
+		}
+		replacements = null;
+		if (toApply.isEmpty()) {
+			return null;
+		}
+		write(apply(content.text(), toApply), content.bom(), pm);
+		return new LSPTextFileEditsChange(file, invert(toApply), file.getModificationStamp());
+	}
+
+	private Content read() throws CoreException {
+		final long stamp = file.getModificationStamp();
+		try (InputStream in = file.getContents(true)) {
+			final byte[] bytes = in.readAllBytes();
+			final Charset charset = Charset.forName(file.getCharset());
+			final boolean bom = startsWithUtf8Bom(bytes);
+			final String text = bom ? new String(bytes, UTF8_BOM.length, bytes.length - UTF8_BOM.length, charset)
+					: new String(bytes, charset);
+			return new Content(text, bom, stamp);
+		} catch (IOException | IllegalArgumentException ex) {
+			throw new CoreException(new Status(IStatus.ERROR, LanguageServerPlugin.PLUGIN_ID, ex.getMessage(), ex));
+		}
+	}
+
+	private void write(String text, boolean bom, IProgressMonitor pm) throws CoreException {
+		final byte[] encoded = text.getBytes(Charset.forName(file.getCharset()));
+		final byte[] bytes;
+		if (bom) {
+			bytes = Arrays.copyOf(UTF8_BOM, UTF8_BOM.length + encoded.length);
+			System.arraycopy(encoded, 0, bytes, UTF8_BOM.length, encoded.length);
+		} else {
+			bytes = encoded;
+		}
+		file.setContents(new ByteArrayInputStream(bytes), IResource.FORCE | IResource.KEEP_HISTORY, pm);
+	}
+
+	private static boolean startsWithUtf8Bom(byte[] bytes) {
+		return bytes.length >= UTF8_BOM.length && bytes[0] == UTF8_BOM[0] && bytes[1] == UTF8_BOM[1]
+				&& bytes[2] == UTF8_BOM[2];
+	}
+
+	/**
+	 * Converts the edits to replacements sorted by offset, skipping those which
+	 * do not change the text. As in
+	 * {@link org.eclipse.lsp4e.LSPEclipseUtils#applyEdits(org.eclipse.jface.text.IDocument, List)},
+	 * inserted line feeds are converted to the <code>\r\n</code> delimiter of the
+	 * line.
+	 */
+	private List<Replacement> toReplacements(String text) throws CoreException {
+		final List<TextEdit> textEdits = edits;
+		if (textEdits == null) {
+			return List.of();
+		}
+		final var lines = new LineIndex(text);
+		final var sorted = new ArrayList<>(textEdits);
+		// stable, so edits inserting at the same position keep their order
+		sorted.sort(Comparator.comparing((TextEdit edit) -> edit.getRange().getStart(),
+				Comparator.comparingInt(Position::getLine).thenComparingInt(Position::getCharacter)));
+		final var res = new ArrayList<Replacement>(sorted.size());
+		int previousEnd = 0;
+		for (final TextEdit edit : sorted) {
+			final int offset = lines.toOffset(edit.getRange().getStart());
+			final int end = lines.toOffset(edit.getRange().getEnd());
+			if (end < offset || offset < previousEnd) {
+				throw new CoreException(new Status(IStatus.ERROR, LanguageServerPlugin.PLUGIN_ID,
+						"Invalid or overlapping edit " + edit.getRange() + " in " + file.getFullPath())); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			previousEnd = end;
+			final String oldText = text.substring(offset, end);
+			String newText = edit.getNewText();
+			if (!newText.isEmpty() && "\r\n".equals(lines.getLineDelimiter(lines.getLine(end)))) { //$NON-NLS-1$
+				newText = toCrLf(newText);
+			}
+			if (!oldText.equals(newText)) {
+				res.add(new Replacement(offset, end - offset, newText, oldText));
+			}
+		}
+		return res;
+	}
+
+	private static String toCrLf(String text) {
+		if (text.indexOf('\n') < 0) {
+			return text;
+		}
+		final var sb = new StringBuilder(text.length() + 16);
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == '\n' && (i == 0 || text.charAt(i - 1) != '\r')) {
+				sb.append('\r');
+			}
+			sb.append(c);
+		}
+		return sb.toString();
+	}
+
+	private static String apply(String text, List<Replacement> replacements) {
+		int newLength = text.length();
+		for (final Replacement replacement : replacements) {
+			newLength += replacement.newText().length() - replacement.length();
+		}
+		final var sb = new StringBuilder(newLength);
+		int position = 0;
+		for (final Replacement replacement : replacements) {
+			sb.append(text, position, replacement.offset()).append(replacement.newText());
+			position = replacement.offset() + replacement.length();
+		}
+		return sb.append(text, position, text.length()).toString();
+	}
+
+	/**
+	 * @return the replacements reverting the given ones, in the changed text
+	 */
+	private static List<Replacement> invert(List<Replacement> replacements) {
+		final var res = new ArrayList<Replacement>(replacements.size());
+		int delta = 0;
+		for (final Replacement replacement : replacements) {
+			res.add(new Replacement(replacement.offset() + delta, replacement.newText().length(),
+					replacement.oldText(), replacement.newText()));
+			delta += replacement.newText().length() - replacement.length();
+		}
+		return res;
+	}
+}
@@ -0,0 +1,299 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+
+/**
+ * Connects to a language server through a Unix domain socket instead of TCP or
+ * the stdio streams of the server process. Local sockets avoid the overhead of
+ * the TCP stack and the races of allocating free ports.
+ * <p>
+ * Two modes are supported:
+ * <ul>
+ * <li>{@link Mode#LISTEN}: LSP4E creates the socket and the server connects to
+ * it, this is what servers started with e.g. {@code --pipe=<path>} expect.
+ * <li>{@link Mode#CONNECT}: the server creates the socket, e.g. when started
+ * with {@code --socket=<path>}, and LSP4E connects to it.
+ * </ul>
+ * In both modes the server process is launched by {@link #start()} and stopped
+ * together with the connection by {@link #stop()}.
+ * <p>
+ * Anybody who can access the directory of the socket can connect to it or, in
+ * {@link Mode#CONNECT} mode, create it in place of the language server, so it
+ * should only be accessible by the current user, as the directories created by
+ * {@link #getDefaultSocketPath(String)} are.
+ *
+ * @since 0.19.5
+ */
+public abstract class ProcessOverUnixSocketStreamConnectionProvider extends ProcessStreamConnectionProvider {
+
+	public enum Mode {
+		/** LSP4E listens on the socket, the language server connects to it */
+		LISTEN,
+		/** The language server listens on the socket, LSP4E connects to it */
+		CONNECT
+	}
+
+	private static final long CONNECT_RETRY_INTERVAL_MS = 100;
+
+	private final Path socketPath;
+	private final Mode mode;
+	private @Nullable SocketChannel channel;
+	private @Nullable InputStream inputStream;
+	private @Nullable OutputStream outputStream;
+
+	protected ProcessOverUnixSocketStreamConnectionProvider(List<String> commands, Path socketPath, Mode mode) {
+		super(commands);
+		this.socketPath = socketPath;
+		this.mode = mode;
+	}
+
+	protected ProcessOverUnixSocketStreamConnectionProvider(List<String> commands, String workingDir,
+			Path socketPath, Mode mode) {
+		super(commands, workingDir);
+		this.socketPath = socketPath;
+		this.mode = mode;
+	}
+
+	/**
+	 * Returns a socket path for the given id in a new directory below the
+	 * temporary directory, which only the current user can access. Other local
+	 * users can then neither create the socket in place of the language server
+	 * nor connect to it. The directory is deleted on exit if it is empty.
+	 */
+	public static Path getDefaultSocketPath(String id) throws IOException {
+		final Path directory = FileSystems.getDefault().supportedFileAttributeViews().contains("posix") //$NON-NLS-1$
+				? Files.createTempDirectory("lsp4e-", //$NON-NLS-1$
+						PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"))) //$NON-NLS-1$
+				// the temporary directory of the user is private on other systems
+				: Files.createTempDirectory("lsp4e-"); //$NON-NLS-1$
+		directory.toFile().deleteOnExit();
+		String name = id.replaceAll("[^A-Za-z0-9._-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+		// the maximum length of Unix domain socket paths is about 100 bytes
+		if (name.length() > 24) {
+			name = name.substring(0, 16) + Integer.toHexString(name.hashCode());
+		}
+		return directory.resolve(name + ".sock"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return how long to wait for the server to create respectively connect to the
+	 *         socket after it was launched
+	 */
+	protected long getConnectTimeoutMillis() {
+		return TimeUnit.SECONDS.toMillis(30);
+	}
+
+	@Override
+	public void start() throws IOException {
+		final SocketChannel channel = mode == Mode.LISTEN ? launchAndAccept() : launchAndConnect();
+		this.channel = channel;
+		inputStream = new SocketChannelInputStream(channel);
+		outputStream = new SocketChannelOutputStream(channel);
+	}
+
+	private SocketChannel launchAndAccept() throws IOException {
+		Files.deleteIfExists(socketPath);
+		final var serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			serverChannel.bind(UnixDomainSocketAddress.of(socketPath));
+			final CompletableFuture<SocketChannel> accepted = CompletableFuture.supplyAsync(() -> {
+				try {
+					return serverChannel.accept();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			});
+			super.start();
+			return accepted.get(getConnectTimeoutMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for socket connection: " + this, e); //$NON-NLS-1$
+		} catch (ExecutionException | TimeoutException e) {
+			throw new IOException("Unable to make socket connection: " + this, e); //$NON-NLS-1$
+		} finally {
+			serverChannel.close();
+			Files.deleteIfExists(socketPath);
+		}
+	}
+
+	private SocketChannel launchAndConnect() throws IOException {
+		Files.deleteIfExists(socketPath);
+		super.start();
+		final long deadline = System.currentTimeMillis() + getConnectTimeoutMillis();
+		while (true) {
+			SocketChannel channel = tryConnect();
+			if (channel != null) {
+				return channel;
+			}
+			final Process process = getProcess();
+			if (process != null && !process.isAlive()) {
+				throw new IOException("Language server terminated before creating socket: " + this); //$NON-NLS-1$
+			}
+			if (System.currentTimeMillis() > deadline) {
+				throw new IOException("Unable to make socket connection: " + this); //$NON-NLS-1$
+			}
+			try {
+				Thread.sleep(CONNECT_RETRY_INTERVAL_MS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for socket connection: " + this, e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private @Nullable SocketChannel tryConnect() {
+		if (!Files.exists(socketPath)) {
+			return null;
+		}
+		try {
+			return SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+		} catch (IOException e) {
+			// no server listening (yet)
+			return null;
+		}
+	}
+
+	public Path getSocketPath() {
+		return socketPath;
+	}
+
+	@Override
+	public @Nullable InputStream getInputStream() {
+		return inputStream;
+	}
+
+	@Override
+	public @Nullable OutputStream getOutputStream() {
+		return outputStream;
+	}
+
+	@Override
+	public void stop() {
+		final var channel = this.channel;
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				LanguageServerPlugin.logError(e);
+			}
+		}
+		super.stop();
+		try {
+			// left behind by servers which do not remove the socket they created
+			Files.deleteIfExists(socketPath);
+		} catch (IOException e) {
+			LanguageServerPlugin.logError(e);
+		}
+	}
+
+	@Override
+	public int hashCode() {
+		return super.hashCode() ^ Objects.hashCode(socketPath);
+	}
+
+	@Override
+	public boolean equals(@Nullable Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		return obj instanceof ProcessOverUnixSocketStreamConnectionProvider other //
+				&& Objects.equals(this.getCommands(), other.getCommands())
+				&& Objects.equals(this.getWorkingDirectory(), other.getWorkingDirectory())
+				&& Objects.equals(this.socketPath, other.socketPath);
+	}
+
+	@Override
+	public String toString() {
+		return "ProcessOverUnixSocketStreamConnectionProvider [socketPath=" + socketPath + ", mode=" + mode //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", commands=" + this.getCommands() + ", workingDir=" + this.getWorkingDirectory() + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Unlike {@link java.nio.channels.Channels#newInputStream}, does not
+	 * synchronize on the blocking lock of the channel, so reading and writing can
+	 * happen concurrently.
+	 */
+	private static final class SocketChannelInputStream extends InputStream {
+		private final SocketChannel channel;
+
+		SocketChannelInputStream(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final var b = new byte[1];
+			int n = read(b, 0, 1);
+			return n < 0 ? -1 : b[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			if (len == 0) {
+				return 0;
+			}
+			return channel.read(ByteBuffer.wrap(b, off, len));
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	private static final class SocketChannelOutputStream extends OutputStream {
+		private final SocketChannel channel;
+
+		SocketChannelOutputStream(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			Objects.checkFromIndexSize(off, len, b.length);
+			final ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.telemetry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops routing optional requests to a language server which keeps timing out.
+ * <p>
+ * After a number of consecutive timeouts the breaker opens: optional requests
+ * are not sent to the language server for a while. Then a single probe request
+ * is let through; if it is answered in time the breaker closes again, if it
+ * times out the breaker opens again. Any answer of the language server, even an
+ * error, closes the breaker.
+ *
+ * @since 0.19.5
+ */
+public final class CircuitBreaker {
+
+	public enum State {
+		/** requests are sent */
+		CLOSED,
+		/** optional requests are not sent */
+		OPEN,
+		/** a probe request is sent, other optional requests are not */
+		HALF_OPEN
+	}
+
+	public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+	public static final long DEFAULT_OPEN_MILLIS = 30_000;
+
+	private final int failureThreshold;
+	private final long openNanos;
+
+	private State state = State.CLOSED;
+	private int consecutiveTimeouts;
+	private long timeouts;
+	/** when the breaker opened, or when the probe was sent if half open */
+	private long sinceNanos;
+
+	public CircuitBreaker() {
+		this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS);
+	}
+
+	/**
+	 * @param failureThreshold
+	 *            the number of consecutive timeouts opening the breaker
+	 * @param openMillis
+	 *            how long the breaker stays open before sending a probe, and how
+	 *            long to wait for the probe before sending another one
+	 */
+	public CircuitBreaker(int failureThreshold, long openMillis) {
+		this.failureThreshold = failureThreshold;
+		this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+	}
+
+	/**
+	 * @return whether an optional request may be sent; if so, its outcome must be
+	 *         recorded with {@link #recordResponse()} or {@link #recordTimeout()}
+	 */
+	public synchronized boolean allowRequest() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		final long now = System.nanoTime();
+		if (now - sinceNanos < openNanos) {
+			return false;
+		}
+		// let a probe through, or another one if the previous probe was lost
+		state = State.HALF_OPEN;
+		sinceNanos = now;
+		return true;
+	}
+
+	public synchronized void recordResponse() {
+		consecutiveTimeouts = 0;
+		state = State.CLOSED;
+	}
+
+	public synchronized void recordTimeout() {
+		timeouts++;
+		consecutiveTimeouts++;
+		if (state == State.HALF_OPEN || consecutiveTimeouts >= failureThreshold) {
+			state = State.OPEN;
+			sinceNanos = System.nanoTime();
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * @return the number of timed out requests
+	 */
+	public synchronized long getTimeoutCount() {
+		return timeouts;
+	}
+
+	public synchronized void reset() {
+		state = State.CLOSED;
+		consecutiveTimeouts = 0;
+		timeouts = 0;
+	}
+}
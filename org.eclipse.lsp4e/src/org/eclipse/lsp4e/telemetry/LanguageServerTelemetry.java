@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.telemetry;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.lsp4e.LanguageServerPlugin;
+import org.eclipse.lsp4e.internal.FlightRecorderEvents;
+import org.eclipse.lsp4j.jsonrpc.messages.CancelParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+
+/**
+ * Records, for each JSON-RPC method exchanged with a language server, the
+ * number of messages, the requests in flight, cancellations, errors, payload
+ * sizes and the latency of requests.
+ * <p>
+ * Recording only updates counters and is lock-free, reading the statistics
+ * creates a snapshot.
+ *
+ * @since 0.19.5
+ */
+public final class LanguageServerTelemetry implements LanguageServerTelemetryMXBean {
+
+	private static final String CANCEL_METHOD = "$/cancelRequest"; //$NON-NLS-1$
+	private static final AtomicInteger INSTANCE_COUNTER = new AtomicInteger();
+
+	/** the number of responses needed before the timeout of a method is derived from its latency */
+	private static final long ADAPTIVE_TIMEOUT_MIN_SAMPLES = 20;
+	private static final long ADAPTIVE_TIMEOUT_MIN_MILLIS = 200;
+	private static final int ADAPTIVE_TIMEOUT_P99_FACTOR = 4;
+
+	private static final class MethodTelemetry {
+		final String method;
+		final LongAdder count = new LongAdder();
+		final LongAdder inFlight = new LongAdder();
+		final LongAdder cancelled = new LongAdder();
+		final LongAdder errors = new LongAdder();
+		final LongAdder sentBytes = new LongAdder();
+		final LongAdder receivedBytes = new LongAdder();
+		final LatencyHistogram latency = new LatencyHistogram();
+
+		MethodTelemetry(String method) {
+			this.method = method;
+		}
+
+		MethodStatistics getStatistics() {
+			return new MethodStatistics(method, count.sum(), inFlight.sum(), cancelled.sum(), errors.sum(),
+					sentBytes.sum(), receivedBytes.sum(), latency);
+		}
+	}
+
+	private static final class PendingRequest {
+		final MethodTelemetry telemetry;
+		final long startNanos = System.nanoTime();
+		final AtomicBoolean cancelled = new AtomicBoolean();
+
+		PendingRequest(MethodTelemetry telemetry) {
+			this.telemetry = telemetry;
+		}
+	}
+
+	private final String serverId;
+	private final Map<String, MethodTelemetry> methods = new ConcurrentHashMap<>();
+	private final LongAdder requestCount = new LongAdder();
+	/** requests sent to the language server, by id */
+	private final Map<String, PendingRequest> outgoingRequests = new ConcurrentHashMap<>();
+	/** requests received from the language server, by id */
+	private final Map<String, PendingRequest> incomingRequests = new ConcurrentHashMap<>();
+	private @Nullable ObjectName objectName;
+
+	public LanguageServerTelemetry(String serverId) {
+		this.serverId = serverId;
+	}
+
+	/**
+	 * Records a message which is about to be sent to the language server. This
+	 * happens before the message is written, so a response cannot be received
+	 * before its request was recorded.
+	 *
+	 * @return the method the message was recorded for, to be passed to
+	 *         {@link #recordSentBytes(String, long)} once the message is written,
+	 *         or <code>null</code> if the message was not recorded
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public @Nullable String recordSending(Message message) {
+		final MethodTelemetry telemetry = record(message, outgoingRequests, incomingRequests);
+		return telemetry == null ? null : telemetry.method;
+	}
+
+	/**
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void recordSentBytes(String method, long bytes) {
+		final MethodTelemetry telemetry = methods.get(method);
+		if (telemetry != null && bytes > 0) {
+			telemetry.sentBytes.add(bytes);
+		}
+	}
+
+	/**
+	 * Records a message received from the language server.
+	 *
+	 * @param bytes
+	 *            the size of the message including the header, 0 if unknown
+	 * @return the method the message was recorded for, or <code>null</code> if
+	 *         the message was not recorded
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public @Nullable String recordReceived(Message message, long bytes) {
+		final MethodTelemetry telemetry = record(message, incomingRequests, outgoingRequests);
+		if (telemetry == null) {
+			return null;
+		}
+		if (bytes > 0) {
+			telemetry.receivedBytes.add(bytes);
+		}
+		return telemetry.method;
+	}
+
+	/**
+	 * @param ownRequests
+	 *            the pending requests of the sender of the message
+	 * @param peerRequests
+	 *            the pending requests of the receiver of the message
+	 */
+	private @Nullable MethodTelemetry record(Message message, Map<String, PendingRequest> ownRequests,
+			Map<String, PendingRequest> peerRequests) {
+		if (message instanceof RequestMessage request) {
+			final MethodTelemetry telemetry = getTelemetry(request.getMethod());
+			telemetry.count.increment();
+			telemetry.inFlight.increment();
+			requestCount.increment();
+			ownRequests.put(request.getId(), new PendingRequest(telemetry));
+			return telemetry;
+		} else if (message instanceof ResponseMessage response) {
+			final String id = response.getId();
+			final PendingRequest pending = id == null ? null : peerRequests.remove(id);
+			if (pending == null) {
+				return null;
+			}
+			final MethodTelemetry telemetry = pending.telemetry;
+			telemetry.inFlight.decrement();
+			final long latency = System.nanoTime() - pending.startNanos;
+			final String outcome;
+			if (pending.cancelled.get()) {
+				outcome = "cancelled"; //$NON-NLS-1$
+			} else {
+				telemetry.latency.recordNanos(latency);
+				if (response.getError() != null) {
+					telemetry.errors.increment();
+					outcome = "error"; //$NON-NLS-1$
+				} else {
+					outcome = "success"; //$NON-NLS-1$
+				}
+			}
+			FlightRecorderEvents.request(serverId, telemetry.method, peerRequests == outgoingRequests, outcome, latency);
+			return telemetry;
+		} else if (message instanceof NotificationMessage notification) {
+			final MethodTelemetry telemetry = getTelemetry(notification.getMethod());
+			telemetry.count.increment();
+			if (CANCEL_METHOD.equals(notification.getMethod())
+					&& notification.getParams() instanceof CancelParams cancel) {
+				// the sender cancels a request it sent before
+				final PendingRequest pending = ownRequests.get(cancel.getId());
+				if (pending != null && pending.cancelled.compareAndSet(false, true)) {
+					pending.telemetry.cancelled.increment();
+				}
+			}
+			return telemetry;
+		}
+		return null;
+	}
+
+	private MethodTelemetry getTelemetry(@Nullable String method) {
+		return methods.computeIfAbsent(method == null ? "<unknown>" : method, MethodTelemetry::new); //$NON-NLS-1$
+	}
+
+	/**
+	 * Records a request which was given up after the given timeout. Its response,
+	 * if it still arrives, is not recorded as the request is cancelled, so the
+	 * timeout is recorded as its latency instead. Otherwise only the responses
+	 * faster than the adaptive timeout would count and the timeout could never
+	 * grow again once the server slows down.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void recordTimeout(String method, long timeoutMillis) {
+		getTelemetry(method).latency.record(TimeUnit.MILLISECONDS.toMicros(timeoutMillis));
+	}
+
+	/**
+	 * Derives a timeout for requests of the given method from their observed
+	 * latency, including requests which timed out: a multiple of the 99th
+	 * percentile, but at least 200 ms and at most the given timeout. As long as
+	 * too few responses were recorded, the given timeout is returned.
+	 *
+	 * @param maxTimeoutMillis
+	 *            the timeout to use if there is no better estimate
+	 */
+	public long getAdaptiveTimeoutMillis(String method, long maxTimeoutMillis) {
+		final MethodTelemetry telemetry = methods.get(method);
+		if (telemetry == null || telemetry.latency.getCount() < ADAPTIVE_TIMEOUT_MIN_SAMPLES) {
+			return maxTimeoutMillis;
+		}
+		final long p99Millis = TimeUnit.MICROSECONDS.toMillis(telemetry.latency.getValueAtPercentile(99)) + 1;
+		return Math.min(maxTimeoutMillis,
+				Math.max(ADAPTIVE_TIMEOUT_MIN_MILLIS, ADAPTIVE_TIMEOUT_P99_FACTOR * p99Millis));
+	}
+
+	/**
+	 * Forgets the requests still waiting for a response, e.g. because the
+	 * connection to the language server was closed.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public void clearPendingRequests() {
+		for (final var requests : List.of(outgoingRequests, incomingRequests)) {
+			requests.values().removeIf(pending -> {
+				pending.telemetry.inFlight.decrement();
+				return true;
+			});
+		}
+	}
+
+	@Override
+	public String getServerId() {
+		return serverId;
+	}
+
+	@Override
+	public long getRequestCount() {
+		return requestCount.sum();
+	}
+
+	@Override
+	public long getInFlightCount() {
+		return methods.values().stream().mapToLong(telemetry -> telemetry.inFlight.sum()).sum();
+	}
+
+	/**
+	 * @return the statistics of the given method, or <code>null</code> if no
+	 *         message with this method was recorded
+	 */
+	public @Nullable MethodStatistics getMethodStatistics(String method) {
+		final MethodTelemetry telemetry = methods.get(method);
+		return telemetry == null ? null : telemetry.getStatistics();
+	}
+
+	/**
+	 * @return the statistics of all recorded methods, sorted by method
+	 */
+	@Override
+	public List<MethodStatistics> getMethodStatistics() {
+		final var statistics = new ArrayList<MethodStatistics>(methods.size());
+		for (final MethodTelemetry telemetry : methods.values()) {
+			statistics.add(telemetry.getStatistics());
+		}
+		statistics.sort(Comparator.comparing(MethodStatistics::getMethod));
+		return statistics;
+	}
+
+	/**
+	 * Clears all statistics. Requests in flight are not forgotten.
+	 */
+	@Override
+	public void reset() {
+		requestCount.reset();
+		methods.values().removeIf(telemetry -> telemetry.inFlight.sum() == 0);
+		for (final MethodTelemetry telemetry : methods.values()) {
+			telemetry.count.reset();
+			telemetry.cancelled.reset();
+			telemetry.errors.reset();
+			telemetry.sentBytes.reset();
+			telemetry.receivedBytes.reset();
+			telemetry.latency.reset();
+		}
+	}
+
+	/**
+	 * Registers this telemetry with the platform MBean server, if not yet done.
+	 *
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized void registerMBean() {
+		if (objectName != null) {
+			return;
+		}
+		try {
+			final var name = new ObjectName("org.eclipse.lsp4e:type=LanguageServer,id=" + ObjectName.quote(serverId) //$NON-NLS-1$
+					+ ",instance=" + INSTANCE_COUNTER.incrementAndGet()); //$NON-NLS-1$
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+			objectName = name;
+		} catch (JMException ex) {
+			LanguageServerPlugin.logWarning("Cannot register telemetry MBean for " + serverId, ex); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized void unregisterMBean() {
+		final ObjectName name = objectName;
+		if (name == null) {
+			return;
+		}
+		objectName = null;
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+		} catch (JMException ex) {
+			LanguageServerPlugin.logWarning("Cannot unregister telemetry MBean for " + serverId, ex); //$NON-NLS-1$
+		}
+	}
+}
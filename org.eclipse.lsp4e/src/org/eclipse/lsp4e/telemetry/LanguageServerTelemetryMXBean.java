@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.telemetry;
+
+import java.util.List;
+
+/**
+ * JMX view of the {@link LanguageServerTelemetry} of a running language server,
+ * registered as {@code org.eclipse.lsp4e:type=LanguageServer,id=<server id>,instance=<n>}.
+ *
+ * @since 0.19.5
+ */
+public interface LanguageServerTelemetryMXBean {
+
+	String getServerId();
+
+	long getRequestCount();
+
+	long getInFlightCount();
+
+	List<MethodStatistics> getMethodStatistics();
+
+	void reset();
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.telemetry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations in microseconds, with log-linear buckets
+ * like the HdrHistogram: each power of two is divided into 8 buckets, so
+ * recorded values are accurate to within 12.5%. Values up to about 19 hours
+ * are distinguished, larger values are counted in the last bucket.
+ *
+ * @since 0.19.5
+ */
+public final class LatencyHistogram {
+
+	private static final int LINEAR_BUCKETS = 16;
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 36;
+	/** the last bucket counts all values of 2^MAX_EXPONENT and above */
+	private static final int BUCKET_COUNT = LINEAR_BUCKETS + (MAX_EXPONENT - 4) * SUB_BUCKETS + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAdder totalMicros = new LongAdder();
+	private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+	public void recordNanos(long nanos) {
+		record(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+
+	public void record(long micros) {
+		micros = Math.max(0, micros);
+		counts.incrementAndGet(bucketIndex(micros));
+		totalCount.increment();
+		totalMicros.add(micros);
+		maxMicros.accumulate(micros);
+	}
+
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	public long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	public double getMeanMicros() {
+		final long count = totalCount.sum();
+		return count == 0 ? 0 : (double) totalMicros.sum() / count;
+	}
+
+	/**
+	 * @param percentile
+	 *            between 0 and 100
+	 * @return the highest value in the bucket containing the given percentile,
+	 *         but at most the maximum recorded value
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long total = 0;
+		final var snapshot = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = counts.get(i);
+			total += snapshot[i];
+		}
+		if (total == 0) {
+			return 0;
+		}
+		final long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += snapshot[i];
+			if (seen >= target) {
+				final long max = getMaxMicros();
+				return i == BUCKET_COUNT - 1 ? max : Math.min(lowestValue(i + 1) - 1, max);
+			}
+		}
+		return getMaxMicros();
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts.set(i, 0);
+		}
+		totalCount.reset();
+		totalMicros.reset();
+		maxMicros.reset();
+	}
+
+	static int bucketIndex(long value) {
+		if (value < LINEAR_BUCKETS) {
+			return (int) value;
+		}
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent >= MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		// the top bits of the value, between SUB_BUCKETS and 2 * SUB_BUCKETS - 1
+		final int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS));
+		return LINEAR_BUCKETS + (exponent - 4) * SUB_BUCKETS + mantissa - SUB_BUCKETS;
+	}
+
+	static long lowestValue(int bucketIndex) {
+		if (bucketIndex < LINEAR_BUCKETS) {
+			return bucketIndex;
+		}
+		final int k = bucketIndex - LINEAR_BUCKETS;
+		final int exponent = k / SUB_BUCKETS + 4;
+		final long mantissa = k % SUB_BUCKETS + SUB_BUCKETS;
+		return mantissa << (exponent - SUB_BUCKET_BITS);
+	}
+}
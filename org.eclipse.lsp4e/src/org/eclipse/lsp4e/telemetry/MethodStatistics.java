@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.telemetry;
+
+/**
+ * Snapshot of the telemetry of one JSON-RPC method. For requests, the latency
+ * is the time between sending the request and receiving the response, or for
+ * requests of the language server to the client, between receiving the request
+ * and sending the response. Notifications are only counted.
+ * <p>
+ * This is a class with getters rather than a record so it can be exposed
+ * through JMX.
+ *
+ * @since 0.19.5
+ */
+public final class MethodStatistics {
+
+	private final String method;
+	private final long count;
+	private final long inFlight;
+	private final long cancelled;
+	private final long errors;
+	private final long sentBytes;
+	private final long receivedBytes;
+	private final double meanMillis;
+	private final double p50Millis;
+	private final double p90Millis;
+	private final double p99Millis;
+	private final double maxMillis;
+
+	MethodStatistics(String method, long count, long inFlight, long cancelled, long errors, long sentBytes,
+			long receivedBytes, LatencyHistogram latency) {
+		this.method = method;
+		this.count = count;
+		this.inFlight = inFlight;
+		this.cancelled = cancelled;
+		this.errors = errors;
+		this.sentBytes = sentBytes;
+		this.receivedBytes = receivedBytes;
+		this.meanMillis = latency.getMeanMicros() / 1000;
+		this.p50Millis = latency.getValueAtPercentile(50) / 1000.0;
+		this.p90Millis = latency.getValueAtPercentile(90) / 1000.0;
+		this.p99Millis = latency.getValueAtPercentile(99) / 1000.0;
+		this.maxMillis = latency.getMaxMicros() / 1000.0;
+	}
+
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return the number of requests or notifications
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the number of requests waiting for a response
+	 */
+	public long getInFlight() {
+		return inFlight;
+	}
+
+	public long getCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * @return the number of responses with an error, not counting cancelled
+	 *         requests
+	 */
+	public long getErrors() {
+		return errors;
+	}
+
+	public long getSentBytes() {
+		return sentBytes;
+	}
+
+	public long getReceivedBytes() {
+		return receivedBytes;
+	}
+
+	public double getMeanMillis() {
+		return meanMillis;
+	}
+
+	public double getP50Millis() {
+		return p50Millis;
+	}
+
+	public double getP90Millis() {
+		return p90Millis;
+	}
+
+	public double getP99Millis() {
+		return p99Millis;
+	}
+
+	public double getMaxMillis() {
+		return maxMillis;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s [count=%d, inFlight=%d, cancelled=%d, errors=%d, sent=%dB, received=%dB, " //$NON-NLS-1$
+				+ "mean=%.1fms, p50=%.1fms, p90=%.1fms, p99=%.1fms, max=%.1fms]", //$NON-NLS-1$
+				method, count, inFlight, cancelled, errors, sentBytes, receivedBytes, meanMillis, p50Millis, p90Millis,
+				p99Millis, maxMillis);
+	}
+}
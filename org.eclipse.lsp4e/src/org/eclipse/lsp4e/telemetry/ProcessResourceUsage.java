@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.lsp4e.telemetry;
+
+/**
+ * Resources used by the process of a language server and all its descendant
+ * processes, at the time they were sampled.
+ *
+ * @param rssBytes
+ *            the resident memory of the processes, -1 if unknown, e.g. on
+ *            platforms without <code>/proc</code>
+ * @param cpuPercent
+ *            the CPU time used by the processes since the previous sample, in
+ *            percent of one core, -1 if unknown, e.g. for the first sample
+ * @param processCount
+ *            the number of processes sampled
+ * @since 0.19.5
+ */
+public record ProcessResourceUsage(long rssBytes, double cpuPercent, int processCount) {
+
+	public static final ProcessResourceUsage UNKNOWN = new ProcessResourceUsage(-1, -1, 0);
+
+	public long rssMegaBytes() {
+		return rssBytes < 0 ? -1 : rssBytes / (1024 * 1024);
+	}
+}
@@ -27,13 +27,17 @@
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.ColumnViewerToolTipSupport;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TableViewerColumn;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerCell;
 import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.lsp4e.LanguageServerPlugin;
 import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.LanguageServiceAccessor;
+import org.eclipse.lsp4e.telemetry.CircuitBreaker;
+import org.eclipse.lsp4e.telemetry.MethodStatistics;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.TableCursor;
 import org.eclipse.swt.custom.TableEditor;
@@ -68,6 +72,8 @@ public class LanguageServersView extends ViewPart {
 	private final List<ColumnLabelProvider> columnLabelProviders = new ArrayList<>();
 
 	private @Nullable TableCursor tableCursor;
+	/** index of the first column showing the telemetry, which changes without the input changing */
+	private int firstTelemetryColumn;
 	private int tableSortColumn = 1;
 	private int tableSortDirection = 1; // 1 = ascending, -1 = descending
 	private final ViewerComparator tableSorter = new ViewerComparator() {
@@ -240,6 +246,118 @@ public String getText(Object element) {
 			}
 		});
 
+		firstTelemetryColumn = columnLabelProviders.size();
+
+		createColumn("Memory", 80, new ColumnLabelProvider() { //$NON-NLS-1$
+			@Override
+			public String getText(Object element) {
+				final long rssMegaBytes = ((LanguageServerWrapper) element).getResourceUsage().rssMegaBytes();
+				return rssMegaBytes < 0 ? NOT_AVAILABLE : rssMegaBytes + " MB"; //$NON-NLS-1$
+			}
+
+			@Override
+			public @Nullable String getToolTipText(Object element) {
+				final int processCount = ((LanguageServerWrapper) element).getResourceUsage().processCount();
+				return processCount > 1 ? "Resident memory of " + processCount + " processes" : null; //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		});
+
+		createColumn("CPU", 60, new ColumnLabelProvider() { //$NON-NLS-1$
+			@Override
+			public String getText(Object element) {
+				final double cpuPercent = ((LanguageServerWrapper) element).getResourceUsage().cpuPercent();
+				return cpuPercent < 0 ? NOT_AVAILABLE : String.format("%.0f %%", cpuPercent); //$NON-NLS-1$
+			}
+		});
+
+		createColumn("Requests", 70, new ColumnLabelProvider() { //$NON-NLS-1$
+			@Override
+			public String getText(Object element) {
+				return Long.toString(((LanguageServerWrapper) element).getTelemetry().getRequestCount());
+			}
+		});
+
+		createColumn("In Flight", 60, new ColumnLabelProvider() { //$NON-NLS-1$
+			@Override
+			public String getText(Object element) {
+				return Long.toString(((LanguageServerWrapper) element).getTelemetry().getInFlightCount());
+			}
+		});
+
+		createColumn("Errors / Cancelled", 110, new ColumnLabelProvider() { //$NON-NLS-1$
+			@Override
+			public String getText(Object element) {
+				long errors = 0;
+				long cancelled = 0;
+				for (final MethodStatistics stats : ((LanguageServerWrapper) element).getTelemetry()
+						.getMethodStatistics()) {
+					errors += stats.getErrors();
+					cancelled += stats.getCancelled();
+				}
+				return errors + " / " + cancelled; //$NON-NLS-1$
+			}
+		});
+
+		createColumn("Slowest Method (p99)", 250, new ColumnLabelProvider() { //$NON-NLS-1$
+			@Override
+			public String getText(Object element) {
+				MethodStatistics slowest = null;
+				for (final MethodStatistics stats : ((LanguageServerWrapper) element).getTelemetry()
+						.getMethodStatistics()) {
+					if (stats.getP99Millis() > 0 && (slowest == null || stats.getP99Millis() > slowest.getP99Millis())) {
+						slowest = stats;
+					}
+				}
+				return slowest == null ? NOT_AVAILABLE
+						: String.format("%s (%.0f ms)", slowest.getMethod(), slowest.getP99Millis()); //$NON-NLS-1$
+			}
+
+			@Override
+			public @Nullable String getToolTipText(Object element) {
+				final var sb = new StringBuilder();
+				for (final MethodStatistics stats : ((LanguageServerWrapper) element).getTelemetry()
+						.getMethodStatistics()) {
+					sb.append(stats).append('\n');
+				}
+				return sb.isEmpty() ? null : sb.toString();
+			}
+		});
+
+		createColumn("Sent / Received", 120, new ColumnLabelProvider() { //$NON-NLS-1$
+			@Override
+			public String getText(Object element) {
+				long sent = 0;
+				long received = 0;
+				for (final MethodStatistics stats : ((LanguageServerWrapper) element).getTelemetry()
+						.getMethodStatistics()) {
+					sent += stats.getSentBytes();
+					received += stats.getReceivedBytes();
+				}
+				return toKiB(sent) + " / " + toKiB(received); //$NON-NLS-1$
+			}
+		});
+
+		createColumn("Timeouts", 90, new ColumnLabelProvider() { //$NON-NLS-1$
+			@Override
+			public String getText(Object element) {
+				final CircuitBreaker circuitBreaker = ((LanguageServerWrapper) element).getCircuitBreaker();
+				final CircuitBreaker.State state = circuitBreaker.getState();
+				return state == CircuitBreaker.State.CLOSED ? Long.toString(circuitBreaker.getTimeoutCount())
+						: circuitBreaker.getTimeoutCount() + " (" + state + ')'; //$NON-NLS-1$
+			}
+
+			@Override
+			public @Nullable String getToolTipText(Object element) {
+				return switch (((LanguageServerWrapper) element).getCircuitBreaker().getState()) {
+				case OPEN -> "Optional requests are not sent, the language server keeps timing out"; //$NON-NLS-1$
+				case HALF_OPEN -> "Probing whether the language server answers in time again"; //$NON-NLS-1$
+				case CLOSED -> null;
+				};
+			}
+		});
+
+		ColumnViewerToolTipSupport.enableFor(viewer);
+
 		table.setSortDirection(tableSortDirection == 1 ? SWT.DOWN : SWT.UP);
 		table.setSortColumn(table.getColumn(tableSortColumn));
 
@@ -247,6 +365,8 @@ public String getText(Object element) {
 
 		initContextMenu();
 
+		// the Memory and CPU columns are only sampled while shown
+		LanguageServerPlugin.getDefault().getResourceGovernor().startShowingResourceUsage();
 		scheduleRefreshJob();
 	}
 
@@ -255,6 +375,7 @@ public void dispose() {
 		final var viewerRefreshJob = this.viewerRefreshJob;
 		if (viewerRefreshJob != null)
 			viewerRefreshJob.cancel();
+		LanguageServerPlugin.getDefault().getResourceGovernor().stopShowingResourceUsage();
 		super.dispose();
 	}
 
@@ -346,10 +467,36 @@ public void setFocus() {
 		viewer.getControl().setFocus();
 	}
 
+	private static String toKiB(long bytes) {
+		return (bytes + 1023) / 1024 + " KiB"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Updates the text of the telemetry columns, without refreshing the whole
+	 * viewer which would recreate the action buttons
+	 */
+	private void updateTelemetryColumns() {
+		final var table = viewer.getTable();
+		if (table.isDisposed()) {
+			return;
+		}
+		for (final TableItem item : table.getItems()) {
+			final Object element = item.getData();
+			if (element == null) {
+				continue;
+			}
+			for (int i = firstTelemetryColumn; i < columnLabelProviders.size(); i++) {
+				item.setText(i, columnLabelProviders.get(i).getText(element));
+			}
+		}
+	}
+
 	private void updateViewerInput() {
 		final var currentElements = (Object[]) viewer.getInput();
 		final var newElements = LanguageServiceAccessor.getStartedWrappers(capability -> true, true).toArray();
-		if (!Arrays.equals(currentElements, newElements)) {
+		if (Arrays.equals(currentElements, newElements)) {
+			UI.getDisplay().execute(this::updateTelemetryColumns);
+		} else {
 			UI.getDisplay().execute(() -> {
 				actionButtons.values().forEach(Widget::dispose);
 				actionButtons.clear();
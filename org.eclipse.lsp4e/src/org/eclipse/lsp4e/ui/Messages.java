@@ -60,6 +60,9 @@ public final class Messages extends NLS {
 	public static String notImplemented;
 	public static String LSPFormatFilesHandler_FormattingFile;
 	public static String LSPFormatFilesHandler_FormattingSelectedFiles;
+	public static String LSPFormatFilesHandler_FormattedFiles;
+	public static String LSPFormatFilesHandler_FormattedFile;
+	public static String LSPFormatFilesHandler_FormattingFileFailed;
 	public static String LSPFormatHandler_DiscardedFormat;
 	public static String LSPFormatHandler_DiscardedFormatResponse;
 	public static String LSPFormatHandler_ReadOnlyEditor_title;
@@ -106,6 +109,7 @@ public final class Messages extends NLS {
 	public static String TH_diplay_hint;
 	public static String TH_cannot_find_file;
 	public static String occurrences;
+	public static String resourceGovernor_restartsExhausted;
 
 	static {
 		NLS.initializeMessages("org.eclipse.lsp4e.ui.messages", Messages.class); //$NON-NLS-1$